@@ -0,0 +1,769 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The class {@link Blake3} computes hashes with the cryptographic hash algorithm BLAKE3. The hashes
+ * are identical to the hashes of the reference implementation of BLAKE3, in the default hash mode
+ * and in the keyed hash mode. The output can be extended to any length.<br>
+ * <br>
+ * An instance is not thread safe. The data can be passed in several parts, for instance while a
+ * stream is read, and the hash can be taken at any time without changing the state.<br>
+ * <br>
+ * BLAKE3 splits the input into chunks of 1024 bytes that are the leaves of a binary tree. The
+ * subtrees of large inputs are independent, so the static methods
+ * {@link #hashParallel(byte[], int, int, ForkJoinPool)} and
+ * {@link #hashParallel(FileChannel, ForkJoinPool)} hash them on all threads of a
+ * {@link ForkJoinPool} object and still produce the standard hash. The algorithm is also available
+ * as {@link java.security.MessageDigest} object with the name {@link #ALGORITHM} from
+ * {@link MessageDigestPool}, so it can be used with every extension class of this library that
+ * takes the name of an algorithm
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class Blake3
+{
+
+	/**
+	 * The name of the algorithm
+	 */
+	public static final String ALGORITHM = "BLAKE3";
+
+	/**
+	 * The default length of a hash in bytes
+	 */
+	public static final int DIGEST_LENGTH = 32;
+
+	/**
+	 * The length of a key for the keyed hash mode in bytes
+	 */
+	public static final int KEY_LENGTH = 32;
+
+	/**
+	 * The size of one block in bytes
+	 */
+	private static final int BLOCK_SIZE = 64;
+
+	/**
+	 * The size of one chunk in bytes
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
+	/**
+	 * The number of chunks that are hashed by one task of the parallel mode
+	 */
+	private static final int CHUNKS_PER_TASK = 256;
+
+	private static final int CHUNK_START = 1;
+	private static final int CHUNK_END = 1 << 1;
+	private static final int PARENT = 1 << 2;
+	private static final int ROOT = 1 << 3;
+	private static final int KEYED_HASH = 1 << 4;
+
+	/**
+	 * The initialization vector of BLAKE3, that is also the key of the default hash mode
+	 */
+	private static final int[] IV = { 0x6A09E667, 0xBB67AE85, 0x3C6EF372, 0xA54FF53A, 0x510E527F,
+			0x9B05688C, 0x1F83D9AB, 0x5BE0CD19 };
+
+	/**
+	 * The order of the message words in each of the seven rounds of the compression function
+	 */
+	private static final int[][] SCHEDULE = newSchedule();
+
+	/**
+	 * The buffer for the blocks of the input of a task of the parallel mode
+	 */
+	private static final ThreadLocal<byte[]> TASK_BUFFER = ThreadLocal
+		.withInitial(() -> new byte[CHUNKS_PER_TASK * CHUNK_SIZE]);
+
+	/**
+	 * The key words of the hash
+	 */
+	private final int[] key;
+
+	/**
+	 * The flags of the hash mode
+	 */
+	private final int flags;
+
+	/**
+	 * The counter of the first chunk, this is not zero for the subtrees of the parallel mode
+	 */
+	private final long firstChunk;
+
+	/**
+	 * The stack with the chaining values of the completed subtrees
+	 */
+	private int[][] stack = new int[54][];
+
+	/**
+	 * The chaining value of the current chunk
+	 */
+	private int[] chunkValue;
+
+	/**
+	 * The buffer for the current block of the current chunk
+	 */
+	private byte[] block = new byte[BLOCK_SIZE];
+
+	/**
+	 * The buffer for the words of a block
+	 */
+	private int[] words = new int[16];
+
+	private int stackSize;
+	private long chunks;
+	private int blockLength;
+	private int blocksCompressed;
+
+	/**
+	 * Instantiates a new {@link Blake3} object for the default hash mode
+	 */
+	public Blake3()
+	{
+		this(IV, 0, 0);
+	}
+
+	/**
+	 * Instantiates a new {@link Blake3} object for the keyed hash mode with the given key
+	 *
+	 * @param key
+	 *            the key with 32 bytes
+	 */
+	public Blake3(final byte[] key)
+	{
+		this(toKeyWords(key), KEYED_HASH, 0);
+	}
+
+	private Blake3(final int[] key, final int flags, final long firstChunk)
+	{
+		this.key = key;
+		this.flags = flags;
+		this.firstChunk = firstChunk;
+		this.chunkValue = key.clone();
+	}
+
+	/**
+	 * Computes the BLAKE3 hash with 32 bytes of the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return the hash with 32 bytes
+	 */
+	public static byte[] hash(final byte[] bytes, final int offset, final int length)
+	{
+		final Blake3 blake3 = new Blake3();
+		blake3.update(bytes, offset, length);
+		return blake3.digest();
+	}
+
+	/**
+	 * Computes the BLAKE3 hash with 32 bytes of the given range of the given byte array. The
+	 * subtrees of the input are hashed in parallel on the threads of the given {@link ForkJoinPool}
+	 * object
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param pool
+	 *            the {@link ForkJoinPool} object that hashes the subtrees
+	 * @return the hash with 32 bytes
+	 */
+	public static byte[] hashParallel(final byte[] bytes, final int offset, final int length,
+		final ForkJoinPool pool)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		Objects.requireNonNull(pool, "Given pool is null");
+		if (length <= CHUNK_SIZE)
+		{
+			return hash(bytes, offset, length);
+		}
+		return pool.invoke(new RootTask(new SubtreeTask(bytes, null, offset, length, 0)));
+	}
+
+	/**
+	 * Computes the BLAKE3 hash with 32 bytes of the whole content of the file of the given
+	 * {@link FileChannel} object. The subtrees of the file are read with positional reads and
+	 * hashed in parallel on the threads of the given {@link ForkJoinPool} object. The position of
+	 * the given channel is not changed
+	 *
+	 * @param channel
+	 *            the {@link FileChannel} object of the file
+	 * @param pool
+	 *            the {@link ForkJoinPool} object that hashes the subtrees
+	 * @return the hash with 32 bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static byte[] hashParallel(final FileChannel channel, final ForkJoinPool pool)
+		throws IOException
+	{
+		Objects.requireNonNull(channel, "Given channel is null");
+		Objects.requireNonNull(pool, "Given pool is null");
+		final long size = channel.size();
+		try
+		{
+			if (size <= CHUNK_SIZE)
+			{
+				final byte[] bytes = new byte[(int)size];
+				read(channel, 0, bytes, bytes.length);
+				return hash(bytes, 0, bytes.length);
+			}
+			return pool.invoke(new RootTask(new SubtreeTask(null, channel, 0, size, 0)));
+		}
+		catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Updates the hash with the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 */
+	public void update(final byte[] bytes, int offset, int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		while (0 < length)
+		{
+			if (blockLength == BLOCK_SIZE)
+			{
+				// the block is only compressed when more input follows, the last block of a chunk
+				// needs the flag for the end of the chunk
+				if (blocksCompressed == CHUNK_SIZE / BLOCK_SIZE - 1)
+				{
+					completeChunk();
+				}
+				else
+				{
+					compressBlock(block, 0);
+				}
+			}
+			if (blockLength == 0 && BLOCK_SIZE < length
+				&& blocksCompressed < CHUNK_SIZE / BLOCK_SIZE - 1)
+			{
+				// full blocks that are not the last of the chunk are compressed without a copy
+				compressBlock(bytes, offset);
+				offset += BLOCK_SIZE;
+				length -= BLOCK_SIZE;
+				continue;
+			}
+			final int take = Math.min(BLOCK_SIZE - blockLength, length);
+			System.arraycopy(bytes, offset, block, blockLength, take);
+			blockLength += take;
+			offset += take;
+			length -= take;
+		}
+	}
+
+	/**
+	 * Updates the hash with the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 */
+	public void update(final byte[] bytes)
+	{
+		update(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Updates the hash with the remaining bytes of the given {@link ByteBuffer} object. The
+	 * position of the given buffer is moved to its limit
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 */
+	public void update(final ByteBuffer buffer)
+	{
+		if (buffer.hasArray())
+		{
+			update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			buffer.position(buffer.limit());
+			return;
+		}
+		final byte[] part = new byte[Math.min(buffer.remaining(), 8 * CHUNK_SIZE)];
+		while (buffer.hasRemaining())
+		{
+			final int length = Math.min(part.length, buffer.remaining());
+			buffer.get(part, 0, length);
+			update(part, 0, length);
+		}
+	}
+
+	/**
+	 * Gets the hash with 32 bytes of all bytes that are passed since the last reset. The state is
+	 * not changed, so more bytes can be passed afterwards
+	 *
+	 * @return the hash with 32 bytes
+	 */
+	public byte[] digest()
+	{
+		return digest(DIGEST_LENGTH);
+	}
+
+	/**
+	 * Gets the hash with the given length of all bytes that are passed since the last reset. The
+	 * first 32 bytes are equal to the hash of {@link #digest()}. The state is not changed, so more
+	 * bytes can be passed afterwards
+	 *
+	 * @param length
+	 *            the length of the hash in bytes
+	 * @return the hash with the given length
+	 */
+	public byte[] digest(final int length)
+	{
+		if (length < 0)
+		{
+			throw new IllegalArgumentException("Given length must not be negative: " + length);
+		}
+		final Output output = output();
+		return output.rootBytes(length);
+	}
+
+	/**
+	 * Resets the hash to its initial state
+	 */
+	public void reset()
+	{
+		chunkValue = key.clone();
+		Arrays.fill(block, (byte)0);
+		stackSize = 0;
+		chunks = 0;
+		blockLength = 0;
+		blocksCompressed = 0;
+	}
+
+	/**
+	 * Creates a deep copy of this hash
+	 *
+	 * @return the copy of this hash
+	 */
+	Blake3 copy()
+	{
+		final Blake3 copy = new Blake3(key, flags, firstChunk);
+		copy.stack = new int[stack.length][];
+		for (int i = 0; i < stackSize; i++)
+		{
+			copy.stack[i] = stack[i].clone();
+		}
+		copy.chunkValue = chunkValue.clone();
+		copy.block = block.clone();
+		copy.stackSize = stackSize;
+		copy.chunks = chunks;
+		copy.blockLength = blockLength;
+		copy.blocksCompressed = blocksCompressed;
+		return copy;
+	}
+
+	private Output output()
+	{
+		Arrays.fill(block, blockLength, BLOCK_SIZE, (byte)0);
+		Output output = new Output(chunkValue, toWords(block, 0, new int[16]), firstChunk + chunks,
+			blockLength, flags | startFlag() | CHUNK_END);
+		for (int i = stackSize - 1; 0 <= i; i--)
+		{
+			output = parentOutput(stack[i], output.chainingValue(), key, flags);
+		}
+		return output;
+	}
+
+	private int startFlag()
+	{
+		return blocksCompressed == 0 ? CHUNK_START : 0;
+	}
+
+	private void compressBlock(final byte[] bytes, final int offset)
+	{
+		compress(chunkValue, toWords(bytes, offset, words), firstChunk + chunks, BLOCK_SIZE,
+			flags | startFlag(), chunkValue);
+		blocksCompressed++;
+		blockLength = 0;
+	}
+
+	private void completeChunk()
+	{
+		compress(chunkValue, toWords(block, 0, words), firstChunk + chunks, BLOCK_SIZE,
+			flags | startFlag() | CHUNK_END, chunkValue);
+		// merge the completed subtrees, the number of trailing zeros of the chunk count is the
+		// number of subtrees that are completed by this chunk
+		int[] value = chunkValue;
+		long total = ++chunks;
+		while ((total & 1) == 0)
+		{
+			value = parentOutput(stack[--stackSize], value, key, flags).chainingValue();
+			total >>= 1;
+		}
+		stack[stackSize++] = value;
+		chunkValue = key.clone();
+		blocksCompressed = 0;
+		blockLength = 0;
+	}
+
+	private static Output parentOutput(final int[] left, final int[] right, final int[] key,
+		final int flags)
+	{
+		final int[] block = new int[16];
+		System.arraycopy(left, 0, block, 0, 8);
+		System.arraycopy(right, 0, block, 8, 8);
+		return new Output(key, block, 0, BLOCK_SIZE, flags | PARENT);
+	}
+
+	private static int[] toKeyWords(final byte[] key)
+	{
+		Objects.requireNonNull(key, "Given key is null");
+		if (key.length != KEY_LENGTH)
+		{
+			throw new IllegalArgumentException(
+				"Given key must have " + KEY_LENGTH + " bytes: " + key.length);
+		}
+		final int[] words = new int[8];
+		for (int i = 0; i < 8; i++)
+		{
+			words[i] = LittleEndian.readInt(key, 4 * i);
+		}
+		return words;
+	}
+
+	private static int[] toWords(final byte[] bytes, final int offset, final int[] words)
+	{
+		for (int i = 0; i < 16; i++)
+		{
+			words[i] = LittleEndian.readInt(bytes, offset + 4 * i);
+		}
+		return words;
+	}
+
+	private static int[][] newSchedule()
+	{
+		final int[] permutation = { 2, 6, 3, 10, 7, 0, 4, 13, 1, 11, 12, 5, 9, 14, 15, 8 };
+		final int[][] schedule = new int[7][16];
+		for (int i = 0; i < 16; i++)
+		{
+			schedule[0][i] = i;
+		}
+		for (int round = 1; round < 7; round++)
+		{
+			for (int i = 0; i < 16; i++)
+			{
+				schedule[round][i] = schedule[round - 1][permutation[i]];
+			}
+		}
+		return schedule;
+	}
+
+	/**
+	 * The compression function of BLAKE3. The first eight words of the result are written to the
+	 * given output array and if it has 16 words the last eight words too. The output array may be
+	 * the chaining value
+	 */
+	private static void compress(final int[] chainingValue, final int[] block,
+		final long counter, final int blockLength, final int flags, final int[] output)
+	{
+		final int c0 = chainingValue[0], c1 = chainingValue[1], c2 = chainingValue[2],
+			c3 = chainingValue[3], c4 = chainingValue[4], c5 = chainingValue[5],
+			c6 = chainingValue[6], c7 = chainingValue[7];
+		int s0 = c0, s1 = c1, s2 = c2, s3 = c3, s4 = c4, s5 = c5, s6 = c6, s7 = c7;
+		int s8 = IV[0], s9 = IV[1], s10 = IV[2], s11 = IV[3];
+		int s12 = (int)counter, s13 = (int)(counter >>> 32), s14 = blockLength, s15 = flags;
+		for (int round = 0; round < 7; round++)
+		{
+			final int[] m = SCHEDULE[round];
+			// columns
+			s0 += s4 + block[m[0]];
+			s12 = Integer.rotateRight(s12 ^ s0, 16);
+			s8 += s12;
+			s4 = Integer.rotateRight(s4 ^ s8, 12);
+			s0 += s4 + block[m[1]];
+			s12 = Integer.rotateRight(s12 ^ s0, 8);
+			s8 += s12;
+			s4 = Integer.rotateRight(s4 ^ s8, 7);
+
+			s1 += s5 + block[m[2]];
+			s13 = Integer.rotateRight(s13 ^ s1, 16);
+			s9 += s13;
+			s5 = Integer.rotateRight(s5 ^ s9, 12);
+			s1 += s5 + block[m[3]];
+			s13 = Integer.rotateRight(s13 ^ s1, 8);
+			s9 += s13;
+			s5 = Integer.rotateRight(s5 ^ s9, 7);
+
+			s2 += s6 + block[m[4]];
+			s14 = Integer.rotateRight(s14 ^ s2, 16);
+			s10 += s14;
+			s6 = Integer.rotateRight(s6 ^ s10, 12);
+			s2 += s6 + block[m[5]];
+			s14 = Integer.rotateRight(s14 ^ s2, 8);
+			s10 += s14;
+			s6 = Integer.rotateRight(s6 ^ s10, 7);
+
+			s3 += s7 + block[m[6]];
+			s15 = Integer.rotateRight(s15 ^ s3, 16);
+			s11 += s15;
+			s7 = Integer.rotateRight(s7 ^ s11, 12);
+			s3 += s7 + block[m[7]];
+			s15 = Integer.rotateRight(s15 ^ s3, 8);
+			s11 += s15;
+			s7 = Integer.rotateRight(s7 ^ s11, 7);
+
+			// diagonals
+			s0 += s5 + block[m[8]];
+			s15 = Integer.rotateRight(s15 ^ s0, 16);
+			s10 += s15;
+			s5 = Integer.rotateRight(s5 ^ s10, 12);
+			s0 += s5 + block[m[9]];
+			s15 = Integer.rotateRight(s15 ^ s0, 8);
+			s10 += s15;
+			s5 = Integer.rotateRight(s5 ^ s10, 7);
+
+			s1 += s6 + block[m[10]];
+			s12 = Integer.rotateRight(s12 ^ s1, 16);
+			s11 += s12;
+			s6 = Integer.rotateRight(s6 ^ s11, 12);
+			s1 += s6 + block[m[11]];
+			s12 = Integer.rotateRight(s12 ^ s1, 8);
+			s11 += s12;
+			s6 = Integer.rotateRight(s6 ^ s11, 7);
+
+			s2 += s7 + block[m[12]];
+			s13 = Integer.rotateRight(s13 ^ s2, 16);
+			s8 += s13;
+			s7 = Integer.rotateRight(s7 ^ s8, 12);
+			s2 += s7 + block[m[13]];
+			s13 = Integer.rotateRight(s13 ^ s2, 8);
+			s8 += s13;
+			s7 = Integer.rotateRight(s7 ^ s8, 7);
+
+			s3 += s4 + block[m[14]];
+			s14 = Integer.rotateRight(s14 ^ s3, 16);
+			s9 += s14;
+			s4 = Integer.rotateRight(s4 ^ s9, 12);
+			s3 += s4 + block[m[15]];
+			s14 = Integer.rotateRight(s14 ^ s3, 8);
+			s9 += s14;
+			s4 = Integer.rotateRight(s4 ^ s9, 7);
+		}
+		output[0] = s0 ^ s8;
+		output[1] = s1 ^ s9;
+		output[2] = s2 ^ s10;
+		output[3] = s3 ^ s11;
+		output[4] = s4 ^ s12;
+		output[5] = s5 ^ s13;
+		output[6] = s6 ^ s14;
+		output[7] = s7 ^ s15;
+		if (output.length == 16)
+		{
+			output[8] = s8 ^ c0;
+			output[9] = s9 ^ c1;
+			output[10] = s10 ^ c2;
+			output[11] = s11 ^ c3;
+			output[12] = s12 ^ c4;
+			output[13] = s13 ^ c5;
+			output[14] = s14 ^ c6;
+			output[15] = s15 ^ c7;
+		}
+	}
+
+	private static void read(final FileChannel channel, long position, final byte[] bytes,
+		final int length) throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+		while (buffer.hasRemaining())
+		{
+			final int read = channel.read(buffer, position);
+			if (read < 0)
+			{
+				throw new IOException("Unexpected end of file at position " + position);
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * The input of the compression function for a chaining value or the root output
+	 */
+	private static final class Output
+	{
+		private final int[] chainingValue;
+		private final int[] block;
+		private final long counter;
+		private final int blockLength;
+		private final int flags;
+
+		Output(final int[] chainingValue, final int[] block, final long counter,
+			final int blockLength, final int flags)
+		{
+			this.chainingValue = chainingValue.clone();
+			this.block = block;
+			this.counter = counter;
+			this.blockLength = blockLength;
+			this.flags = flags;
+		}
+
+		int[] chainingValue()
+		{
+			final int[] value = new int[8];
+			compress(chainingValue, block, counter, blockLength, flags, value);
+			return value;
+		}
+
+		byte[] rootBytes(final int length)
+		{
+			final byte[] bytes = new byte[length];
+			final int[] words = new int[16];
+			long outputCounter = 0;
+			for (int offset = 0; offset < length; offset += BLOCK_SIZE)
+			{
+				compress(chainingValue, block, outputCounter++, blockLength, flags | ROOT, words);
+				for (int i = 0, position = offset; i < 16 && position < length; i++, position += 4)
+				{
+					// the last word can be cut by the requested length
+					for (int shift = 0; shift < 32 && position + (shift >>> 3) < length; shift += 8)
+					{
+						bytes[position + (shift >>> 3)] = (byte)(words[i] >>> shift);
+					}
+				}
+			}
+			return bytes;
+		}
+	}
+
+	/**
+	 * The task that computes the root output from the two subtrees of the whole input
+	 */
+	private static final class RootTask extends RecursiveTask<byte[]>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final SubtreeTask input;
+
+		RootTask(final SubtreeTask input)
+		{
+			this.input = input;
+		}
+
+		@Override
+		protected byte[] compute()
+		{
+			final SubtreeTask[] children = input.split();
+			children[1].fork();
+			final int[] left = children[0].compute();
+			final int[] right = children[1].join();
+			return parentOutput(left, right, IV, 0).rootBytes(DIGEST_LENGTH);
+		}
+	}
+
+	/**
+	 * The task that computes the chaining value of a subtree of the input. The input is either a
+	 * byte array or a file that is read with positional reads
+	 */
+	private static final class SubtreeTask extends RecursiveTask<int[]>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] bytes;
+		private final transient FileChannel channel;
+		private final long position;
+		private final long length;
+		private final long firstChunk;
+
+		SubtreeTask(final byte[] bytes, final FileChannel channel, final long position,
+			final long length, final long firstChunk)
+		{
+			this.bytes = bytes;
+			this.channel = channel;
+			this.position = position;
+			this.length = length;
+			this.firstChunk = firstChunk;
+		}
+
+		/**
+		 * Splits the input into the left subtree with the largest power of two number of full
+		 * chunks and the right subtree with the rest
+		 */
+		SubtreeTask[] split()
+		{
+			final long fullChunks = (length - 1) / CHUNK_SIZE;
+			final long leftLength = Long.highestOneBit(fullChunks) * CHUNK_SIZE;
+			return new SubtreeTask[] {
+					new SubtreeTask(bytes, channel, position, leftLength, firstChunk),
+					new SubtreeTask(bytes, channel, position + leftLength, length - leftLength,
+						firstChunk + leftLength / CHUNK_SIZE) };
+		}
+
+		@Override
+		protected int[] compute()
+		{
+			if (CHUNKS_PER_TASK * CHUNK_SIZE < length)
+			{
+				final SubtreeTask[] children = split();
+				children[1].fork();
+				final int[] left = children[0].compute();
+				final int[] right = children[1].join();
+				return parentOutput(left, right, IV, 0).chainingValue();
+			}
+			final Blake3 subtree = new Blake3(IV, 0, firstChunk);
+			if (bytes != null)
+			{
+				subtree.update(bytes, (int)position, (int)length);
+			}
+			else
+			{
+				final byte[] buffer = TASK_BUFFER.get();
+				try
+				{
+					read(channel, position, buffer, (int)length);
+				}
+				catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+				subtree.update(buffer, 0, (int)length);
+			}
+			return subtree.output().chainingValue();
+		}
+	}
+
+}
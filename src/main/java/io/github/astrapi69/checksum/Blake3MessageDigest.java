@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * The class {@link Blake3MessageDigest} provides the hash algorithm BLAKE3 of the class
+ * {@link Blake3} as {@link MessageDigest} object with digests of 32 bytes. The JDK has no provider
+ * for BLAKE3, so {@link MessageDigestPool} creates instances of this class for the algorithm name
+ * {@link Blake3#ALGORITHM} if no installed provider supports it
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+final class Blake3MessageDigest extends MessageDigest implements Cloneable
+{
+
+	/**
+	 * The hash that is updated
+	 */
+	private Blake3 blake3 = new Blake3();
+
+	/**
+	 * Instantiates a new {@link Blake3MessageDigest} object
+	 */
+	Blake3MessageDigest()
+	{
+		super(Blake3.ALGORITHM);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void engineUpdate(final byte input)
+	{
+		blake3.update(new byte[] { input }, 0, 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void engineUpdate(final byte[] input, final int offset, final int length)
+	{
+		blake3.update(input, offset, length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void engineUpdate(final ByteBuffer input)
+	{
+		blake3.update(input);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected byte[] engineDigest()
+	{
+		final byte[] digest = blake3.digest();
+		blake3.reset();
+		return digest;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected int engineGetDigestLength()
+	{
+		return Blake3.DIGEST_LENGTH;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void engineReset()
+	{
+		blake3.reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException
+	{
+		final Blake3MessageDigest clone = (Blake3MessageDigest)super.clone();
+		clone.blake3 = blake3.copy();
+		return clone;
+	}
+
+}
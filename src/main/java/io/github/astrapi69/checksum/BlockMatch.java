@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+
+/**
+ * The class {@link BlockMatch} represents a block of a {@link BlockSignature} object that was
+ * found in a scanned file by {@link RollingChecksumExtensions}. The ranges of the scanned file
+ * between the matches are the data that is not contained in the signed file
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class BlockMatch
+{
+
+	/**
+	 * The matched block of the signature
+	 */
+	private final BlockSignature.Block block;
+
+	/**
+	 * The offset of the match in the scanned file
+	 */
+	private final long offset;
+
+	/**
+	 * Instantiates a new {@link BlockMatch} object
+	 *
+	 * @param block
+	 *            the matched block of the signature
+	 * @param offset
+	 *            the offset of the match in the scanned file
+	 */
+	BlockMatch(final BlockSignature.Block block, final long offset)
+	{
+		this.block = Objects.requireNonNull(block);
+		this.offset = offset;
+	}
+
+	/**
+	 * Gets the matched block of the signature
+	 *
+	 * @return the matched block
+	 */
+	public BlockSignature.Block getBlock()
+	{
+		return block;
+	}
+
+	/**
+	 * Gets the offset of the match in the scanned file
+	 *
+	 * @return the offset of the match in the scanned file
+	 */
+	public long getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * Gets the length of the match
+	 *
+	 * @return the length of the match
+	 */
+	public int getLength()
+	{
+		return block.getLength();
+	}
+
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object)
+		{
+			return true;
+		}
+		if (!(object instanceof BlockMatch))
+		{
+			return false;
+		}
+		final BlockMatch other = (BlockMatch)object;
+		return offset == other.offset && block.getIndex() == other.block.getIndex();
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(block.getIndex(), offset);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BlockMatch [block=" + block.getIndex() + ", offset=" + offset + ", length="
+			+ getLength() + "]";
+	}
+
+}
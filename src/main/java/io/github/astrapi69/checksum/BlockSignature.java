@@ -0,0 +1,411 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class {@link BlockSignature} holds the checksums of the consecutive blocks of a file that
+ * are computed by {@link RollingChecksumExtensions}. Every block has a weak rolling checksum for
+ * finding candidates at every offset of another file and a strong checksum for confirming them.<br>
+ * <br>
+ * Like rsync the lookup of a weak rolling checksum first checks a table of 16 bit tags, so most
+ * offsets of another file are rejected with a single array access. A signature can be sent to
+ * another host with {@link #encode(OutputStream)} and {@link #decode(InputStream)}
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class BlockSignature
+{
+
+	/**
+	 * The checksums of one block of a {@link BlockSignature} object
+	 */
+	public static final class Block
+	{
+
+		/** The index of the block */
+		private final int index;
+
+		/** The offset of the block in the signed file */
+		private final long offset;
+
+		/** The length of the block, only the last block can be shorter than the block size */
+		private final int length;
+
+		/** The weak rolling checksum of the block */
+		private final int weakChecksum;
+
+		/** The strong checksum of the block as hexadecimal {@link String} object */
+		private final String strongChecksum;
+
+		Block(final int index, final long offset, final int length, final int weakChecksum,
+			final String strongChecksum)
+		{
+			this.index = index;
+			this.offset = offset;
+			this.length = length;
+			this.weakChecksum = weakChecksum;
+			this.strongChecksum = Objects.requireNonNull(strongChecksum);
+		}
+
+		/**
+		 * Gets the index of the block
+		 *
+		 * @return the index of the block
+		 */
+		public int getIndex()
+		{
+			return index;
+		}
+
+		/**
+		 * Gets the offset of the block in the signed file
+		 *
+		 * @return the offset of the block
+		 */
+		public long getOffset()
+		{
+			return offset;
+		}
+
+		/**
+		 * Gets the length of the block, only the last block can be shorter than the block size
+		 *
+		 * @return the length of the block
+		 */
+		public int getLength()
+		{
+			return length;
+		}
+
+		/**
+		 * Gets the weak rolling checksum of the block that is computed with
+		 * {@link RollingChecksum}
+		 *
+		 * @return the weak rolling checksum of the block
+		 */
+		public int getWeakChecksum()
+		{
+			return weakChecksum;
+		}
+
+		/**
+		 * Gets the strong checksum of the block as hexadecimal {@link String} object
+		 *
+		 * @return the strong checksum of the block
+		 */
+		public String getStrongChecksum()
+		{
+			return strongChecksum;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Block " + index + " [" + offset + ", " + length + "] " + strongChecksum;
+		}
+	}
+
+	/**
+	 * The magic number of an encoded signature
+	 */
+	private static final int MAGIC = 0x42534947;
+
+	/**
+	 * The version of the encoding
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The maximum length of the encoded name of the algorithm
+	 */
+	private static final int MAX_ALGORITHM_LENGTH = 256;
+
+	/**
+	 * The number of the 16 bit tags of the weak rolling checksums
+	 */
+	private static final int TAG_COUNT = 1 << 16;
+
+	/**
+	 * The algorithm of the strong checksums
+	 */
+	private final String algorithm;
+
+	/**
+	 * The size of the blocks
+	 */
+	private final int blockSize;
+
+	/**
+	 * The blocks in the order of the signed file
+	 */
+	private final List<Block> blocks;
+
+	/**
+	 * The flags of the 16 bit tags of the weak rolling checksums of all blocks
+	 */
+	private final boolean[] weakTags;
+
+	/**
+	 * The weak rolling checksums of all blocks in ascending order
+	 */
+	private final int[] sortedWeakChecksums;
+
+	/**
+	 * The blocks in the order of the sorted weak rolling checksums, blocks with the same weak
+	 * rolling checksum keep the order of the signed file
+	 */
+	private final List<Block> sortedBlocks;
+
+	/**
+	 * Instantiates a new {@link BlockSignature} object
+	 *
+	 * @param algorithm
+	 *            the algorithm of the strong checksums
+	 * @param blockSize
+	 *            the size of the blocks
+	 * @param blocks
+	 *            the blocks in the order of the signed file
+	 */
+	BlockSignature(final String algorithm, final int blockSize, final List<Block> blocks)
+	{
+		this.algorithm = Objects.requireNonNull(algorithm);
+		this.blockSize = blockSize;
+		this.blocks = Collections.unmodifiableList(new ArrayList<>(blocks));
+		final Block[] sorted = this.blocks.toArray(new Block[0]);
+		Arrays.sort(sorted, Comparator.comparingInt(Block::getWeakChecksum));
+		this.weakTags = new boolean[TAG_COUNT];
+		this.sortedWeakChecksums = new int[sorted.length];
+		for (int i = 0; i < sorted.length; i++)
+		{
+			sortedWeakChecksums[i] = sorted[i].weakChecksum;
+			weakTags[tag(sorted[i].weakChecksum)] = true;
+		}
+		this.sortedBlocks = Collections.unmodifiableList(Arrays.asList(sorted));
+	}
+
+	/**
+	 * Encodes this signature to the given {@link OutputStream} object, the strong checksums are
+	 * written as bytes and the offsets and lengths of the blocks are derived from the block size
+	 * and the length of the signed file. The given stream is flushed but not closed
+	 *
+	 * @param outputStream
+	 *            the {@link OutputStream} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void encode(final OutputStream outputStream) throws IOException
+	{
+		Objects.requireNonNull(outputStream, "Given outputStream is null");
+		final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+		final byte[] algorithmBytes = algorithm.getBytes(StandardCharsets.UTF_8);
+		final int digestLength = blocks.isEmpty()
+			? 0
+			: blocks.get(0).strongChecksum.length() >> 1;
+		final byte[] digest = new byte[digestLength];
+		dataOutputStream.writeInt(MAGIC);
+		dataOutputStream.writeInt(VERSION);
+		dataOutputStream.writeInt(algorithmBytes.length);
+		dataOutputStream.write(algorithmBytes);
+		dataOutputStream.writeInt(blockSize);
+		dataOutputStream.writeLong(getLength());
+		dataOutputStream.writeInt(digestLength);
+		for (Block block : blocks)
+		{
+			dataOutputStream.writeInt(block.weakChecksum);
+			HexExtensions.decodeHex(block.strongChecksum, digest, 0);
+			dataOutputStream.write(digest);
+		}
+		dataOutputStream.flush();
+	}
+
+	/**
+	 * Decodes a signature that was encoded with {@link #encode(OutputStream)} from the given
+	 * {@link InputStream} object. Exactly the bytes of the signature are read and the given
+	 * stream is not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @return the decoded {@link BlockSignature} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm of the signature is not supported
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that the data is no valid
+	 *             signature
+	 */
+	public static BlockSignature decode(final InputStream inputStream)
+		throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(inputStream, "Given inputStream is null");
+		final DataInputStream dataInputStream = new DataInputStream(inputStream);
+		if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != VERSION)
+		{
+			throw new IOException("Given data is no block signature of version " + VERSION);
+		}
+		final int algorithmLength = dataInputStream.readInt();
+		if (algorithmLength <= 0 || algorithmLength > MAX_ALGORITHM_LENGTH)
+		{
+			throw new IOException("Invalid length of the algorithm: " + algorithmLength);
+		}
+		final byte[] algorithmBytes = new byte[algorithmLength];
+		dataInputStream.readFully(algorithmBytes);
+		final String algorithm = new String(algorithmBytes, StandardCharsets.UTF_8);
+		final int expectedDigestLength = MessageDigestPool.getMessageDigest(algorithm)
+			.getDigestLength();
+		final int blockSize = dataInputStream.readInt();
+		final long length = dataInputStream.readLong();
+		final int digestLength = dataInputStream.readInt();
+		if (blockSize <= 0 || length < 0 || (length - 1) / blockSize >= Integer.MAX_VALUE)
+		{
+			throw new IOException(
+				"Invalid block size " + blockSize + " for the length " + length);
+		}
+		if (length > 0 && (digestLength <= 0
+			|| expectedDigestLength > 0 && digestLength != expectedDigestLength))
+		{
+			throw new IOException(
+				"Invalid digest length " + digestLength + " for the algorithm " + algorithm);
+		}
+		final int blockCount = (int)((length + blockSize - 1) / blockSize);
+		// the list grows with the read blocks, so a corrupted length cannot allocate a huge list
+		final List<Block> blocks = new ArrayList<>(Math.min(blockCount, 1024));
+		final byte[] digest = new byte[length > 0 ? digestLength : 0];
+		for (int index = 0; index < blockCount; index++)
+		{
+			final long offset = (long)index * blockSize;
+			final int weakChecksum = dataInputStream.readInt();
+			dataInputStream.readFully(digest);
+			blocks.add(new Block(index, offset, (int)Math.min(blockSize, length - offset),
+				weakChecksum, HexExtensions.encodeHex(digest)));
+		}
+		return new BlockSignature(algorithm, blockSize, blocks);
+	}
+
+	/**
+	 * Gets the algorithm of the strong checksums
+	 *
+	 * @return the algorithm of the strong checksums
+	 */
+	public String getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	/**
+	 * Gets the size of the blocks
+	 *
+	 * @return the size of the blocks
+	 */
+	public int getBlockSize()
+	{
+		return blockSize;
+	}
+
+	/**
+	 * Gets the blocks in the order of the signed file
+	 *
+	 * @return the unmodifiable list with the blocks
+	 */
+	public List<Block> getBlocks()
+	{
+		return blocks;
+	}
+
+	/**
+	 * Gets the length of the signed file
+	 *
+	 * @return the length of the signed file
+	 */
+	public long getLength()
+	{
+		if (blocks.isEmpty())
+		{
+			return 0;
+		}
+		final Block last = blocks.get(blocks.size() - 1);
+		return last.offset + last.length;
+	}
+
+	/**
+	 * Gets the blocks with the given weak rolling checksum
+	 *
+	 * @param weakChecksum
+	 *            the weak rolling checksum
+	 * @return the blocks with the given weak rolling checksum or an empty list
+	 */
+	List<Block> getBlocks(final int weakChecksum)
+	{
+		if (!weakTags[tag(weakChecksum)])
+		{
+			return Collections.emptyList();
+		}
+		int from = Arrays.binarySearch(sortedWeakChecksums, weakChecksum);
+		if (from < 0)
+		{
+			return Collections.emptyList();
+		}
+		while (from > 0 && sortedWeakChecksums[from - 1] == weakChecksum)
+		{
+			from--;
+		}
+		int to = from + 1;
+		while (to < sortedWeakChecksums.length && sortedWeakChecksums[to] == weakChecksum)
+		{
+			to++;
+		}
+		return sortedBlocks.subList(from, to);
+	}
+
+	/**
+	 * Computes the 16 bit tag of the given weak rolling checksum like rsync from the sum of its
+	 * two halves
+	 *
+	 * @param weakChecksum
+	 *            the weak rolling checksum
+	 * @return the tag between 0 and 65535
+	 */
+	private static int tag(final int weakChecksum)
+	{
+		return ((weakChecksum & 0xFFFF) + (weakChecksum >>> 16)) & 0xFFFF;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BlockSignature " + algorithm + " [blockSize=" + blockSize + ", blocks="
+			+ blocks.size() + "]";
+	}
+
+}
@@ -22,8 +22,10 @@ package io.github.astrapi69.checksum;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
 import java.util.zip.Adler32;
 import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
 import java.util.zip.Checksum;
 
 import io.github.astrapi69.crypt.api.algorithm.Algorithm;
@@ -79,6 +81,54 @@ public final class ByteArrayChecksumExtensions
 		return getChecksum(algorithm, bytes);
 	}
 
+	/**
+	 * Gets the checksum from the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @return The checksum from the given range of the byte array as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final byte[] bytes, final int offset, final int length,
+		final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		return getChecksum(bytes, offset, length, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return The checksum from the given range of the byte array as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final byte[] bytes, final int offset, final int length,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		messageDigest.update(bytes, offset, length);
+		return encodeHex(messageDigest.digest());
+	}
+
 	/**
 	 * Gets the checksum from the given {@link Byte} object array
 	 *
@@ -150,8 +200,7 @@ public final class ByteArrayChecksumExtensions
 	public static String getChecksum(final String algorithm, final byte[]... byteArrays)
 		throws NoSuchAlgorithmException
 	{
-		final MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
-		messageDigest.reset();
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
 		for (byte[] byteArray : byteArrays)
 		{
 			messageDigest.update(byteArray);
@@ -167,9 +216,26 @@ public final class ByteArrayChecksumExtensions
 	 * @return The checksum from the byte array as long value
 	 */
 	public static long getCheckSumAdler32(final byte[] bytes)
+	{
+		return getCheckSumAdler32(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array with an instance of
+	 * {@link Adler32} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as long value
+	 */
+	public static long getCheckSumAdler32(final byte[] bytes, final int offset, final int length)
 	{
 		final Checksum checksum = new Adler32();
-		checksum.update(bytes, 0, bytes.length);
+		checksum.update(bytes, offset, length);
 		return checksum.getValue();
 	}
 
@@ -178,11 +244,29 @@ public final class ByteArrayChecksumExtensions
 	 *
 	 * @param bytes
 	 *            The byte array
-	 * @return The checksum from the byte array as long value
+	 * @return The checksum from the byte array as hex {@link String} object with eight characters
 	 */
 	public static String getCheckSumAdler32HexString(final byte[] bytes)
 	{
-		return Long.toHexString(getCheckSumAdler32(bytes));
+		return HexExtensions.encodeHexInt((int)getCheckSumAdler32(bytes));
+	}
+
+	/**
+	 * Gets the checksum as hexadecimal string from the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumAdler32HexString(final byte[] bytes, final int offset,
+		final int length)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumAdler32(bytes, offset, length));
 	}
 
 	/**
@@ -193,9 +277,26 @@ public final class ByteArrayChecksumExtensions
 	 * @return The checksum from the byte array as long value
 	 */
 	public static long getCheckSumCRC32(final byte[] bytes)
+	{
+		return getCheckSumCRC32(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array with an instance of
+	 * {@link CRC32} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as long value
+	 */
+	public static long getCheckSumCRC32(final byte[] bytes, final int offset, final int length)
 	{
 		final Checksum checksum = new CRC32();
-		checksum.update(bytes, 0, bytes.length);
+		checksum.update(bytes, offset, length);
 		return checksum.getValue();
 	}
 
@@ -204,11 +305,92 @@ public final class ByteArrayChecksumExtensions
 	 *
 	 * @param bytes
 	 *            The byte array
-	 * @return The checksum from the byte array as hex {@link String} object
+	 * @return The checksum from the byte array as hex {@link String} object with eight characters
 	 */
 	public static String getCheckSumCRC32HexString(final byte[] bytes)
 	{
-		return normalizeCheckSumCRC32HexStringLength(Long.toHexString(getCheckSumCRC32(bytes)));
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32(bytes));
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array with an instance of
+	 * {@link CRC32} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumCRC32HexString(final byte[] bytes, final int offset,
+		final int length)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32(bytes, offset, length));
+	}
+
+	/**
+	 * Gets the checksum from the given byte array with an instance of {@link CRC32C} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @return The checksum from the byte array as long value
+	 */
+	public static long getCheckSumCRC32C(final byte[] bytes)
+	{
+		return getCheckSumCRC32C(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array with an instance of
+	 * {@link CRC32C} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as long value
+	 */
+	public static long getCheckSumCRC32C(final byte[] bytes, final int offset, final int length)
+	{
+		final Checksum checksum = new CRC32C();
+		checksum.update(bytes, offset, length);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the checksum from the given byte array with an instance of {@link CRC32C} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @return The checksum from the byte array as hex {@link String} object with eight characters
+	 */
+	public static String getCheckSumCRC32CHexString(final byte[] bytes)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32C(bytes));
+	}
+
+	/**
+	 * Gets the checksum from the given range of the given byte array with an instance of
+	 * {@link CRC32C} object
+	 *
+	 * @param bytes
+	 *            The byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return The checksum from the given range of the byte array as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumCRC32CHexString(final byte[] bytes, final int offset,
+		final int length)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32C(bytes, offset, length));
 	}
 
 	/**
@@ -220,17 +402,99 @@ public final class ByteArrayChecksumExtensions
 	 */
 	public static String encodeHex(byte[] bytes)
 	{
-		final StringBuilder hexView = new StringBuilder();
-		for (final byte currentByte : bytes)
-		{
-			final String intAsHex = Integer.toHexString(0xFF & currentByte);
-			if (intAsHex.length() == 1)
-			{
-				hexView.append('0');
-			}
-			hexView.append(intAsHex);
-		}
-		return hexView.toString();
+		return HexExtensions.encodeHex(bytes);
+	}
+
+	/**
+	 * Verifies the given byte array against the given expected checksum. The algorithm is resolved
+	 * from the length of the expected checksum with
+	 * {@link ChecksumExtensions#resolveChecksumAlgorithm(String)}
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final byte[] bytes, final String expectedChecksum)
+		throws NoSuchAlgorithmException
+	{
+		return verify(bytes, expectedChecksum,
+			ChecksumExtensions.resolveChecksumAlgorithm(expectedChecksum).getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given byte array against the given expected checksum with the given
+	 * {@link Algorithm} object
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final byte[] bytes, final String expectedChecksum,
+		final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		return verify(bytes, expectedChecksum, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given byte array against the given expected checksum with the given algorithm.
+	 * The expected checksum is decoded once and compared with the computed digest, the computed
+	 * digest is not encoded to a hexadecimal {@link String} object
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final byte[] bytes, final String expectedChecksum,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		return verify(bytes, HexExtensions.decodeHex(expectedChecksum), algorithm);
+	}
+
+	/**
+	 * Verifies the given byte array against the given expected digest with the given algorithm. The
+	 * digests are compared with {@link MessageDigest#isEqual(byte[], byte[])} in a time that does
+	 * not depend on the position of the first different byte
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param expectedDigest
+	 *            the expected digest
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the digest is equal to the expected digest otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static boolean verify(final byte[] bytes, final byte[] expectedDigest,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(expectedDigest, "Given expectedDigest is null");
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		return MessageDigest.isEqual(expectedDigest, messageDigest.digest(bytes));
 	}
 
 	private static byte[] toByteArray(Byte[] bytes)
@@ -243,15 +507,4 @@ public final class ByteArrayChecksumExtensions
 		return byteArray;
 	}
 
-	private static String normalizeCheckSumCRC32HexStringLength(String hexString)
-	{
-		StringBuilder hexStringBuilder = new StringBuilder(hexString);
-		while (hexStringBuilder.length() != 8)
-		{
-			hexStringBuilder.insert(0, "0");
-		}
-		hexString = hexStringBuilder.toString();
-		return hexString;
-	}
-
 }
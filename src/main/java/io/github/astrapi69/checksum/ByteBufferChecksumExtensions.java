@@ -0,0 +1,378 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link ByteBufferChecksumExtensions} provides algorithms for computing checksum from
+ * heap and direct {@link ByteBuffer} objects. The remaining bytes of the given buffers are passed
+ * directly to {@link MessageDigest#update(ByteBuffer)} and {@link Checksum#update(ByteBuffer)}, so
+ * no copy to a byte array is needed. The positions of the given buffers are not changed unless
+ * requested with the <code>consume</code> flag
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ByteBufferChecksumExtensions
+{
+
+	private ByteBufferChecksumExtensions()
+	{
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @return The checksum from the given {@link ByteBuffer} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final ByteBuffer buffer, final Algorithm algorithm)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksum(buffer, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return The checksum from the given {@link ByteBuffer} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final ByteBuffer buffer, final String algorithm)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksum(buffer, algorithm, false);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @param consume
+	 *            if true the position of the given buffer is moved to its limit, otherwise the
+	 *            position is not changed
+	 * @return The checksum from the given {@link ByteBuffer} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final ByteBuffer buffer, final String algorithm,
+		final boolean consume) throws NoSuchAlgorithmException
+	{
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		messageDigest.update(consume ? buffer : buffer.duplicate());
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with the
+	 * given algorithm
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @param buffers
+	 *            the array of {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final Algorithm algorithm, final ByteBuffer... buffers)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksum(algorithm.getAlgorithm(), buffers);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with the
+	 * given algorithm
+	 *
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @param buffers
+	 *            the array of {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final String algorithm, final ByteBuffer... buffers)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksum(algorithm, Arrays.asList(buffers));
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with the
+	 * given algorithm
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @param buffers
+	 *            the {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final Algorithm algorithm,
+		final Iterable<ByteBuffer> buffers) throws NoSuchAlgorithmException
+	{
+		return getChecksum(algorithm.getAlgorithm(), buffers);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with the
+	 * given algorithm
+	 *
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @param buffers
+	 *            the {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final String algorithm, final Iterable<ByteBuffer> buffers)
+		throws NoSuchAlgorithmException
+	{
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		for (ByteBuffer buffer : buffers)
+		{
+			messageDigest.update(buffer.duplicate());
+		}
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link Adler32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumAdler32(final ByteBuffer buffer)
+	{
+		return getCheckSumAdler32(buffer, false);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link Adler32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param consume
+	 *            if true the position of the given buffer is moved to its limit, otherwise the
+	 *            position is not changed
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumAdler32(final ByteBuffer buffer, final boolean consume)
+	{
+		return getChecksum(new Adler32(), buffer, consume);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with an
+	 * instance of {@link Adler32} object
+	 *
+	 * @param buffers
+	 *            the {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as long value
+	 */
+	public static long getCheckSumAdler32(final Iterable<ByteBuffer> buffers)
+	{
+		return getChecksum(new Adler32(), buffers);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link Adler32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumAdler32HexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumAdler32(buffer));
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumCRC32(final ByteBuffer buffer)
+	{
+		return getCheckSumCRC32(buffer, false);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param consume
+	 *            if true the position of the given buffer is moved to its limit, otherwise the
+	 *            position is not changed
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumCRC32(final ByteBuffer buffer, final boolean consume)
+	{
+		return getChecksum(new CRC32(), buffer, consume);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with an
+	 * instance of {@link CRC32} object
+	 *
+	 * @param buffers
+	 *            the {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as long value
+	 */
+	public static long getCheckSumCRC32(final Iterable<ByteBuffer> buffers)
+	{
+		return getChecksum(new CRC32(), buffers);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumCRC32HexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32(buffer));
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32C} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumCRC32C(final ByteBuffer buffer)
+	{
+		return getCheckSumCRC32C(buffer, false);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32C} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @param consume
+	 *            if true the position of the given buffer is moved to its limit, otherwise the
+	 *            position is not changed
+	 * @return The checksum from the given {@link ByteBuffer} object as long value
+	 */
+	public static long getCheckSumCRC32C(final ByteBuffer buffer, final boolean consume)
+	{
+		return getChecksum(new CRC32C(), buffer, consume);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} objects with an
+	 * instance of {@link CRC32C} object
+	 *
+	 * @param buffers
+	 *            the {@link ByteBuffer} objects
+	 * @return The checksum from the given {@link ByteBuffer} objects as long value
+	 */
+	public static long getCheckSumCRC32C(final Iterable<ByteBuffer> buffers)
+	{
+		return getChecksum(new CRC32C(), buffers);
+	}
+
+	/**
+	 * Gets the checksum from the remaining bytes of the given {@link ByteBuffer} object with an
+	 * instance of {@link CRC32C} object
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return The checksum from the given {@link ByteBuffer} object as hex {@link String} object
+	 *         with eight characters
+	 */
+	public static String getCheckSumCRC32CHexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32C(buffer));
+	}
+
+	private static long getChecksum(final Checksum checksum, final ByteBuffer buffer,
+		final boolean consume)
+	{
+		checksum.update(consume ? buffer : buffer.duplicate());
+		return checksum.getValue();
+	}
+
+	private static long getChecksum(final Checksum checksum, final Iterable<ByteBuffer> buffers)
+	{
+		for (ByteBuffer buffer : buffers)
+		{
+			checksum.update(buffer.duplicate());
+		}
+		return checksum.getValue();
+	}
+
+}
@@ -0,0 +1,209 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+/**
+ * The class {@link ChecksumCombineExtensions} provides algorithms for combining the checksums of
+ * two consecutive ranges of data into the checksum of the whole data, without reading the data
+ * again. This is the math of the <code>crc32_combine</code> and <code>adler32_combine</code>
+ * functions of zlib, so ranges can be checksummed concurrently and combined into exactly the same
+ * value as a serial pass
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ChecksumCombineExtensions
+{
+
+	/**
+	 * The reversed generator polynomial of {@link java.util.zip.CRC32}
+	 */
+	private static final int CRC32_POLYNOMIAL = 0xEDB88320;
+
+	/**
+	 * The reversed generator polynomial of {@link java.util.zip.CRC32C}
+	 */
+	private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+
+	/**
+	 * The largest prime number smaller than 65536 that is the modulus of
+	 * {@link java.util.zip.Adler32}
+	 */
+	private static final int ADLER32_BASE = 65521;
+
+	/**
+	 * The powers x^(2^n) modulo the polynomial of {@link java.util.zip.CRC32}
+	 */
+	private static final int[] CRC32_X2N = newX2nTable(CRC32_POLYNOMIAL);
+
+	/**
+	 * The powers x^(2^n) modulo the polynomial of {@link java.util.zip.CRC32C}
+	 */
+	private static final int[] CRC32C_X2N = newX2nTable(CRC32C_POLYNOMIAL);
+
+	private ChecksumCombineExtensions()
+	{
+	}
+
+	/**
+	 * Combines the {@link java.util.zip.CRC32} checksums of two consecutive ranges of data
+	 *
+	 * @param crc1
+	 *            the checksum of the first range
+	 * @param crc2
+	 *            the checksum of the second range
+	 * @param length2
+	 *            the length of the second range in bytes
+	 * @return the checksum of the first range followed by the second range
+	 */
+	public static long combineCRC32(final long crc1, final long crc2, final long length2)
+	{
+		return combineCRC(CRC32_POLYNOMIAL, CRC32_X2N, crc1, crc2, length2);
+	}
+
+	/**
+	 * Combines the {@link java.util.zip.CRC32C} checksums of two consecutive ranges of data
+	 *
+	 * @param crc1
+	 *            the checksum of the first range
+	 * @param crc2
+	 *            the checksum of the second range
+	 * @param length2
+	 *            the length of the second range in bytes
+	 * @return the checksum of the first range followed by the second range
+	 */
+	public static long combineCRC32C(final long crc1, final long crc2, final long length2)
+	{
+		return combineCRC(CRC32C_POLYNOMIAL, CRC32C_X2N, crc1, crc2, length2);
+	}
+
+	/**
+	 * Combines the {@link java.util.zip.Adler32} checksums of two consecutive ranges of data
+	 *
+	 * @param adler1
+	 *            the checksum of the first range
+	 * @param adler2
+	 *            the checksum of the second range
+	 * @param length2
+	 *            the length of the second range in bytes
+	 * @return the checksum of the first range followed by the second range
+	 */
+	public static long combineAdler32(final long adler1, final long adler2, final long length2)
+	{
+		checkLength(length2);
+		final long remainder = length2 % ADLER32_BASE;
+		long sum1 = adler1 & 0xFFFF;
+		long sum2 = remainder * sum1 % ADLER32_BASE;
+		sum1 += (adler2 & 0xFFFF) + ADLER32_BASE - 1;
+		sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER32_BASE
+			- remainder;
+		if (sum1 >= ADLER32_BASE)
+		{
+			sum1 -= ADLER32_BASE;
+		}
+		if (sum1 >= ADLER32_BASE)
+		{
+			sum1 -= ADLER32_BASE;
+		}
+		if (sum2 >= ADLER32_BASE << 1)
+		{
+			sum2 -= ADLER32_BASE << 1;
+		}
+		if (sum2 >= ADLER32_BASE)
+		{
+			sum2 -= ADLER32_BASE;
+		}
+		return sum1 | (sum2 << 16);
+	}
+
+	private static long combineCRC(final int polynomial, final int[] x2n, final long crc1,
+		final long crc2, final long length2)
+	{
+		checkLength(length2);
+		// shifting crc1 over length2 zero bytes is a multiplication with x^(8 * length2)
+		final int shift = x2nModP(polynomial, x2n, length2, 3);
+		return (multModP(polynomial, shift, (int)crc1) ^ (int)crc2) & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Multiplies the two given polynomials modulo the given generator polynomial. All polynomials
+	 * are in the reflected bit order, where the highest bit is the coefficient of x^0
+	 */
+	private static int multModP(final int polynomial, final int a, int b)
+	{
+		int mask = 1 << 31;
+		int product = 0;
+		while (mask != 0)
+		{
+			if ((a & mask) != 0)
+			{
+				product ^= b;
+				if ((a & (mask - 1)) == 0)
+				{
+					break;
+				}
+			}
+			mask >>>= 1;
+			b = (b & 1) != 0 ? (b >>> 1) ^ polynomial : b >>> 1;
+		}
+		return product;
+	}
+
+	/**
+	 * Computes x^(n * 2^k) modulo the given generator polynomial
+	 */
+	private static int x2nModP(final int polynomial, final int[] x2n, long n, int k)
+	{
+		int power = 1 << 31;
+		while (n != 0)
+		{
+			if ((n & 1) != 0)
+			{
+				power = multModP(polynomial, x2n[k & 31], power);
+			}
+			n >>>= 1;
+			k++;
+		}
+		return power;
+	}
+
+	private static int[] newX2nTable(final int polynomial)
+	{
+		final int[] table = new int[32];
+		int power = 1 << 30;
+		table[0] = power;
+		for (int n = 1; n < table.length; n++)
+		{
+			power = multModP(polynomial, power, power);
+			table[n] = power;
+		}
+		return table;
+	}
+
+	private static void checkLength(final long length)
+	{
+		if (length < 0)
+		{
+			throw new IllegalArgumentException("Given length must not be negative: " + length);
+		}
+	}
+
+}
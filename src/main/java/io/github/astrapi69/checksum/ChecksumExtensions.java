@@ -20,45 +20,76 @@
  */
 package io.github.astrapi69.checksum;
 
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
 
 /**
- * The class {@link ChecksumExtensions} is a utility class for computing checksum from byte arrays
+ * The class {@link ChecksumExtensions} is a utility class for computing checksum from byte arrays.
+ * The validation of checksum values dispatches on the length of the value and checks the
+ * characters in a single scan with {@link HexExtensions#isHex(CharSequence)} without regular
+ * expressions, so it does not allocate any objects
  *
  * @version 1.0
  * @author Asterios Raptis
  */
 public final class ChecksumExtensions
 {
+
+	/**
+	 * The constant for the number of hexadecimal characters of a MD5 value
+	 */
+	private static final int MD5_LENGTH = 32;
+
+	/**
+	 * The constant for the number of hexadecimal characters of a SHA1 value
+	 */
+	private static final int SHA1_LENGTH = 40;
+
+	/**
+	 * The constant for the number of hexadecimal characters of a SHA256 value
+	 */
+	private static final int SHA256_LENGTH = 64;
+
 	/**
-	 * The constant HEXADECIMAL_CHARACTER_CLASS.
+	 * The constant for the number of hexadecimal characters of a SHA384 value
 	 */
-	private static final String HEXADECIMAL_CHARACTER_CLASS = "[a-fA-F0-9]";
+	private static final int SHA384_LENGTH = 96;
 
 	/**
-	 * The constant REGEX_VALIDATION_MD5.
+	 * The constant for the number of hexadecimal characters of a SHA512 value
 	 */
-	private static final String REGEX_VALIDATION_MD5 = HEXADECIMAL_CHARACTER_CLASS + "{32}";
+	private static final int SHA512_LENGTH = 128;
 
 	/**
-	 * The constant REGEX_VALIDATION_SHA1.
+	 * The shared {@link Optional} object of the resolved algorithm MD5
 	 */
-	private static final String REGEX_VALIDATION_SHA1 = HEXADECIMAL_CHARACTER_CLASS + "{40}";
+	private static final Optional<ChecksumAlgorithm> MD5 = Optional.of(ChecksumAlgorithm.MD5);
 
 	/**
-	 * The constant REGEX_VALIDATION_SHA256
+	 * The shared {@link Optional} object of the resolved algorithm SHA1
 	 */
-	private static final String REGEX_VALIDATION_SHA256 = HEXADECIMAL_CHARACTER_CLASS + "{64}";
+	private static final Optional<ChecksumAlgorithm> SHA_1 = Optional.of(ChecksumAlgorithm.SHA_1);
 
 	/**
-	 * The constant REGEX_VALIDATION_SHA384.
+	 * The shared {@link Optional} object of the resolved algorithm SHA256
 	 */
-	private static final String REGEX_VALIDATION_SHA384 = HEXADECIMAL_CHARACTER_CLASS + "{96}";
+	private static final Optional<ChecksumAlgorithm> SHA_256 = Optional
+		.of(ChecksumAlgorithm.SHA_256);
 
 	/**
-	 * The constant REGEX_VALIDATION_SHA512.
+	 * The shared {@link Optional} object of the resolved algorithm SHA384
 	 */
-	private static final String REGEX_VALIDATION_SHA512 = HEXADECIMAL_CHARACTER_CLASS + "{128}";
+	private static final Optional<ChecksumAlgorithm> SHA_384 = Optional
+		.of(ChecksumAlgorithm.SHA_384);
+
+	/**
+	 * The shared {@link Optional} object of the resolved algorithm SHA512
+	 */
+	private static final Optional<ChecksumAlgorithm> SHA_512 = Optional
+		.of(ChecksumAlgorithm.SHA_512);
 
 	private ChecksumExtensions()
 	{
@@ -73,7 +104,7 @@ public final class ChecksumExtensions
 	 */
 	public static boolean matchesMD5(final String value)
 	{
-		return value.matches(REGEX_VALIDATION_MD5);
+		return matchesHex(value, MD5_LENGTH);
 	}
 
 	/**
@@ -85,7 +116,7 @@ public final class ChecksumExtensions
 	 */
 	public static boolean matchesSHA1(final String value)
 	{
-		return value.matches(REGEX_VALIDATION_SHA1);
+		return matchesHex(value, SHA1_LENGTH);
 	}
 
 	/**
@@ -97,7 +128,7 @@ public final class ChecksumExtensions
 	 */
 	public static boolean matchesSHA384(final String value)
 	{
-		return value.matches(REGEX_VALIDATION_SHA384);
+		return matchesHex(value, SHA384_LENGTH);
 	}
 
 	/**
@@ -109,7 +140,7 @@ public final class ChecksumExtensions
 	 */
 	public static boolean matchesSHA256(final String value)
 	{
-		return value.matches(REGEX_VALIDATION_SHA256);
+		return matchesHex(value, SHA256_LENGTH);
 	}
 
 	/**
@@ -117,45 +148,100 @@ public final class ChecksumExtensions
 	 *
 	 * @param value
 	 *            the checksum value
-	 * @return true, the given value matches a SHA1 value otherwise false
+	 * @return true, the given value matches a SHA512 value otherwise false
 	 */
 	public static boolean matchesSHA512(final String value)
 	{
-		return value.matches(REGEX_VALIDATION_SHA512);
+		return matchesHex(value, SHA512_LENGTH);
 	}
 
 	/**
-	 * Resolves the checksum algorithm from the given value, if no match is found the undefined
-	 * value will be returned
+	 * Resolves the checksum algorithm from the given value, if no match is found the value
+	 * {@link ChecksumAlgorithm#MD5} will be returned
 	 *
 	 * @param value
 	 *            the checksum value
-	 * @return the checksum algorithm from the given value, if no match is found the undefined value
-	 *         will be returned
+	 * @return the checksum algorithm from the given value, if no match is found the value
+	 *         {@link ChecksumAlgorithm#MD5} will be returned
 	 */
 	public static ChecksumAlgorithm resolveChecksumAlgorithm(final String value)
 	{
-		if (matchesMD5(value))
-		{
-			return ChecksumAlgorithm.MD5;
-		}
-		if (matchesSHA1(value))
-		{
-			return ChecksumAlgorithm.SHA_1;
-		}
-		if (matchesSHA256(value))
-		{
-			return ChecksumAlgorithm.SHA_256;
-		}
-		if (matchesSHA384(value))
+		return findChecksumAlgorithm(value).orElse(ChecksumAlgorithm.MD5);
+	}
+
+	/**
+	 * Finds the checksum algorithm of the given value. The algorithm is determined by the number
+	 * of hexadecimal characters of the value, so a value with 32 characters is resolved to
+	 * {@link ChecksumAlgorithm#MD5} even if it is for instance a MD2 value
+	 *
+	 * @param value
+	 *            the checksum value
+	 * @return an {@link Optional} with the checksum algorithm or an empty {@link Optional} if the
+	 *         given value is no valid checksum value of a known length
+	 */
+	public static Optional<ChecksumAlgorithm> findChecksumAlgorithm(final CharSequence value)
+	{
+		Objects.requireNonNull(value, "Given value is null");
+		final Optional<ChecksumAlgorithm> algorithm;
+		switch (value.length())
 		{
-			return ChecksumAlgorithm.SHA_384;
+			case MD5_LENGTH :
+				algorithm = MD5;
+				break;
+			case SHA1_LENGTH :
+				algorithm = SHA_1;
+				break;
+			case SHA256_LENGTH :
+				algorithm = SHA_256;
+				break;
+			case SHA384_LENGTH :
+				algorithm = SHA_384;
+				break;
+			case SHA512_LENGTH :
+				algorithm = SHA_512;
+				break;
+			default :
+				return Optional.empty();
 		}
-		if (matchesSHA512(value))
+		return HexExtensions.isHex(value) ? algorithm : Optional.empty();
+	}
+
+	/**
+	 * Resolves the checksum algorithms of all given values
+	 *
+	 * @param values
+	 *            the checksum values
+	 * @return an array with the checksum algorithm of the value at the same index or null if the
+	 *         value is no valid checksum value of a known length
+	 */
+	public static ChecksumAlgorithm[] resolveChecksumAlgorithms(final CharSequence... values)
+	{
+		final ChecksumAlgorithm[] algorithms = new ChecksumAlgorithm[values.length];
+		for (int i = 0; i < values.length; i++)
 		{
-			return ChecksumAlgorithm.SHA_512;
+			algorithms[i] = findChecksumAlgorithm(values[i]).orElse(null);
 		}
-		return ChecksumAlgorithm.MD5;
+		return algorithms;
+	}
+
+	/**
+	 * Resolves the checksum algorithms of the given {@link Stream} of values lazily in the order
+	 * of the values, so large manifests can be validated without collecting the values first
+	 *
+	 * @param values
+	 *            the {@link Stream} of checksum values
+	 * @return the {@link Stream} with an {@link Optional} of the checksum algorithm for every
+	 *         value that is empty if the value is no valid checksum value of a known length
+	 */
+	public static Stream<Optional<ChecksumAlgorithm>> resolveChecksumAlgorithms(
+		final Stream<? extends CharSequence> values)
+	{
+		return values.map(ChecksumExtensions::findChecksumAlgorithm);
+	}
+
+	private static boolean matchesHex(final String value, final int length)
+	{
+		return value.length() == length && HexExtensions.isHex(value);
 	}
 
 }
@@ -0,0 +1,364 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The class {@link ChecksumIndex} is the persistent index of {@link IncrementalDirectoryChecksum}
+ * that stores the metadata and the digest of every file of a directory tree.<br>
+ * <br>
+ * The index file has a compact binary format that is loaded through a memory mapping. It starts
+ * with a header of the magic number, the format version, the algorithm name and the start time of
+ * the run that wrote the index. Then the entries follow and at last a CRC32 checksum over all
+ * previous bytes. An index file with a wrong checksum, for instance a torn write, is ignored. A
+ * new index file is written to a temporary file in the same directory, forced to the storage device
+ * and then atomically moved over the old one, so a killed run always leaves a valid index
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+final class ChecksumIndex
+{
+
+	/**
+	 * The magic number of an index file
+	 */
+	static final int MAGIC = 0x43534958;
+
+	/**
+	 * The version of the index file format
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * The coarsest granularity in milliseconds of the modification times of the supported file
+	 * systems, FAT stores the modification time with two seconds
+	 */
+	static final long MODIFICATION_TIME_GRANULARITY = 2000;
+
+	/**
+	 * The minimum number of bytes of a stored entry with an empty path, file key and digest
+	 */
+	private static final int MIN_ENTRY_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES
+		+ Integer.BYTES + Byte.BYTES;
+
+	/**
+	 * The algorithm of the stored digests
+	 */
+	private final String algorithm;
+
+	/**
+	 * The start time in milliseconds of the run that computed the entries
+	 */
+	private final long timestamp;
+
+	/**
+	 * The entries keyed by the relative path of the file with '/' as separator
+	 */
+	private final Map<String, Entry> entries;
+
+	ChecksumIndex(final String algorithm, final long timestamp, final Map<String, Entry> entries)
+	{
+		this.algorithm = Objects.requireNonNull(algorithm);
+		this.timestamp = timestamp;
+		this.entries = Objects.requireNonNull(entries);
+	}
+
+	/**
+	 * Loads the index from the given file. If the file does not exist, is corrupt or was written
+	 * for another algorithm an empty index is returned
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @param algorithm
+	 *            the expected algorithm of the stored digests
+	 * @return the loaded index
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static ChecksumIndex load(final Path indexFile, final String algorithm) throws IOException
+	{
+		final ChecksumIndex empty = new ChecksumIndex(algorithm, Long.MIN_VALUE, new HashMap<>());
+		try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (size < Integer.BYTES || Integer.MAX_VALUE < size)
+			{
+				return empty;
+			}
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			try
+			{
+				final CRC32 crc32 = new CRC32();
+				crc32.update(buffer.duplicate().limit((int)size - Integer.BYTES));
+				if ((int)crc32.getValue() != buffer.getInt((int)size - Integer.BYTES))
+				{
+					return empty;
+				}
+				if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				{
+					return empty;
+				}
+				final String indexAlgorithm = readString(buffer);
+				if (!algorithm.equals(indexAlgorithm))
+				{
+					return empty;
+				}
+				final long timestamp = buffer.getLong();
+				final int count = buffer.getInt();
+				if (count < 0 || buffer.remaining() / MIN_ENTRY_SIZE < count)
+				{
+					return empty;
+				}
+				final Map<String, Entry> entries = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+				for (int i = 0; i < count; i++)
+				{
+					final String relativePath = readString(buffer);
+					final long fileSize = buffer.getLong();
+					final long lastModified = buffer.getLong();
+					final String fileKey = readString(buffer);
+					final byte[] digest = new byte[buffer.get() & 0xFF];
+					buffer.get(digest);
+					entries.put(relativePath, new Entry(fileSize, lastModified,
+						fileKey.isEmpty() ? null : fileKey, digest));
+				}
+				return new ChecksumIndex(algorithm, timestamp, entries);
+			}
+			catch (BufferUnderflowException | IllegalArgumentException e)
+			{
+				return empty;
+			}
+			finally
+			{
+				MappedBuffers.release(buffer);
+			}
+		}
+		catch (NoSuchFileException e)
+		{
+			return empty;
+		}
+	}
+
+	/**
+	 * Gets the start time for a new index from the clock of the file system of the given index
+	 * file. The modification time of a new temporary file is truncated like the modification times
+	 * of the hashed files, and the granularity of the coarsest file system is subtracted, so a file
+	 * that is changed while the run hashes it is never treated as unchanged in the next run
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @return the start time in milliseconds for the entries of a new index
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static long getStartTime(final Path indexFile) throws IOException
+	{
+		final Path absoluteIndexFile = indexFile.toAbsolutePath();
+		final Path temporaryFile = Files.createTempFile(absoluteIndexFile.getParent(),
+			absoluteIndexFile.getFileName().toString(), ".tmp");
+		try
+		{
+			final long fileSystemTime = Files.getLastModifiedTime(temporaryFile).toMillis();
+			return Math.min(fileSystemTime, System.currentTimeMillis())
+				- MODIFICATION_TIME_GRANULARITY;
+		}
+		finally
+		{
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Writes this index crash safe to the given file
+	 *
+	 * @param indexFile
+	 *            the index file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	void save(final Path indexFile) throws IOException
+	{
+		final Path absoluteIndexFile = indexFile.toAbsolutePath();
+		final Path directory = absoluteIndexFile.getParent();
+		final Path temporaryFile = Files.createTempFile(directory,
+			absoluteIndexFile.getFileName().toString(), ".tmp");
+		try
+		{
+			try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE))
+			{
+				final CRC32 crc32 = new CRC32();
+				final DataOutputStream outputStream = new DataOutputStream(new CheckedOutputStream(
+					new BufferedOutputStream(Channels.newOutputStream(channel),
+						FileChecksumExtensions.DEFAULT_BUFFER_SIZE),
+					crc32));
+				outputStream.writeInt(MAGIC);
+				outputStream.writeInt(VERSION);
+				writeString(outputStream, algorithm);
+				outputStream.writeLong(timestamp);
+				outputStream.writeInt(entries.size());
+				for (Map.Entry<String, Entry> mapEntry : entries.entrySet())
+				{
+					final Entry entry = mapEntry.getValue();
+					writeString(outputStream, mapEntry.getKey());
+					outputStream.writeLong(entry.size);
+					outputStream.writeLong(entry.lastModified);
+					writeString(outputStream, entry.fileKey == null ? "" : entry.fileKey);
+					outputStream.writeByte(entry.digest.length);
+					outputStream.write(entry.digest);
+				}
+				outputStream.writeInt((int)crc32.getValue());
+				outputStream.flush();
+				channel.force(true);
+			}
+			try
+			{
+				Files.move(temporaryFile, absoluteIndexFile, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temporaryFile, absoluteIndexFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temporaryFile);
+		}
+		forceDirectory(directory);
+	}
+
+	/**
+	 * Gets the stored entry for the given relative path if its metadata is equal to the given
+	 * metadata. Entries of files that were modified at or after the start time of the run that
+	 * computed them are never returned, because their content could have been changed while they
+	 * were hashed without changing the modification time
+	 *
+	 * @param relativePath
+	 *            the relative path of the file
+	 * @param size
+	 *            the current size of the file
+	 * @param lastModified
+	 *            the current modification time in milliseconds of the file
+	 * @param fileKey
+	 *            the current file key of the file or null if not available
+	 * @return the matching entry or null if no entry exists or the file has changed
+	 */
+	Entry getUnchanged(final String relativePath, final long size, final long lastModified,
+		final String fileKey)
+	{
+		final Entry entry = entries.get(relativePath);
+		if (entry == null || entry.size != size || entry.lastModified != lastModified
+			|| timestamp <= lastModified || !Objects.equals(entry.fileKey, fileKey))
+		{
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Gets the number of entries
+	 *
+	 * @return the number of entries
+	 */
+	int size()
+	{
+		return entries.size();
+	}
+
+	private static String readString(final MappedByteBuffer buffer)
+	{
+		final int length = buffer.getInt();
+		if (length < 0 || buffer.remaining() < length)
+		{
+			throw new BufferUnderflowException();
+		}
+		final byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(final DataOutputStream outputStream, final String value)
+		throws IOException
+	{
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		outputStream.writeInt(bytes.length);
+		outputStream.write(bytes);
+	}
+
+	private static void forceDirectory(final Path directory)
+	{
+		// makes the rename durable, this is not supported on all platforms
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ))
+		{
+			channel.force(true);
+		}
+		catch (IOException e)
+		{
+			// the rename is made durable by the file system later
+		}
+	}
+
+	/**
+	 * An entry of the index with the metadata and the digest of one file
+	 */
+	static final class Entry
+	{
+		final long size;
+		final long lastModified;
+		final String fileKey;
+		final byte[] digest;
+
+		Entry(final long size, final long lastModified, final String fileKey, final byte[] digest)
+		{
+			this.size = size;
+			this.lastModified = lastModified;
+			this.fileKey = fileKey;
+			this.digest = digest;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Entry [size=" + size + ", lastModified=" + lastModified + ", fileKey="
+				+ fileKey + ", digest=" + HexExtensions.encodeHex(digest) + "]";
+		}
+	}
+
+}
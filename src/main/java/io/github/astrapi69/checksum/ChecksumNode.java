@@ -0,0 +1,235 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The class {@link ChecksumNode} represents one node of a checksum tree of a directory that is
+ * computed by {@link MerkleDirectoryChecksum}. Every node holds the digest of its file, symbolic
+ * link or directory, so subtrees can be compared and verified without hashing the whole tree again
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ChecksumNode
+{
+
+	/**
+	 * The type of a {@link ChecksumNode} object
+	 */
+	public enum Type
+	{
+		/** A regular file, the digest is computed from the content of the file */
+		FILE('f'),
+		/** A directory, the digest is computed from the sorted entries of the directory */
+		DIRECTORY('d'),
+		/** A symbolic link, the digest is computed from the target of the link */
+		SYMBOLIC_LINK('l');
+
+		/** The marker of the type that is hashed into the digest of the parent directory */
+		private final byte marker;
+
+		Type(final char marker)
+		{
+			this.marker = (byte)marker;
+		}
+
+		/**
+		 * Gets the marker of the type that is hashed into the digest of the parent directory
+		 *
+		 * @return the marker of the type
+		 */
+		public byte getMarker()
+		{
+			return marker;
+		}
+	}
+
+	/**
+	 * The name of the node, this is empty for the root node
+	 */
+	private final String name;
+
+	/**
+	 * The path of the node relative to the root node with '/' as separator
+	 */
+	private final String relativePath;
+
+	/**
+	 * The type of the node
+	 */
+	private final Type type;
+
+	/**
+	 * The digest of the node
+	 */
+	private final byte[] digest;
+
+	/**
+	 * The children of the node sorted by name
+	 */
+	private final List<ChecksumNode> children;
+
+	/**
+	 * Instantiates a new {@link ChecksumNode} object
+	 *
+	 * @param name
+	 *            the name of the node
+	 * @param relativePath
+	 *            the path of the node relative to the root node with '/' as separator
+	 * @param type
+	 *            the type of the node
+	 * @param digest
+	 *            the digest of the node
+	 * @param children
+	 *            the children of the node sorted by name
+	 */
+	ChecksumNode(final String name, final String relativePath, final Type type,
+		final byte[] digest, final List<ChecksumNode> children)
+	{
+		this.name = Objects.requireNonNull(name);
+		this.relativePath = Objects.requireNonNull(relativePath);
+		this.type = Objects.requireNonNull(type);
+		this.digest = Objects.requireNonNull(digest);
+		this.children = Collections.unmodifiableList(new ArrayList<>(children));
+	}
+
+	/**
+	 * Gets the name of the node, this is empty for the root node
+	 *
+	 * @return the name of the node
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the path of the node relative to the root node with '/' as separator, this is empty for
+	 * the root node
+	 *
+	 * @return the relative path of the node
+	 */
+	public String getRelativePath()
+	{
+		return relativePath;
+	}
+
+	/**
+	 * Gets the type of the node
+	 *
+	 * @return the type of the node
+	 */
+	public Type getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets a copy of the digest of the node
+	 *
+	 * @return the digest of the node
+	 */
+	public byte[] getDigest()
+	{
+		return digest.clone();
+	}
+
+	/**
+	 * Gets the digest of the node as hexadecimal {@link String} object
+	 *
+	 * @return the digest of the node as hexadecimal {@link String} object
+	 */
+	public String getHexDigest()
+	{
+		return HexExtensions.encodeHex(digest);
+	}
+
+	/**
+	 * Gets the children of the node sorted by name, this is empty for files and symbolic links
+	 *
+	 * @return the unmodifiable list with the children of the node
+	 */
+	public List<ChecksumNode> getChildren()
+	{
+		return children;
+	}
+
+	/**
+	 * Checks if the digest of this node is equal to the digest of the given node
+	 *
+	 * @param other
+	 *            the other node
+	 * @return true if the digests are equal otherwise false
+	 */
+	public boolean digestEquals(final ChecksumNode other)
+	{
+		return Arrays.equals(digest, other.digest);
+	}
+
+	/**
+	 * Finds the node with the given path relative to this node
+	 *
+	 * @param path
+	 *            the relative path with '/' as separator, an empty path finds this node
+	 * @return an {@link Optional} with the found node or an empty {@link Optional} if no node
+	 *         exists with the given path
+	 */
+	public Optional<ChecksumNode> find(final String path)
+	{
+		ChecksumNode current = this;
+		if (path.isEmpty())
+		{
+			return Optional.of(current);
+		}
+		for (String segment : path.split("/"))
+		{
+			ChecksumNode next = null;
+			for (ChecksumNode child : current.children)
+			{
+				if (child.name.equals(segment))
+				{
+					next = child;
+					break;
+				}
+			}
+			if (next == null)
+			{
+				return Optional.empty();
+			}
+			current = next;
+		}
+		return Optional.of(current);
+	}
+
+	@Override
+	public String toString()
+	{
+		return type + " " + (relativePath.isEmpty() ? "." : relativePath) + " " + getHexDigest();
+	}
+
+}
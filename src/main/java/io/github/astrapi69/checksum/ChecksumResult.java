@@ -0,0 +1,203 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link ChecksumResult} holds the checksums of one input that are computed with several
+ * algorithms in a single pass, keyed by the name of the algorithm. The checksums of
+ * <code>java.util.zip.CRC32</code> and <code>java.util.zip.Adler32</code> are held as the four
+ * bytes of their value in big endian order, so their hexadecimal form has always eight characters
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ChecksumResult
+{
+
+	/**
+	 * The digests keyed by the name of the algorithm in the order of the requested algorithms
+	 */
+	private final Map<String, byte[]> digests;
+
+	/**
+	 * Instantiates a new {@link ChecksumResult} object
+	 *
+	 * @param digests
+	 *            the digests keyed by the name of the algorithm
+	 */
+	ChecksumResult(final Map<String, byte[]> digests)
+	{
+		this.digests = Collections.unmodifiableMap(new LinkedHashMap<>(digests));
+	}
+
+	/**
+	 * Gets the names of the algorithms of this result in the order they were requested
+	 *
+	 * @return the unmodifiable set with the names of the algorithms
+	 */
+	public Set<String> getAlgorithms()
+	{
+		return digests.keySet();
+	}
+
+	/**
+	 * Checks if this result contains the checksum of the given algorithm
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm
+	 * @return true if this result contains the checksum of the given algorithm otherwise false
+	 */
+	public boolean contains(final String algorithm)
+	{
+		return digests.containsKey(algorithm);
+	}
+
+	/**
+	 * Gets the checksum of the given {@link Algorithm} object as hexadecimal {@link String} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object
+	 * @return the checksum as hexadecimal {@link String} object
+	 * @throws IllegalArgumentException
+	 *             if the checksum of the given algorithm was not computed
+	 */
+	public String getChecksum(final Algorithm algorithm)
+	{
+		return getChecksum(algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum of the given algorithm as hexadecimal {@link String} object
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm
+	 * @return the checksum as hexadecimal {@link String} object
+	 * @throws IllegalArgumentException
+	 *             if the checksum of the given algorithm was not computed
+	 */
+	public String getChecksum(final String algorithm)
+	{
+		return HexExtensions.encodeHex(digestOf(algorithm));
+	}
+
+	/**
+	 * Gets a copy of the digest of the given algorithm
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm
+	 * @return the digest of the given algorithm
+	 * @throws IllegalArgumentException
+	 *             if the checksum of the given algorithm was not computed
+	 */
+	public byte[] getDigest(final String algorithm)
+	{
+		return digestOf(algorithm).clone();
+	}
+
+	/**
+	 * Gets the checksums of all algorithms as hexadecimal {@link String} objects
+	 *
+	 * @return the checksums keyed by the name of the algorithm in the order they were requested
+	 */
+	public Map<String, String> toMap()
+	{
+		final Map<String, String> checksums = new LinkedHashMap<>();
+		for (Map.Entry<String, byte[]> entry : digests.entrySet())
+		{
+			checksums.put(entry.getKey(), HexExtensions.encodeHex(entry.getValue()));
+		}
+		return checksums;
+	}
+
+	private byte[] digestOf(final String algorithm)
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		final byte[] digest = digests.get(algorithm);
+		if (digest == null)
+		{
+			throw new IllegalArgumentException("No checksum computed for algorithm: " + algorithm
+				+ ", computed are " + getAlgorithms());
+		}
+		return digest;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object)
+		{
+			return true;
+		}
+		if (!(object instanceof ChecksumResult))
+		{
+			return false;
+		}
+		final Map<String, byte[]> other = ((ChecksumResult)object).digests;
+		if (!digests.keySet().equals(other.keySet()))
+		{
+			return false;
+		}
+		for (Map.Entry<String, byte[]> entry : digests.entrySet())
+		{
+			if (!Arrays.equals(entry.getValue(), other.get(entry.getKey())))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		int hashCode = 0;
+		for (Map.Entry<String, byte[]> entry : digests.entrySet())
+		{
+			hashCode += entry.getKey().hashCode() ^ Arrays.hashCode(entry.getValue());
+		}
+		return hashCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ChecksumResult" + toMap();
+	}
+
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+
+/**
+ * The class {@link ContentChunk} represents one chunk of a file or stream that is computed by
+ * {@link ContentDefinedChunker}. It holds the position of the chunk and the checksum of its
+ * content, so equal chunks can be stored only once
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ContentChunk
+{
+
+	/**
+	 * The offset of the chunk in the file or stream
+	 */
+	private final long offset;
+
+	/**
+	 * The length of the chunk
+	 */
+	private final int length;
+
+	/**
+	 * The checksum of the content of the chunk as hexadecimal {@link String} object
+	 */
+	private final String checksum;
+
+	/**
+	 * Instantiates a new {@link ContentChunk} object
+	 *
+	 * @param offset
+	 *            the offset of the chunk in the file or stream
+	 * @param length
+	 *            the length of the chunk
+	 * @param checksum
+	 *            the checksum of the content of the chunk as hexadecimal {@link String} object
+	 */
+	ContentChunk(final long offset, final int length, final String checksum)
+	{
+		this.offset = offset;
+		this.length = length;
+		this.checksum = Objects.requireNonNull(checksum);
+	}
+
+	/**
+	 * Gets the offset of the chunk in the file or stream
+	 *
+	 * @return the offset of the chunk
+	 */
+	public long getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * Gets the length of the chunk
+	 *
+	 * @return the length of the chunk
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * Gets the checksum of the content of the chunk as hexadecimal {@link String} object
+	 *
+	 * @return the checksum of the chunk
+	 */
+	public String getChecksum()
+	{
+		return checksum;
+	}
+
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object)
+		{
+			return true;
+		}
+		if (!(object instanceof ContentChunk))
+		{
+			return false;
+		}
+		final ContentChunk other = (ContentChunk)object;
+		return offset == other.offset && length == other.length
+			&& checksum.equals(other.checksum);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(offset, length, checksum);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ContentChunk [offset=" + offset + ", length=" + length + "] " + checksum;
+	}
+
+}
@@ -0,0 +1,350 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link ContentDefinedChunker} splits files, streams and byte arrays into chunks of
+ * variable size with the content defined chunking algorithm FastCDC. The end of a chunk is found
+ * where a Gear hash over the last bytes matches a mask, so the boundaries depend only on the
+ * content around them. An insertion or removal changes only the chunks around it, all other chunks
+ * keep their content and checksum, which makes the chunks suitable for deduplication.<br>
+ * <br>
+ * The chunker uses the cut point skipping and the normalized chunking of FastCDC: the first bytes
+ * up to the minimum size of a chunk are not hashed, up to the average size a stricter mask is used
+ * and behind it a looser mask, so most chunks are near the average size. Streams are read through
+ * a buffer with a bounded size, so the memory usage does not depend on the size of the data
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public class ContentDefinedChunker
+{
+
+	/**
+	 * The default minimum size of a chunk
+	 */
+	public static final int DEFAULT_MIN_SIZE = 2 * 1024;
+
+	/**
+	 * The default average size of a chunk
+	 */
+	public static final int DEFAULT_AVERAGE_SIZE = 8 * 1024;
+
+	/**
+	 * The default maximum size of a chunk
+	 */
+	public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+	/**
+	 * The smallest allowed minimum size of a chunk, this is the number of bytes that influence the
+	 * Gear hash
+	 */
+	private static final int SMALLEST_MIN_SIZE = 64;
+
+	/**
+	 * The table of the Gear hash with a random 64 bit value for every byte value. The table is
+	 * generated from a fixed seed, so the chunk boundaries are the same on every machine
+	 */
+	private static final long[] GEAR = newGearTable(0x2545F4914F6CDD1DL);
+
+	/**
+	 * The algorithm of the checksums of the chunks
+	 */
+	private final String algorithm;
+
+	/**
+	 * The minimum size of a chunk
+	 */
+	private final int minSize;
+
+	/**
+	 * The average size of a chunk
+	 */
+	private final int averageSize;
+
+	/**
+	 * The maximum size of a chunk
+	 */
+	private final int maxSize;
+
+	/**
+	 * The stricter mask that is used before the average size is reached
+	 */
+	private final long smallMask;
+
+	/**
+	 * The looser mask that is used after the average size is reached
+	 */
+	private final long largeMask;
+
+	/**
+	 * Instantiates a new {@link ContentDefinedChunker} object with the default sizes
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm of the checksums of the
+	 *            chunks
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ContentDefinedChunker(final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm(), DEFAULT_MIN_SIZE, DEFAULT_AVERAGE_SIZE, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link ContentDefinedChunker} object with the given sizes
+	 *
+	 * @param algorithm
+	 *            the algorithm of the checksums of the chunks. This can be for instance "MD5",
+	 *            "SHA-1", "SHA-256" or "BLAKE3"
+	 * @param minSize
+	 *            the minimum size of a chunk, at least 64 bytes
+	 * @param averageSize
+	 *            the average size of a chunk, this is rounded down to a power of two
+	 * @param maxSize
+	 *            the maximum size of a chunk
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ContentDefinedChunker(final String algorithm, final int minSize, final int averageSize,
+		final int maxSize) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		if (minSize < SMALLEST_MIN_SIZE || averageSize <= minSize || maxSize <= averageSize)
+		{
+			throw new IllegalArgumentException("Given sizes must satisfy " + SMALLEST_MIN_SIZE
+				+ " <= minSize < averageSize < maxSize: " + minSize + ", " + averageSize + ", "
+				+ maxSize);
+		}
+		// fail early if the algorithm does not exist
+		MessageDigestPool.newMessageDigest(algorithm);
+		this.algorithm = algorithm;
+		this.minSize = minSize;
+		this.averageSize = averageSize;
+		this.maxSize = maxSize;
+		final int bits = 31 - Integer.numberOfLeadingZeros(averageSize);
+		// the masks use the upper bits of the hash, they depend on the last 64 bytes
+		this.smallMask = -1L << (64 - Math.min(63, bits + 2));
+		this.largeMask = -1L << (64 - Math.max(1, bits - 2));
+	}
+
+	/**
+	 * Gets the algorithm of the checksums of the chunks
+	 *
+	 * @return the algorithm of the checksums of the chunks
+	 */
+	public String getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	/**
+	 * Splits the given byte array into chunks
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the list with the chunks in the order of the data
+	 */
+	public List<ContentChunk> getChunks(final byte[] bytes)
+	{
+		Objects.requireNonNull(bytes, "Given bytes is null");
+		final List<ContentChunk> chunks = new ArrayList<>();
+		int start = 0;
+		while (start < bytes.length)
+		{
+			final int length = cutPoint(bytes, start, bytes.length);
+			chunks.add(newChunk(bytes, start, length, start));
+			start += length;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Splits the content of the given {@link File} object into chunks
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the list with the chunks in the order of the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public List<ContentChunk> getChunks(final File file) throws IOException
+	{
+		final List<ContentChunk> chunks = new ArrayList<>();
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			chunk(inputStream, chunks::add);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Splits the data of the given {@link InputStream} object into chunks. The given stream is
+	 * read to the end but not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @return the list with the chunks in the order of the data
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public List<ContentChunk> getChunks(final InputStream inputStream) throws IOException
+	{
+		final List<ContentChunk> chunks = new ArrayList<>();
+		chunk(inputStream, chunks::add);
+		return chunks;
+	}
+
+	/**
+	 * Splits the data of the given {@link InputStream} object into chunks and passes every chunk
+	 * to the given consumer as soon as it is complete, so not even the list of chunks is kept in
+	 * memory. The given stream is read to the end but not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @param consumer
+	 *            the consumer for the chunks in the order of the data
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void chunk(final InputStream inputStream, final Consumer<ContentChunk> consumer)
+		throws IOException
+	{
+		Objects.requireNonNull(inputStream, "Given inputStream is null");
+		Objects.requireNonNull(consumer, "Given consumer is null");
+		final byte[] buffer = new byte[maxSize
+			+ Math.max(maxSize, FileChecksumExtensions.DEFAULT_BUFFER_SIZE)];
+		// the offset of the first byte of the buffer in the data
+		long base = 0;
+		int start = 0;
+		int end = 0;
+		boolean endOfStream = false;
+		while (true)
+		{
+			// a chunk can only be cut when the maximum size or the end of the data is buffered
+			if (!endOfStream && end - start < maxSize)
+			{
+				System.arraycopy(buffer, start, buffer, 0, end - start);
+				base += start;
+				end -= start;
+				start = 0;
+				int read;
+				while (end < buffer.length
+					&& (read = inputStream.read(buffer, end, buffer.length - end)) != -1)
+				{
+					end += read;
+				}
+				endOfStream = end < buffer.length;
+			}
+			if (start == end)
+			{
+				return;
+			}
+			final int length = cutPoint(buffer, start, end);
+			consumer.accept(newChunk(buffer, start, length, base + start));
+			start += length;
+		}
+	}
+
+	/**
+	 * Finds the length of the next chunk that starts at the given start index
+	 *
+	 * @param bytes
+	 *            the byte array with the data
+	 * @param start
+	 *            the start index of the chunk
+	 * @param end
+	 *            the end index of the available data
+	 * @return the length of the chunk
+	 */
+	int cutPoint(final byte[] bytes, final int start, final int end)
+	{
+		final int available = end - start;
+		if (available <= minSize)
+		{
+			return available;
+		}
+		final int limit = start + Math.min(available, maxSize);
+		final int normal = Math.min(limit, start + averageSize);
+		long hash = 0;
+		int index = start + minSize;
+		for (; index < normal; index++)
+		{
+			hash = (hash << 1) + GEAR[bytes[index] & 0xFF];
+			if ((hash & smallMask) == 0)
+			{
+				return index + 1 - start;
+			}
+		}
+		for (; index < limit; index++)
+		{
+			hash = (hash << 1) + GEAR[bytes[index] & 0xFF];
+			if ((hash & largeMask) == 0)
+			{
+				return index + 1 - start;
+			}
+		}
+		return limit - start;
+	}
+
+	private ContentChunk newChunk(final byte[] bytes, final int start, final int length,
+		final long offset)
+	{
+		try
+		{
+			return new ContentChunk(offset, length,
+				ByteArrayChecksumExtensions.getChecksum(bytes, start, length, algorithm));
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked in the constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static long[] newGearTable(long seed)
+	{
+		// SplitMix64 as a small and well distributed generator with a fixed output
+		final long[] table = new long[256];
+		for (int i = 0; i < table.length; i++)
+		{
+			seed += 0x9E3779B97F4A7C15L;
+			long value = seed;
+			value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+			value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+			table[i] = value ^ (value >>> 31);
+		}
+		return table;
+	}
+
+}
@@ -43,6 +43,11 @@ public class DirectoryChecksum
 	 */
 	MessageDigest messageDigest;
 
+	/**
+	 * The buffer for reading the files
+	 */
+	byte[] buffer;
+
 	/**
 	 * Instantiates a new {@link DirectoryChecksum} object
 	 *
@@ -53,10 +58,26 @@ public class DirectoryChecksum
 	 *             {@link MessageDigest} object
 	 */
 	DirectoryChecksum(String algorithm) throws NoSuchAlgorithmException
+	{
+		this(algorithm, FileChecksumExtensions.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link DirectoryChecksum} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} object
+	 * @param bufferSize
+	 *            the size of the buffer for reading the files
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 *             {@link MessageDigest} object
+	 */
+	DirectoryChecksum(String algorithm, int bufferSize) throws NoSuchAlgorithmException
 	{
 		Objects.requireNonNull(algorithm, "Given algorithm is null");
-		this.messageDigest = MessageDigest.getInstance(algorithm);
-		this.messageDigest.reset();
+		this.messageDigest = MessageDigestPool.newMessageDigest(algorithm);
+		this.buffer = FileChecksumExtensions.newBuffer(bufferSize);
 	}
 
 	/**
@@ -76,7 +97,7 @@ public class DirectoryChecksum
 			{
 				try
 				{
-					messageDigest.update(Files.readAllBytes(currentFile));
+					FileChecksumExtensions.update(messageDigest, currentFile, buffer);
 				}
 				catch (IOException e)
 				{
@@ -20,13 +20,31 @@
  */
 package io.github.astrapi69.checksum;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.zip.Adler32;
 import java.util.zip.CRC32;
-import java.util.zip.CheckedInputStream;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
 
 import io.github.astrapi69.crypt.api.algorithm.Algorithm;
 
@@ -38,6 +56,48 @@ import io.github.astrapi69.crypt.api.algorithm.Algorithm;
  */
 public final class FileChecksumExtensions
 {
+
+	/**
+	 * The default size of the buffer for reading files
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The file size from which files are hashed through memory mapped windows if no buffer size is
+	 * given
+	 */
+	public static final long DEFAULT_MAPPED_THRESHOLD = 64L * 1024 * 1024;
+
+	/**
+	 * The default size of one memory mapped window
+	 */
+	public static final int DEFAULT_MAPPED_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * The file size from which the CRC32, CRC32C and Adler32 checksums of files are computed in
+	 * parallel ranges if no buffer size is given
+	 */
+	public static final long DEFAULT_PARALLEL_THRESHOLD = 256L * 1024 * 1024;
+
+	/**
+	 * The default size of one range of a file that is checksummed by one task
+	 */
+	public static final int DEFAULT_PARALLEL_CHUNK_SIZE = 32 * 1024 * 1024;
+
+	/**
+	 * The direct buffer with the default size for reading files of the current thread, so the
+	 * native memory is not allocated again for every file
+	 */
+	private static final ThreadLocal<ByteBuffer> THREAD_BUFFER = ThreadLocal
+		.withInitial(() -> ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE));
+
+	/**
+	 * The heap buffer with the default size for reading files of the current thread, so the
+	 * digests of many small files do not allocate a new buffer for every file
+	 */
+	private static final ThreadLocal<byte[]> THREAD_HEAP_BUFFER = ThreadLocal
+		.withInitial(() -> new byte[DEFAULT_BUFFER_SIZE]);
+
 	private FileChecksumExtensions()
 	{
 	}
@@ -64,37 +124,50 @@ public final class FileChecksumExtensions
 		return getChecksum(file, algorithm.getAlgorithm());
 	}
 
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of the given
+	 * {@link Algorithm} object. The file is read through a buffer with the given size, so the heap
+	 * usage does not depend on the size of the file
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @param bufferSize
+	 *            the size of the buffer for reading the file
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksum(final File file, final Algorithm algorithm,
+		final int bufferSize) throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksum(file, algorithm.getAlgorithm(), bufferSize);
+	}
+
 	/**
 	 * Gets the checksum from the given {@link File} object. If the flag crc is true then the
-	 * CheckedInputStream is constructed with an instance of <code>java.util.zip.CRC32</code>
-	 * otherwise with an instance of <code>java.util.zip.Adler32</code>
+	 * checksum is computed with an instance of <code>java.util.zip.CRC32</code> otherwise with an
+	 * instance of <code>java.util.zip.Adler32</code>. The file is read through a bounded buffer,
+	 * so files of any size are supported
 	 *
 	 * @param file
 	 *            The {@link File} object to resolve the checksum
 	 * @param crc
-	 *            if the flag crc is true then the CheckedInputStream is constructed with an
-	 *            instance of {@link java.util.zip.CRC32} object otherwise it is constructed with an
-	 *            instance of {@link java.util.zip.Adler32} object
+	 *            if the flag crc is true then the checksum is computed with an instance of
+	 *            {@link java.util.zip.CRC32} object otherwise it is computed with an instance of
+	 *            {@link java.util.zip.Adler32} object
 	 * @return The checksum from the given {@link File} object as long value
 	 * @throws IOException
 	 *             Signals that an I/O exception has occurred
 	 */
 	public static long getChecksum(final File file, final boolean crc) throws IOException
 	{
-		try (CheckedInputStream cis = crc
-			? new CheckedInputStream(Files.newInputStream(file.toPath()), new CRC32())
-			: new CheckedInputStream(Files.newInputStream(file.toPath()), new Adler32()))
-		{
-			final int length = (int)file.length();
-			final byte[] buffer = new byte[length];
-			long checksum;
-			while (cis.read(buffer) >= 0)
-			{
-				checksum = cis.getChecksum().getValue();
-			}
-			checksum = cis.getChecksum().getValue();
-			return checksum;
-		}
+		return crc ? getCheckSumCRC32(file) : getCheckSumAdler32(file);
 	}
 
 	/**
@@ -113,14 +186,173 @@ public final class FileChecksumExtensions
 	 */
 	public static String getChecksum(final File file, final String algorithm)
 		throws NoSuchAlgorithmException, IOException
+	{
+		if (isMappedFile(file))
+		{
+			return getChecksumMapped(file, algorithm, DEFAULT_MAPPED_WINDOW_SIZE);
+		}
+		return getChecksum(file, algorithm, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of the given
+	 * algorithm. The file is read through a buffer with the given size, so the heap usage does not
+	 * depend on the size of the file
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512".
+	 * @param bufferSize
+	 *            the size of the buffer for reading the file
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksum(final File file, final String algorithm,
+		final int bufferSize) throws NoSuchAlgorithmException, IOException
 	{
 		if (file.isDirectory())
 		{
-			DirectoryChecksum directoryChecksum = new DirectoryChecksum(algorithm);
+			DirectoryChecksum directoryChecksum = new DirectoryChecksum(algorithm, bufferSize);
 			return directoryChecksum.update(file.toPath());
 		}
-		return ByteArrayChecksumExtensions.getChecksum(Files.readAllBytes(file.toPath()),
-			algorithm);
+		final byte[] buffer = getHeapBuffer(bufferSize);
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		update(messageDigest, file.toPath(), buffer);
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of the given
+	 * {@link Algorithm} object. The file is hashed through memory mapped windows, so the content
+	 * is not copied from the kernel into a read buffer
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 *            to get the checksum. This can be for instance "MD2", "MD5", "SHA-1", "SHA-256",
+	 *            "SHA-384" or "SHA-512"
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksumMapped(final File file, final Algorithm algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksumMapped(file, algorithm.getAlgorithm(), DEFAULT_MAPPED_WINDOW_SIZE);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of the given
+	 * algorithm. The file is hashed through memory mapped windows with the given size, every window
+	 * is released right after it is hashed
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512".
+	 * @param windowSize
+	 *            the size of one memory mapped window
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksumMapped(final File file, final String algorithm,
+		final int windowSize) throws NoSuchAlgorithmException, IOException
+	{
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		updateMapped(file.toPath(), windowSize, messageDigest::update);
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	/**
+	 * Gets the BLAKE3 checksum from the given {@link File} object. The subtrees of the file are
+	 * read and hashed in parallel on the threads of the common {@link ForkJoinPool} object, so the
+	 * hashing of one large file scales with the number of cores. The checksum is equal to the
+	 * checksum of {@link #getChecksum(File, String)} with the algorithm {@link Blake3#ALGORITHM}
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksumBlake3Parallel(final File file) throws IOException
+	{
+		return getChecksumBlake3Parallel(file, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the BLAKE3 checksum from the given {@link File} object. The subtrees of the file are
+	 * read and hashed in parallel on the threads of the given {@link ForkJoinPool} object
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param pool
+	 *            the {@link ForkJoinPool} object that hashes the subtrees of the file
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksumBlake3Parallel(final File file, final ForkJoinPool pool)
+		throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return HexExtensions.encodeHex(Blake3.hashParallel(channel, pool));
+		}
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32}
+	 * object. The file is hashed through memory mapped windows with the given size, every window
+	 * is released right after it is hashed
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param windowSize
+	 *            the size of one memory mapped window
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32Mapped(final File file, final int windowSize)
+		throws IOException
+	{
+		final Checksum checksum = new CRC32();
+		updateMapped(file.toPath(), windowSize, checksum::update);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link Adler32}
+	 * object. The file is hashed through memory mapped windows with the given size, every window
+	 * is released right after it is hashed
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param windowSize
+	 *            the size of one memory mapped window
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumAdler32Mapped(final File file, final int windowSize)
+		throws IOException
+	{
+		final Checksum checksum = new Adler32();
+		updateMapped(file.toPath(), windowSize, checksum::update);
+		return checksum.getValue();
 	}
 
 	/**
@@ -135,7 +367,36 @@ public final class FileChecksumExtensions
 	 */
 	public static long getCheckSumAdler32(final File file) throws IOException
 	{
-		return ByteArrayChecksumExtensions.getCheckSumAdler32(Files.readAllBytes(file.toPath()));
+		if (isParallelFile(file))
+		{
+			return getCheckSumAdler32Parallel(file);
+		}
+		if (isMappedFile(file))
+		{
+			return getCheckSumAdler32Mapped(file, DEFAULT_MAPPED_WINDOW_SIZE);
+		}
+		return getCheckSumAdler32(file, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link Adler32}
+	 * object. The file is read through a buffer with the given size, so the heap usage does not
+	 * depend on the size of the file
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param bufferSize
+	 *            the size of the buffer for reading the file
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumAdler32(final File file, final int bufferSize)
+		throws IOException
+	{
+		final Checksum checksum = new Adler32();
+		update(checksum, file.toPath(), getReadBuffer(bufferSize));
+		return checksum.getValue();
 	}
 
 	/**
@@ -150,8 +411,7 @@ public final class FileChecksumExtensions
 	 */
 	public static String getCheckSumAdler32HexString(final File file) throws IOException
 	{
-		return ByteArrayChecksumExtensions
-			.getCheckSumAdler32HexString(Files.readAllBytes(file.toPath()));
+		return HexExtensions.encodeHexInt((int)getCheckSumAdler32(file));
 	}
 
 	/**
@@ -165,7 +425,35 @@ public final class FileChecksumExtensions
 	 */
 	public static long getCheckSumCRC32(final File file) throws IOException
 	{
-		return ByteArrayChecksumExtensions.getCheckSumCRC32(Files.readAllBytes(file.toPath()));
+		if (isParallelFile(file))
+		{
+			return getCheckSumCRC32Parallel(file);
+		}
+		if (isMappedFile(file))
+		{
+			return getCheckSumCRC32Mapped(file, DEFAULT_MAPPED_WINDOW_SIZE);
+		}
+		return getCheckSumCRC32(file, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32}
+	 * object. The file is read through a buffer with the given size, so the heap usage does not
+	 * depend on the size of the file
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param bufferSize
+	 *            the size of the buffer for reading the file
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32(final File file, final int bufferSize) throws IOException
+	{
+		final Checksum checksum = new CRC32();
+		update(checksum, file.toPath(), getReadBuffer(bufferSize));
+		return checksum.getValue();
 	}
 
 	/**
@@ -179,8 +467,641 @@ public final class FileChecksumExtensions
 	 */
 	public static String getCheckSumCRC32HexString(final File file) throws IOException
 	{
-		return ByteArrayChecksumExtensions
-			.getCheckSumCRC32HexString(Files.readAllBytes(file.toPath()));
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32(file));
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object. The file is hashed through memory mapped windows with the given size, every window
+	 * is released right after it is hashed
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param windowSize
+	 *            the size of one memory mapped window
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32CMapped(final File file, final int windowSize)
+		throws IOException
+	{
+		final Checksum checksum = new CRC32C();
+		updateMapped(file.toPath(), windowSize, checksum::update);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32C(final File file) throws IOException
+	{
+		if (isParallelFile(file))
+		{
+			return getCheckSumCRC32CParallel(file);
+		}
+		if (isMappedFile(file))
+		{
+			return getCheckSumCRC32CMapped(file, DEFAULT_MAPPED_WINDOW_SIZE);
+		}
+		return getCheckSumCRC32C(file, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object. The file is read through a buffer with the given size, so the heap usage does not
+	 * depend on the size of the file
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param bufferSize
+	 *            the size of the buffer for reading the file
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32C(final File file, final int bufferSize) throws IOException
+	{
+		final Checksum checksum = new CRC32C();
+		update(checksum, file.toPath(), getReadBuffer(bufferSize));
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @return The checksum from the given {@link File} object as {@link String} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getCheckSumCRC32CHexString(final File file) throws IOException
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32C(file));
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link Adler32}
+	 * object. The file is split into ranges that are checksummed concurrently on the threads of
+	 * the common {@link ForkJoinPool} object and the checksums of the ranges are combined into the
+	 * checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumAdler32Parallel(final File file) throws IOException
+	{
+		return getCheckSumAdler32Parallel(file, DEFAULT_PARALLEL_CHUNK_SIZE,
+			ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link Adler32}
+	 * object. The file is split into ranges with the given size that are checksummed concurrently
+	 * on the threads of the given {@link Executor} object and the checksums of the ranges are
+	 * combined into the checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param chunkSize
+	 *            the size of one range of the file that is checksummed by one task
+	 * @param executor
+	 *            the {@link Executor} object that checksums the ranges
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumAdler32Parallel(final File file, final int chunkSize,
+		final Executor executor) throws IOException
+	{
+		return getCheckSumParallel(file.toPath(), ZipChecksumAlgorithm.ADLER32, chunkSize,
+			executor);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32}
+	 * object. The file is split into ranges that are checksummed concurrently on the threads of
+	 * the common {@link ForkJoinPool} object and the checksums of the ranges are combined into the
+	 * checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32Parallel(final File file) throws IOException
+	{
+		return getCheckSumCRC32Parallel(file, DEFAULT_PARALLEL_CHUNK_SIZE,
+			ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32}
+	 * object. The file is split into ranges with the given size that are checksummed concurrently
+	 * on the threads of the given {@link Executor} object and the checksums of the ranges are
+	 * combined into the checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param chunkSize
+	 *            the size of one range of the file that is checksummed by one task
+	 * @param executor
+	 *            the {@link Executor} object that checksums the ranges
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32Parallel(final File file, final int chunkSize,
+		final Executor executor) throws IOException
+	{
+		return getCheckSumParallel(file.toPath(), ZipChecksumAlgorithm.CRC32, chunkSize, executor);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object. The file is split into ranges that are checksummed concurrently on the threads of
+	 * the common {@link ForkJoinPool} object and the checksums of the ranges are combined into the
+	 * checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32CParallel(final File file) throws IOException
+	{
+		return getCheckSumCRC32CParallel(file, DEFAULT_PARALLEL_CHUNK_SIZE,
+			ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets the checksum from the given {@link File} object with an instance of {@link CRC32C}
+	 * object. The file is split into ranges with the given size that are checksummed concurrently
+	 * on the threads of the given {@link Executor} object and the checksums of the ranges are
+	 * combined into the checksum of the whole file, that is equal to the checksum of a serial pass
+	 *
+	 * @param file
+	 *            The {@link File} object
+	 * @param chunkSize
+	 *            the size of one range of the file that is checksummed by one task
+	 * @param executor
+	 *            the {@link Executor} object that checksums the ranges
+	 * @return The checksum from the {@link File} object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getCheckSumCRC32CParallel(final File file, final int chunkSize,
+		final Executor executor) throws IOException
+	{
+		return getCheckSumParallel(file.toPath(), ZipChecksumAlgorithm.CRC32C, chunkSize, executor);
+	}
+
+	/**
+	 * Verifies the given {@link File} object against the given expected checksum. The algorithm is
+	 * resolved from the length of the expected checksum with
+	 * {@link ChecksumExtensions#resolveChecksumAlgorithm(String)}
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final File file, final String expectedChecksum)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return verify(file, expectedChecksum,
+			ChecksumExtensions.resolveChecksumAlgorithm(expectedChecksum).getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given {@link File} object against the given expected checksum with the given
+	 * {@link Algorithm} object
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final File file, final String expectedChecksum,
+		final Algorithm algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		return verify(file, expectedChecksum, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given {@link File} object against the given expected checksum with the given
+	 * algorithm. The expected checksum is decoded once and compared with the computed digest, the
+	 * computed digest is not encoded to a hexadecimal {@link String} object
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final File file, final String expectedChecksum,
+		final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		return verify(file, HexExtensions.decodeHex(expectedChecksum), algorithm);
+	}
+
+	/**
+	 * Verifies the given {@link File} object against the given expected digest with the given
+	 * algorithm. The digests are compared with {@link MessageDigest#isEqual(byte[], byte[])} in a
+	 * time that does not depend on the position of the first different byte
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param expectedDigest
+	 *            the expected digest
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the digest is equal to the expected digest otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static boolean verify(final File file, final byte[] expectedDigest,
+		final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(expectedDigest, "Given expectedDigest is null");
+		if (file.isDirectory())
+		{
+			final String checksum = new DirectoryChecksum(algorithm, DEFAULT_BUFFER_SIZE)
+				.update(file.toPath());
+			return MessageDigest.isEqual(expectedDigest, HexExtensions.decodeHex(checksum));
+		}
+		final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+		final int digestLength = messageDigest.getDigestLength();
+		if (digestLength != 0 && digestLength != expectedDigest.length)
+		{
+			// the file can not match, so it is not read
+			return false;
+		}
+		if (isMappedFile(file))
+		{
+			updateMapped(file.toPath(), DEFAULT_MAPPED_WINDOW_SIZE, messageDigest::update);
+		}
+		else
+		{
+			update(messageDigest, file.toPath(), getHeapBuffer(DEFAULT_BUFFER_SIZE));
+		}
+		return MessageDigest.isEqual(expectedDigest, messageDigest.digest());
+	}
+
+	/**
+	 * Updates the given {@link MessageDigest} object with the content of the given file that is
+	 * read through the given buffer
+	 *
+	 * @param messageDigest
+	 *            the {@link MessageDigest} object to update
+	 * @param path
+	 *            the path of the file
+	 * @param buffer
+	 *            the buffer for reading the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static void update(final MessageDigest messageDigest, final Path path, final byte[] buffer)
+		throws IOException
+	{
+		try (InputStream inputStream = Files.newInputStream(path))
+		{
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				messageDigest.update(buffer, 0, read);
+			}
+		}
+	}
+
+	/**
+	 * Updates the given {@link Checksum} object with the content of the given file that is read
+	 * through the given buffer. If the given buffer is a direct buffer the file content is read
+	 * into it without a copy to the heap and the checksum is computed with the intrinsic of
+	 * {@link Checksum#update(ByteBuffer)}
+	 *
+	 * @param checksum
+	 *            the {@link Checksum} object to update
+	 * @param path
+	 *            the path of the file
+	 * @param buffer
+	 *            the buffer for reading the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static void update(final Checksum checksum, final Path path, final ByteBuffer buffer)
+		throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			while (channel.read(buffer.clear()) != -1)
+			{
+				checksum.update(buffer.flip());
+			}
+		}
+	}
+
+	/**
+	 * Passes the content of the given file as memory mapped windows with the given size to the
+	 * given consumer. Every window is released after the consumer returns, so the consumer must
+	 * not keep a reference to it
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param windowSize
+	 *            the size of one memory mapped window
+	 * @param consumer
+	 *            the consumer for the windows
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static void updateMapped(final Path path, final int windowSize,
+		final Consumer<ByteBuffer> consumer) throws IOException
+	{
+		if (windowSize <= 0)
+		{
+			throw new IllegalArgumentException("Given window size must be positive: " + windowSize);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			for (long position = 0; position < size; position += windowSize)
+			{
+				final long length = Math.min(windowSize, size - position);
+				final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+					position, length);
+				try
+				{
+					consumer.accept(window);
+				}
+				finally
+				{
+					MappedBuffers.release(window);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the checksum of the given file in ranges with the given size that are checksummed
+	 * concurrently with positional reads from one shared {@link FileChannel} object
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param algorithm
+	 *            the checksum algorithm
+	 * @param chunkSize
+	 *            the size of one range
+	 * @param executor
+	 *            the {@link Executor} object that checksums the ranges
+	 * @return the checksum of the whole file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static long getCheckSumParallel(final Path path, final ZipChecksumAlgorithm algorithm,
+		final int chunkSize, final Executor executor) throws IOException
+	{
+		if (chunkSize <= 0)
+		{
+			throw new IllegalArgumentException("Given chunk size must be positive: " + chunkSize);
+		}
+		Objects.requireNonNull(executor, "Given executor is null");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (size <= chunkSize)
+			{
+				return checksumRange(channel, algorithm, 0, size);
+			}
+			// a sliding window of the ranges in file order, the permits are released when the
+			// executor has run or skipped a range, so all ranges are finished before the channel
+			// is closed
+			final int maxRanges = 2 * Runtime.getRuntime().availableProcessors();
+			final Semaphore permits = new Semaphore(maxRanges);
+			final Executor boundedExecutor = command -> {
+				permits.acquireUninterruptibly();
+				try
+				{
+					executor.execute(() -> {
+						try
+						{
+							command.run();
+						}
+						finally
+						{
+							permits.release();
+						}
+					});
+				}
+				catch (RuntimeException e)
+				{
+					permits.release();
+					throw e;
+				}
+			};
+			final ArrayDeque<CompletableFuture<Long>> pending = new ArrayDeque<>(maxRanges);
+			long value = 0;
+			long position = 0;
+			long combined = 0;
+			try
+			{
+				while (combined < size)
+				{
+					while (pending.size() < maxRanges && position < size)
+					{
+						final long start = position;
+						final long length = Math.min(chunkSize, size - position);
+						pending.add(CompletableFuture.supplyAsync(
+							() -> checksumRangeUnchecked(channel, algorithm, start, length),
+							boundedExecutor));
+						position += length;
+					}
+					final long length = Math.min(chunkSize, size - combined);
+					final long rangeValue = join(pending.remove());
+					value = combined == 0
+						? rangeValue
+						: algorithm.combine(value, rangeValue, length);
+					combined += length;
+				}
+			}
+			catch (IOException | RuntimeException e)
+			{
+				// the ranges that are not yet checksummed are skipped by the executor
+				for (CompletableFuture<Long> future : pending)
+				{
+					future.cancel(false);
+				}
+				throw e;
+			}
+			finally
+			{
+				permits.acquireUninterruptibly(maxRanges);
+			}
+			return value;
+		}
+	}
+
+	private static long checksumRange(final FileChannel channel,
+		final ZipChecksumAlgorithm algorithm, final long start, final long length)
+		throws IOException
+	{
+		final Checksum checksum = algorithm.newChecksum();
+		final ByteBuffer buffer = getReadBuffer(DEFAULT_BUFFER_SIZE);
+		final long end = start + length;
+		long position = start;
+		while (position < end)
+		{
+			buffer.clear().limit((int)Math.min(buffer.capacity(), end - position));
+			final int read = channel.read(buffer, position);
+			if (read < 0)
+			{
+				throw new EOFException("The file was truncated at the position " + position);
+			}
+			position += read;
+			checksum.update(buffer.flip());
+		}
+		return checksum.getValue();
+	}
+
+	private static long checksumRangeUnchecked(final FileChannel channel,
+		final ZipChecksumAlgorithm algorithm, final long start, final long length)
+	{
+		try
+		{
+			return checksumRange(channel, algorithm, start, length);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static <T> T join(final CompletableFuture<T> future) throws IOException
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException)e.getCause()).getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static boolean isParallelFile(final File file)
+	{
+		return file.isFile() && DEFAULT_PARALLEL_THRESHOLD <= file.length()
+			&& 1 < Runtime.getRuntime().availableProcessors();
+	}
+
+	private static boolean isMappedFile(final File file)
+	{
+		return file.isFile() && DEFAULT_MAPPED_THRESHOLD <= file.length();
+	}
+
+	/**
+	 * Creates a new buffer for reading files with the given size
+	 *
+	 * @param bufferSize
+	 *            the size of the buffer
+	 * @return the new buffer
+	 */
+	static byte[] newBuffer(final int bufferSize)
+	{
+		checkBufferSize(bufferSize);
+		return new byte[bufferSize];
+	}
+
+	/**
+	 * Gets a heap buffer for reading files with the given size. The default size is served from
+	 * the heap buffer of the current thread, any other size gets a new buffer. The returned buffer
+	 * must not be used after the next call on the same thread
+	 *
+	 * @param bufferSize
+	 *            the size of the buffer
+	 * @return the buffer with the given length
+	 */
+	static byte[] getHeapBuffer(final int bufferSize)
+	{
+		if (bufferSize == DEFAULT_BUFFER_SIZE)
+		{
+			return THREAD_HEAP_BUFFER.get();
+		}
+		return newBuffer(bufferSize);
+	}
+
+	/**
+	 * Gets a buffer for reading files with the given size. A size up to the default buffer size is
+	 * served from the direct buffer of the current thread, a larger size gets a new heap buffer
+	 * that the checksums read through its array, so no native memory is allocated per file. The
+	 * returned buffer must not be used after the next call on the same thread
+	 *
+	 * @param bufferSize
+	 *            the size of the buffer
+	 * @return the buffer with the given capacity
+	 */
+	static ByteBuffer getReadBuffer(final int bufferSize)
+	{
+		checkBufferSize(bufferSize);
+		if (DEFAULT_BUFFER_SIZE < bufferSize)
+		{
+			return ByteBuffer.wrap(new byte[bufferSize]);
+		}
+		return THREAD_BUFFER.get().clear().slice(0, bufferSize);
+	}
+
+	private static void checkBufferSize(final int bufferSize)
+	{
+		if (bufferSize <= 0)
+		{
+			throw new IllegalArgumentException("Given buffer size must be positive: " + bufferSize);
+		}
 	}
 
 }
@@ -0,0 +1,565 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link Hasher} computes a checksum incrementally from data that arrives in several
+ * parts, so the parts do not have to be collected into one byte array first. A hasher is created
+ * for a message digest algorithm like "SHA-256" or "BLAKE3" or for a checksum algorithm of
+ * {@link ZipChecksumAlgorithm} like "CRC32" and is updated with byte arrays, {@link ByteBuffer}
+ * objects, {@link CharSequence} objects or {@link InputStream} objects. The method
+ * {@link #finish()} returns the checksum and resets the hasher, so it can be reused for the next
+ * data.<br>
+ * <br>
+ * An instance is not thread safe. Reusable instances that are bound to the current thread are
+ * provided by {@link HasherPool}
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class Hasher
+{
+
+	/**
+	 * The size of the buffer for reading streams and encoding characters
+	 */
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	/**
+	 * The number of characters that are encoded in one block
+	 */
+	private static final int CHARS_SIZE = 2 * 1024;
+
+	/**
+	 * The name of the algorithm
+	 */
+	private final String algorithm;
+
+	/**
+	 * The {@link MessageDigest} object or null if this hasher computes a checksum
+	 */
+	private final MessageDigest messageDigest;
+
+	/**
+	 * The {@link Checksum} object or null if this hasher computes a message digest
+	 */
+	private final Checksum checksum;
+
+	/**
+	 * The buffer for reading streams and encoding characters, it is created on first use
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 * The buffer for the characters of one block, it is created on first use
+	 */
+	private char[] chars;
+
+	/**
+	 * Instantiates a new {@link Hasher} object for the given {@link Algorithm} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object, for instance a value of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public Hasher(final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Instantiates a new {@link Hasher} object for the given algorithm
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "BLAKE3", "CRC32", "CRC32C" or "Adler32"
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public Hasher(final String algorithm) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		this.algorithm = algorithm;
+		final ZipChecksumAlgorithm zipChecksumAlgorithm = ZipChecksumAlgorithm.resolve(algorithm);
+		if (zipChecksumAlgorithm != null)
+		{
+			this.messageDigest = null;
+			this.checksum = zipChecksumAlgorithm.newChecksum();
+		}
+		else
+		{
+			// an owned digest, the pooled digests are bound to the calling thread
+			this.messageDigest = MessageDigestPool.newMessageDigest(algorithm);
+			this.checksum = null;
+		}
+	}
+
+	/**
+	 * Gets the name of the algorithm
+	 *
+	 * @return the name of the algorithm
+	 */
+	public String getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	/**
+	 * Updates this hasher with the given byte
+	 *
+	 * @param b
+	 *            the byte
+	 * @return this hasher
+	 */
+	public Hasher update(final byte b)
+	{
+		if (messageDigest != null)
+		{
+			messageDigest.update(b);
+		}
+		else
+		{
+			checksum.update(b);
+		}
+		return this;
+	}
+
+	/**
+	 * Updates this hasher with the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return this hasher
+	 */
+	public Hasher update(final byte[] bytes)
+	{
+		return update(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Updates this hasher with the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return this hasher
+	 */
+	public Hasher update(final byte[] bytes, final int offset, final int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		if (messageDigest != null)
+		{
+			messageDigest.update(bytes, offset, length);
+		}
+		else
+		{
+			checksum.update(bytes, offset, length);
+		}
+		return this;
+	}
+
+	/**
+	 * Updates this hasher with the remaining bytes of the given {@link ByteBuffer} object. The
+	 * position of the buffer is moved to its limit
+	 *
+	 * @param byteBuffer
+	 *            the {@link ByteBuffer} object
+	 * @return this hasher
+	 */
+	public Hasher update(final ByteBuffer byteBuffer)
+	{
+		if (messageDigest != null)
+		{
+			messageDigest.update(byteBuffer);
+		}
+		else
+		{
+			checksum.update(byteBuffer);
+		}
+		return this;
+	}
+
+	/**
+	 * Updates this hasher with the UTF-8 encoded characters of the given {@link CharSequence}
+	 * object
+	 *
+	 * @param charSequence
+	 *            the {@link CharSequence} object
+	 * @return this hasher
+	 */
+	public Hasher update(final CharSequence charSequence)
+	{
+		return update(charSequence, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Updates this hasher with the characters of the given {@link CharSequence} object that are
+	 * encoded with the given {@link Charset} object. The characters are encoded in blocks, so no
+	 * byte array with the whole encoded content is created. Characters that can not be encoded are
+	 * replaced like in {@link String#getBytes(Charset)}. The charsets UTF-8, ISO-8859-1 and
+	 * US-ASCII are encoded directly into the buffer of this hasher without a {@link CharsetEncoder}
+	 *
+	 * @param charSequence
+	 *            the {@link CharSequence} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @return this hasher
+	 */
+	public Hasher update(final CharSequence charSequence, final Charset charset)
+	{
+		Objects.requireNonNull(charSequence, "Given charSequence is null");
+		Objects.requireNonNull(charset, "Given charset is null");
+		if (isDirectCharset(charset))
+		{
+			final char[] chars = getChars();
+			final int length = charSequence.length();
+			int carry = 0;
+			for (int start = 0; start < length;)
+			{
+				final int end = start + Math.min(chars.length - carry, length - start);
+				getChars(charSequence, start, end, chars, carry);
+				carry = encodeDirect(chars, carry + end - start, charset, end == length);
+				start = end;
+			}
+			return this;
+		}
+		final CharsetEncoder encoder = newEncoder(charset);
+		encode(encoder, CharBuffer.wrap(charSequence), true);
+		flush(encoder);
+		return this;
+	}
+
+	/**
+	 * Updates this hasher with the UTF-8 encoded remaining characters of the given {@link Reader}
+	 * object. The given {@link Reader} object is not closed
+	 *
+	 * @param reader
+	 *            the {@link Reader} object
+	 * @return this hasher
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public Hasher update(final Reader reader) throws IOException
+	{
+		return update(reader, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Updates this hasher with the remaining characters of the given {@link Reader} object that
+	 * are encoded with the given {@link Charset} object. The characters are read and encoded in
+	 * blocks like in {@link #update(CharSequence, Charset)}, so large content can be hashed without
+	 * holding it in memory. The given {@link Reader} object is not closed
+	 *
+	 * @param reader
+	 *            the {@link Reader} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @return this hasher
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public Hasher update(final Reader reader, final Charset charset) throws IOException
+	{
+		Objects.requireNonNull(reader, "Given reader is null");
+		Objects.requireNonNull(charset, "Given charset is null");
+		final char[] chars = getChars();
+		if (isDirectCharset(charset))
+		{
+			int carry = 0;
+			int read;
+			while ((read = reader.read(chars, carry, chars.length - carry)) != -1)
+			{
+				carry = encodeDirect(chars, carry + read, charset, false);
+			}
+			encodeDirect(chars, carry, charset, true);
+			return this;
+		}
+		final CharsetEncoder encoder = newEncoder(charset);
+		final CharBuffer input = CharBuffer.wrap(chars);
+		while (reader.read(input) != -1)
+		{
+			encode(encoder, input.flip(), false);
+			input.compact();
+		}
+		encode(encoder, input.flip(), true);
+		flush(encoder);
+		return this;
+	}
+
+	/**
+	 * Updates this hasher with the remaining content of the given {@link InputStream} object. The
+	 * given {@link InputStream} object is not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @return this hasher
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public Hasher update(final InputStream inputStream) throws IOException
+	{
+		Objects.requireNonNull(inputStream, "Given inputStream is null");
+		final byte[] bytes = getBuffer().array();
+		int read;
+		while ((read = inputStream.read(bytes)) != -1)
+		{
+			update(bytes, 0, read);
+		}
+		return this;
+	}
+
+	/**
+	 * Completes the computation and resets this hasher. The checksum of a {@link Checksum}
+	 * algorithm is returned as four bytes in big endian order
+	 *
+	 * @return the checksum as byte array
+	 */
+	public byte[] finish()
+	{
+		if (messageDigest != null)
+		{
+			return messageDigest.digest();
+		}
+		final int value = (int)checksum.getValue();
+		checksum.reset();
+		return new byte[] { (byte)(value >>> 24), (byte)(value >>> 16), (byte)(value >>> 8),
+				(byte)value };
+	}
+
+	/**
+	 * Completes the computation and resets this hasher
+	 *
+	 * @return the checksum as hexadecimal {@link String} object
+	 */
+	public String finishHexString()
+	{
+		return HexExtensions.encodeHex(finish());
+	}
+
+	/**
+	 * Resets this hasher to its initial state
+	 *
+	 * @return this hasher
+	 */
+	public Hasher reset()
+	{
+		if (messageDigest != null)
+		{
+			messageDigest.reset();
+		}
+		else
+		{
+			checksum.reset();
+		}
+		return this;
+	}
+
+	private ByteBuffer getBuffer()
+	{
+		if (buffer == null)
+		{
+			buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		}
+		return buffer;
+	}
+
+	private char[] getChars()
+	{
+		if (chars == null)
+		{
+			chars = new char[CHARS_SIZE];
+		}
+		return chars;
+	}
+
+	private static boolean isDirectCharset(final Charset charset)
+	{
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+			|| charset.equals(StandardCharsets.US_ASCII);
+	}
+
+	private static void getChars(final CharSequence charSequence, final int start, final int end,
+		final char[] chars, final int offset)
+	{
+		if (charSequence instanceof String)
+		{
+			((String)charSequence).getChars(start, end, chars, offset);
+		}
+		else if (charSequence instanceof StringBuilder)
+		{
+			((StringBuilder)charSequence).getChars(start, end, chars, offset);
+		}
+		else
+		{
+			for (int i = start, j = offset; i < end; i++, j++)
+			{
+				chars[j] = charSequence.charAt(i);
+			}
+		}
+	}
+
+	/**
+	 * Encodes the given characters with UTF-8, ISO-8859-1 or US-ASCII into the buffer and
+	 * updates this hasher. Characters that can not be encoded are replaced with '?' like the
+	 * {@link CharsetEncoder} of the charset does. If the input does not end here, a high surrogate
+	 * at the end is kept for the next block
+	 *
+	 * @return the number of characters that are kept at the start of the given char array
+	 */
+	private int encodeDirect(final char[] chars, final int end, final Charset charset,
+		final boolean endOfInput)
+	{
+		final boolean utf8 = charset.equals(StandardCharsets.UTF_8);
+		final int limit = charset.equals(StandardCharsets.ISO_8859_1) ? 0x100 : 0x80;
+		final byte[] bytes = getBuffer().array();
+		final int capacity = bytes.length - 4;
+		int position = 0;
+		int i = 0;
+		while (i < end)
+		{
+			if (capacity < position)
+			{
+				update(bytes, 0, position);
+				position = 0;
+			}
+			final char c = chars[i++];
+			if (c < 0x80)
+			{
+				bytes[position++] = (byte)c;
+			}
+			else if (utf8 && c < 0x800)
+			{
+				bytes[position++] = (byte)(0xC0 | (c >> 6));
+				bytes[position++] = (byte)(0x80 | (c & 0x3F));
+			}
+			else if (!utf8 && c < limit)
+			{
+				bytes[position++] = (byte)c;
+			}
+			else if (!Character.isSurrogate(c))
+			{
+				if (utf8)
+				{
+					bytes[position++] = (byte)(0xE0 | (c >> 12));
+					bytes[position++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+					bytes[position++] = (byte)(0x80 | (c & 0x3F));
+				}
+				else
+				{
+					bytes[position++] = '?';
+				}
+			}
+			else if (Character.isHighSurrogate(c) && i == end && !endOfInput)
+			{
+				// the low surrogate is in the next block
+				i--;
+				break;
+			}
+			else if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(chars[i]))
+			{
+				final int codePoint = Character.toCodePoint(c, chars[i++]);
+				if (utf8)
+				{
+					bytes[position++] = (byte)(0xF0 | (codePoint >> 18));
+					bytes[position++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+					bytes[position++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+					bytes[position++] = (byte)(0x80 | (codePoint & 0x3F));
+				}
+				else
+				{
+					bytes[position++] = '?';
+				}
+			}
+			else
+			{
+				// a malformed surrogate
+				bytes[position++] = '?';
+			}
+		}
+		update(bytes, 0, position);
+		final int carry = end - i;
+		if (0 < carry)
+		{
+			chars[0] = chars[i];
+		}
+		return carry;
+	}
+
+	private static CharsetEncoder newEncoder(final Charset charset)
+	{
+		return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	private void encode(final CharsetEncoder encoder, final CharBuffer input,
+		final boolean endOfInput)
+	{
+		final ByteBuffer output = getBuffer();
+		CoderResult result;
+		do
+		{
+			result = encoder.encode(input, output.clear(), endOfInput);
+			update(output.flip());
+		}
+		while (result.isOverflow());
+	}
+
+	private void flush(final CharsetEncoder encoder)
+	{
+		final ByteBuffer output = getBuffer();
+		CoderResult result;
+		do
+		{
+			result = encoder.flush(output.clear());
+			update(output.flip());
+		}
+		while (result.isOverflow());
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Hasher [" + algorithm + "]";
+	}
+
+}
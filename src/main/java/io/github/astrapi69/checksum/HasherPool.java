@@ -0,0 +1,99 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link HasherPool} caches {@link Hasher} objects per thread, so a stream of small
+ * computations does not create a new hasher for every computation. The returned hasher is reset
+ * and bound to the current thread, it is reused on every call from this thread with the same
+ * algorithm. It must only be used for one computation at a time and must not be handed over to
+ * other threads. Owned hashers are created with the constructors of {@link Hasher}, they clone
+ * their digests from the prototypes of {@link MessageDigestPool}
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class HasherPool
+{
+
+	/**
+	 * The hashers that are bound to the current thread, keyed by the algorithm name
+	 */
+	private static final ThreadLocal<Map<String, Hasher>> THREAD_HASHERS = ThreadLocal
+		.withInitial(HashMap::new);
+
+	private HasherPool()
+	{
+	}
+
+	/**
+	 * Gets the reset {@link Hasher} object for the given {@link Algorithm} object that is bound to
+	 * the current thread
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object, for instance a value of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return the reset {@link Hasher} object for the current thread
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static Hasher getHasher(final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		return getHasher(algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the reset {@link Hasher} object for the given algorithm that is bound to the current
+	 * thread. The returned object is shared by all callers on the current thread, so it must be
+	 * used for one computation at a time only
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "BLAKE3", "CRC32", "CRC32C" or "Adler32"
+	 * @return the reset {@link Hasher} object for the current thread
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static Hasher getHasher(final String algorithm) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		final Map<String, Hasher> hashers = THREAD_HASHERS.get();
+		Hasher hasher = hashers.get(algorithm);
+		if (hasher == null)
+		{
+			hasher = new Hasher(algorithm);
+			hashers.put(algorithm, hasher);
+		}
+		else
+		{
+			hasher.reset();
+		}
+		return hasher;
+	}
+
+}
@@ -0,0 +1,393 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The class {@link HexExtensions} provides table driven algorithms for encoding byte arrays and
+ * checksum values to lower case hexadecimal characters and for decoding and validating hexadecimal
+ * characters of both cases. The encoding methods write directly into correctly sized arrays or
+ * into a given target, so no temporary {@link String} object is created per byte. The decoding
+ * and validation methods look up every character in a table without a branch per character
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class HexExtensions
+{
+
+	/**
+	 * The lower case hexadecimal digits as ASCII bytes
+	 */
+	private static final byte[] HEX_DIGITS = "0123456789abcdef"
+		.getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * The lookup table with the two hexadecimal digits of every byte value. The digits of the byte
+	 * value <code>b</code> are at the indexes <code>2 * b</code> and <code>2 * b + 1</code>
+	 */
+	private static final byte[] HEX_PAIRS = newHexPairs();
+
+	/**
+	 * The lookup table with the value of every hexadecimal ASCII character. All other ASCII
+	 * characters have the value -1
+	 */
+	private static final byte[] HEX_VALUES = newHexValues();
+
+	private HexExtensions()
+	{
+	}
+
+	private static byte[] newHexPairs()
+	{
+		final byte[] pairs = new byte[512];
+		for (int i = 0; i < 256; i++)
+		{
+			pairs[i << 1] = HEX_DIGITS[i >>> 4];
+			pairs[(i << 1) + 1] = HEX_DIGITS[i & 0x0F];
+		}
+		return pairs;
+	}
+
+	private static byte[] newHexValues()
+	{
+		final byte[] values = new byte[128];
+		Arrays.fill(values, (byte)-1);
+		for (int i = 0; i < 16; i++)
+		{
+			values[HEX_DIGITS[i]] = (byte)i;
+			values[Character.toUpperCase(HEX_DIGITS[i])] = (byte)i;
+		}
+		return values;
+	}
+
+	/**
+	 * Encode the given byte array to a hexadecimal {@link String} object
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hexadecimal {@link String} object from the given byte array
+	 */
+	public static String encodeHex(final byte[] bytes)
+	{
+		return encodeHex(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Encode the given range of the given byte array to a hexadecimal {@link String} object
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to encode
+	 * @return the hexadecimal {@link String} object from the given range of the byte array
+	 */
+	public static String encodeHex(final byte[] bytes, final int offset, final int length)
+	{
+		final byte[] target = new byte[length << 1];
+		encodeHex(bytes, offset, length, target, 0);
+		return new String(target, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Encode the given range of the given byte array to hexadecimal ASCII characters and writes
+	 * them to the given target byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to encode
+	 * @param target
+	 *            the target byte array
+	 * @param targetOffset
+	 *            the start offset in the target byte array
+	 * @return the number of written characters, this is always two times of the given length
+	 */
+	public static int encodeHex(final byte[] bytes, final int offset, final int length,
+		final byte[] target, final int targetOffset)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		Objects.checkFromIndexSize(targetOffset, length << 1, target.length);
+		int position = targetOffset;
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			final int index = (bytes[i] & 0xFF) << 1;
+			target[position++] = HEX_PAIRS[index];
+			target[position++] = HEX_PAIRS[index + 1];
+		}
+		return length << 1;
+	}
+
+	/**
+	 * Encode the given range of the given byte array to hexadecimal characters and writes them to
+	 * the given target char array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to encode
+	 * @param target
+	 *            the target char array
+	 * @param targetOffset
+	 *            the start offset in the target char array
+	 * @return the number of written characters, this is always two times of the given length
+	 */
+	public static int encodeHex(final byte[] bytes, final int offset, final int length,
+		final char[] target, final int targetOffset)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		Objects.checkFromIndexSize(targetOffset, length << 1, target.length);
+		int position = targetOffset;
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			final int index = (bytes[i] & 0xFF) << 1;
+			target[position++] = (char)HEX_PAIRS[index];
+			target[position++] = (char)HEX_PAIRS[index + 1];
+		}
+		return length << 1;
+	}
+
+	/**
+	 * Encode the given byte array to hexadecimal characters and appends them to the given
+	 * {@link Appendable} object
+	 *
+	 * @param <A>
+	 *            the generic type of the {@link Appendable} object
+	 * @param bytes
+	 *            the byte array
+	 * @param appendable
+	 *            the {@link Appendable} object to append the characters
+	 * @return the given {@link Appendable} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static <A extends Appendable> A encodeHex(final byte[] bytes, final A appendable)
+		throws IOException
+	{
+		return encodeHex(bytes, 0, bytes.length, appendable);
+	}
+
+	/**
+	 * Encode the given range of the given byte array to hexadecimal characters and appends them to
+	 * the given {@link Appendable} object
+	 *
+	 * @param <A>
+	 *            the generic type of the {@link Appendable} object
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to encode
+	 * @param appendable
+	 *            the {@link Appendable} object to append the characters
+	 * @return the given {@link Appendable} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static <A extends Appendable> A encodeHex(final byte[] bytes, final int offset,
+		final int length, final A appendable) throws IOException
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		Objects.requireNonNull(appendable, "Given appendable is null");
+		if (appendable instanceof StringBuilder)
+		{
+			final StringBuilder stringBuilder = (StringBuilder)appendable;
+			stringBuilder.ensureCapacity(stringBuilder.length() + (length << 1));
+		}
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			final int index = (bytes[i] & 0xFF) << 1;
+			appendable.append((char)HEX_PAIRS[index]);
+			appendable.append((char)HEX_PAIRS[index + 1]);
+		}
+		return appendable;
+	}
+
+	/**
+	 * Encode the given 32 bit value to a hexadecimal {@link String} object with the fixed length
+	 * of eight characters. This is the format for checksum values of {@link java.util.zip.CRC32}
+	 * and {@link java.util.zip.Adler32} objects
+	 *
+	 * @param value
+	 *            the 32 bit value
+	 * @return the hexadecimal {@link String} object with eight characters
+	 */
+	public static String encodeHexInt(final int value)
+	{
+		final byte[] target = new byte[8];
+		encodeHexInt(value, target, 0);
+		return new String(target, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Encode the given 32 bit value to eight hexadecimal ASCII characters and writes them to the
+	 * given target byte array
+	 *
+	 * @param value
+	 *            the 32 bit value
+	 * @param target
+	 *            the target byte array
+	 * @param targetOffset
+	 *            the start offset in the target byte array
+	 * @return the number of written characters, this is always eight
+	 */
+	public static int encodeHexInt(final int value, final byte[] target,
+		final int targetOffset)
+	{
+		Objects.checkFromIndexSize(targetOffset, 8, target.length);
+		for (int shift = 24, position = targetOffset; shift >= 0; shift -= 8)
+		{
+			final int index = ((value >>> shift) & 0xFF) << 1;
+			target[position++] = HEX_PAIRS[index];
+			target[position++] = HEX_PAIRS[index + 1];
+		}
+		return 8;
+	}
+
+	/**
+	 * Encode the given 64 bit value to a hexadecimal {@link String} object with the fixed length
+	 * of sixteen characters
+	 *
+	 * @param value
+	 *            the 64 bit value
+	 * @return the hexadecimal {@link String} object with sixteen characters
+	 */
+	public static String encodeHexLong(final long value)
+	{
+		final byte[] target = new byte[16];
+		encodeHexInt((int)(value >>> 32), target, 0);
+		encodeHexInt((int)value, target, 8);
+		return new String(target, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Checks if the given {@link CharSequence} object consists only of hexadecimal characters of
+	 * lower or upper case. An empty {@link CharSequence} object is valid
+	 *
+	 * @param value
+	 *            the {@link CharSequence} object
+	 * @return true if all characters are hexadecimal characters otherwise false
+	 */
+	public static boolean isHex(final CharSequence value)
+	{
+		return invalidIndex(value) < 0;
+	}
+
+	/**
+	 * Decode the given hexadecimal characters of lower or upper case to a byte array
+	 *
+	 * @param value
+	 *            the hexadecimal characters
+	 * @return the decoded byte array
+	 * @throws IllegalArgumentException
+	 *             is thrown if the number of characters is odd or if a character is no hexadecimal
+	 *             character
+	 */
+	public static byte[] decodeHex(final CharSequence value)
+	{
+		final byte[] target = new byte[value.length() >> 1];
+		decodeHex(value, target, 0);
+		return target;
+	}
+
+	/**
+	 * Decode the given hexadecimal characters of lower or upper case and writes the bytes to the
+	 * given target byte array
+	 *
+	 * @param value
+	 *            the hexadecimal characters
+	 * @param target
+	 *            the target byte array
+	 * @param targetOffset
+	 *            the start offset in the target byte array
+	 * @return the number of written bytes, this is always the half of the number of characters
+	 * @throws IllegalArgumentException
+	 *             is thrown if the number of characters is odd or if a character is no hexadecimal
+	 *             character, in this case the target byte array is not changed
+	 */
+	public static int decodeHex(final CharSequence value, final byte[] target,
+		final int targetOffset)
+	{
+		final int length = value.length();
+		if ((length & 1) != 0)
+		{
+			throw new IllegalArgumentException(
+				"Given value has an odd number of characters: " + length);
+		}
+		Objects.checkFromIndexSize(targetOffset, length >> 1, target.length);
+		// all characters are validated before the first byte is written, so the target byte
+		// array is left unchanged if the value is invalid
+		final int index = invalidIndex(value);
+		if (index >= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given value has no hexadecimal character at index " + index + ": '"
+					+ value.charAt(index) + "'");
+		}
+		for (int i = 0, position = targetOffset; i < length; i += 2)
+		{
+			target[position++] = (byte)(HEX_VALUES[value.charAt(i)] << 4
+				| HEX_VALUES[value.charAt(i + 1)]);
+		}
+		return length >> 1;
+	}
+
+	/**
+	 * Finds the index of the first character that is no hexadecimal character
+	 *
+	 * @return the index of the first invalid character or -1 if all characters are valid
+	 */
+	private static int invalidIndex(final CharSequence value)
+	{
+		final int length = value.length();
+		int invalid = 0;
+		for (int i = 0; i < length; i++)
+		{
+			final int c = value.charAt(i);
+			invalid |= HEX_VALUES[c & 0x7F] | -(c >>> 7);
+		}
+		if (invalid >= 0)
+		{
+			return -1;
+		}
+		for (int i = 0; i < length; i++)
+		{
+			final int c = value.charAt(i);
+			if ((HEX_VALUES[c & 0x7F] | -(c >>> 7)) < 0)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,225 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link IncrementalDirectoryChecksum} computes the same checksum tree as
+ * {@link MerkleDirectoryChecksum}, but keeps a persistent index with the path, size, modification
+ * time, file key and digest of every file. On the next run only files whose metadata has changed
+ * are hashed again, the digests of all other files are taken from the index.<br>
+ * <br>
+ * The index file should be located outside of the hashed directory tree. It is written crash safe
+ * at the end of every successful run and contains only the files of this run, so deleted files are
+ * removed from the index
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public class IncrementalDirectoryChecksum extends MerkleDirectoryChecksum
+{
+
+	/**
+	 * The algorithm for the digests
+	 */
+	private final String algorithm;
+
+	/**
+	 * The path of the index file
+	 */
+	private final Path indexFile;
+
+	/**
+	 * The number of files that were hashed in the last run
+	 */
+	private volatile int hashedCount;
+
+	/**
+	 * The number of files whose digest was taken from the index in the last run
+	 */
+	private volatile int reusedCount;
+
+	/**
+	 * Instantiates a new {@link IncrementalDirectoryChecksum} object that hashes the files with the
+	 * common {@link ForkJoinPool} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @param indexFile
+	 *            the path of the index file
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public IncrementalDirectoryChecksum(final Algorithm algorithm, final Path indexFile)
+		throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm(), indexFile, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Instantiates a new {@link IncrementalDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the digests. This can be for instance "MD2", "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @param indexFile
+	 *            the path of the index file
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public IncrementalDirectoryChecksum(final String algorithm, final Path indexFile,
+		final Executor executor) throws NoSuchAlgorithmException
+	{
+		super(algorithm, executor);
+		this.algorithm = algorithm;
+		this.indexFile = Objects.requireNonNull(indexFile, "Given index file is null");
+	}
+
+	/**
+	 * Computes the checksum tree of the given directory. The index of the previous run is used for
+	 * all unchanged files and is replaced by the index of this run at the end
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @return the root node of the checksum tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public synchronized ChecksumNode getChecksumTree(final Path dirPath) throws IOException
+	{
+		final long startTime = ChecksumIndex.getStartTime(indexFile);
+		final Run run = new Run(dirPath, ChecksumIndex.load(indexFile, algorithm));
+		try
+		{
+			final ChecksumNode root = getChecksumTree(dirPath, run::digestFile);
+			new ChecksumIndex(algorithm, startTime, run.currentEntries).save(indexFile);
+			return root;
+		}
+		finally
+		{
+			hashedCount = run.hashedCount.get();
+			reusedCount = run.reusedCount.get();
+		}
+	}
+
+	/**
+	 * Gets the number of files that were hashed in the last run
+	 *
+	 * @return the number of hashed files
+	 */
+	public int getHashedCount()
+	{
+		return hashedCount;
+	}
+
+	/**
+	 * Gets the number of files whose digest was taken from the index in the last run
+	 *
+	 * @return the number of reused digests
+	 */
+	public int getReusedCount()
+	{
+		return reusedCount;
+	}
+
+	/**
+	 * The state of one run that is shared by the file tasks of the run only
+	 */
+	private final class Run
+	{
+
+		/** The root directory of the run */
+		final Path rootDir;
+
+		/** The index of the previous run */
+		final ChecksumIndex previousIndex;
+
+		/** The entries of this run */
+		final Map<String, ChecksumIndex.Entry> currentEntries;
+
+		/** The number of files that were hashed in this run */
+		final AtomicInteger hashedCount = new AtomicInteger();
+
+		/** The number of files whose digest was taken from the index in this run */
+		final AtomicInteger reusedCount = new AtomicInteger();
+
+		Run(final Path rootDir, final ChecksumIndex previousIndex)
+		{
+			this.rootDir = rootDir;
+			this.previousIndex = previousIndex;
+			this.currentEntries = new ConcurrentHashMap<>(
+				Math.max(16, previousIndex.size() * 4 / 3 + 1));
+		}
+
+		/**
+		 * Gets the digest of the given file from the index if its metadata has not changed,
+		 * otherwise the file is hashed
+		 *
+		 * @param file
+		 *            the path of the file
+		 * @param attributes
+		 *            the attributes of the file
+		 * @return the digest of the file
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		byte[] digestFile(final Path file, final BasicFileAttributes attributes)
+			throws IOException
+		{
+			final String relativePath = ParallelDirectoryChecksum.toRelativePath(rootDir, file);
+			final long size = attributes.size();
+			final long lastModified = attributes.lastModifiedTime().toMillis();
+			final Object key = attributes.fileKey();
+			final String fileKey = key == null ? null : key.toString();
+			ChecksumIndex.Entry entry = previousIndex.getUnchanged(relativePath, size,
+				lastModified, fileKey);
+			if (entry == null)
+			{
+				entry = new ChecksumIndex.Entry(size, lastModified, fileKey,
+					IncrementalDirectoryChecksum.this.digestFile(file, attributes));
+				hashedCount.incrementAndGet();
+			}
+			else
+			{
+				reusedCount.incrementAndGet();
+			}
+			currentEntries.put(relativePath, entry);
+			return entry.digest;
+		}
+	}
+
+}
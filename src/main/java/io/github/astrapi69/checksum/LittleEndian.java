@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * The class {@link LittleEndian} reads and writes primitive values in little endian byte order
+ * from and to byte arrays through {@link VarHandle} objects, so a value is read with a single
+ * memory access instead of assembling it from single bytes
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+final class LittleEndian
+{
+
+	/**
+	 * The view of a byte array as long values in little endian byte order
+	 */
+	private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class,
+		ByteOrder.LITTLE_ENDIAN);
+
+	/**
+	 * The view of a byte array as int values in little endian byte order
+	 */
+	private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class,
+		ByteOrder.LITTLE_ENDIAN);
+
+	private LittleEndian()
+	{
+	}
+
+	/**
+	 * Reads the long value at the given offset of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the offset of the first byte of the value
+	 * @return the long value
+	 */
+	static long readLong(final byte[] bytes, final int offset)
+	{
+		return (long)LONG.get(bytes, offset);
+	}
+
+	/**
+	 * Reads the int value at the given offset of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the offset of the first byte of the value
+	 * @return the int value
+	 */
+	static int readInt(final byte[] bytes, final int offset)
+	{
+		return (int)INT.get(bytes, offset);
+	}
+
+	/**
+	 * Reads the int value at the given offset of the given byte array as unsigned value
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the offset of the first byte of the value
+	 * @return the unsigned int value as long value
+	 */
+	static long readUnsignedInt(final byte[] bytes, final int offset)
+	{
+		return readInt(bytes, offset) & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Writes the given long value at the given offset of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the offset of the first byte of the value
+	 * @param value
+	 *            the long value
+	 */
+	static void writeLong(final byte[] bytes, final int offset, final long value)
+	{
+		LONG.set(bytes, offset, value);
+	}
+
+}
@@ -0,0 +1,166 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+
+/**
+ * The class {@link ManifestResult} holds the result of the verification of one line of a checksum
+ * manifest by {@link ManifestVerifier}
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class ManifestResult
+{
+
+	/**
+	 * The status of a verified line of a checksum manifest
+	 */
+	public enum Status
+	{
+		/** The checksum of the file is equal to the expected checksum */
+		OK,
+		/** The checksum of the file is not equal to the expected checksum */
+		FAILED,
+		/** The file does not exist or is no regular file */
+		MISSING,
+		/** The file exists but can not be read */
+		UNREADABLE,
+		/** The line is no valid line of a checksum manifest */
+		MALFORMED
+	}
+
+	/**
+	 * The number of the line in the manifest, the first line has the number 1
+	 */
+	private final long lineNumber;
+
+	/**
+	 * The file name as it is listed in the manifest or the whole line if the line is malformed
+	 */
+	private final String fileName;
+
+	/**
+	 * The checksum algorithm of the line or null if the line is malformed
+	 */
+	private final ChecksumAlgorithm algorithm;
+
+	/**
+	 * The status of the verification
+	 */
+	private final Status status;
+
+	/**
+	 * Instantiates a new {@link ManifestResult} object
+	 *
+	 * @param lineNumber
+	 *            the number of the line in the manifest
+	 * @param fileName
+	 *            the file name as it is listed in the manifest or the whole line if the line is
+	 *            malformed
+	 * @param algorithm
+	 *            the checksum algorithm of the line or null if the line is malformed
+	 * @param status
+	 *            the status of the verification
+	 */
+	ManifestResult(final long lineNumber, final String fileName,
+		final ChecksumAlgorithm algorithm, final Status status)
+	{
+		this.lineNumber = lineNumber;
+		this.fileName = Objects.requireNonNull(fileName);
+		this.algorithm = algorithm;
+		this.status = Objects.requireNonNull(status);
+	}
+
+	/**
+	 * Gets the number of the line in the manifest, the first line has the number 1
+	 *
+	 * @return the number of the line
+	 */
+	public long getLineNumber()
+	{
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the file name as it is listed in the manifest or the whole line if the line is
+	 * malformed
+	 *
+	 * @return the file name
+	 */
+	public String getFileName()
+	{
+		return fileName;
+	}
+
+	/**
+	 * Gets the checksum algorithm of the line
+	 *
+	 * @return the checksum algorithm or null if the line is malformed
+	 */
+	public ChecksumAlgorithm getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	/**
+	 * Gets the status of the verification
+	 *
+	 * @return the status
+	 */
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	/**
+	 * Checks if the file was verified successfully
+	 *
+	 * @return true if the status is {@link Status#OK} otherwise false
+	 */
+	public boolean isOk()
+	{
+		return status == Status.OK;
+	}
+
+	/**
+	 * Returns the result in the format of the output of <code>sha256sum -c</code>
+	 */
+	@Override
+	public String toString()
+	{
+		switch (status)
+		{
+			case OK :
+				return fileName + ": OK";
+			case FAILED :
+				return fileName + ": FAILED";
+			case MALFORMED :
+				return "line " + lineNumber + ": improperly formatted checksum line";
+			default :
+				return fileName + ": FAILED open or read";
+		}
+	}
+
+}
@@ -0,0 +1,483 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+
+/**
+ * The class {@link ManifestVerifier} verifies the files that are listed in a checksum manifest
+ * like <code>sha256sum -c</code> or <code>md5sum -c</code> does.<br>
+ * <br>
+ * The manifest is read line by line, so manifests with millions of lines can be verified with
+ * constant memory. Every line can have the format of the GNU coreutils with the checksum, two
+ * separator characters and the file name, or the tagged BSD format like
+ * <code>SHA256 (file name) = checksum</code>. The algorithm of a line in the GNU format is
+ * resolved from the length of the checksum with {@link ChecksumExtensions}. A leading backslash
+ * marks a line with an escaped file name like the GNU coreutils write it.<br>
+ * <br>
+ * The files are verified concurrently with the given {@link Executor} object, but not more files
+ * than the maximum concurrency at the same time, so the reading of the manifest does not run far
+ * ahead of the verification. The result of every line is reported as soon as the file is
+ * verified, so the order of the results can differ from the order of the lines
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public class ManifestVerifier
+{
+
+	/**
+	 * The {@link Executor} object that verifies the files
+	 */
+	private final Executor executor;
+
+	/**
+	 * The maximum number of files that are verified at the same time
+	 */
+	private final int maxConcurrency;
+
+	/**
+	 * Instantiates a new {@link ManifestVerifier} object that verifies the files with the common
+	 * {@link ForkJoinPool} object and a maximum concurrency of the number of available processors
+	 */
+	public ManifestVerifier()
+	{
+		this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a new {@link ManifestVerifier} object that verifies the files with the given
+	 * {@link Executor} object
+	 *
+	 * @param executor
+	 *            the {@link Executor} object that verifies the files, for instance a
+	 *            {@link ForkJoinPool} object or an executor with virtual threads
+	 * @param maxConcurrency
+	 *            the maximum number of files that are verified at the same time
+	 */
+	public ManifestVerifier(final Executor executor, final int maxConcurrency)
+	{
+		Objects.requireNonNull(executor, "Given executor is null");
+		if (maxConcurrency <= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given max concurrency must be positive: " + maxConcurrency);
+		}
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Verifies the files that are listed in the given manifest file. Relative file names are
+	 * resolved against the directory of the manifest file
+	 *
+	 * @param manifest
+	 *            the manifest file in UTF-8 encoding
+	 * @param listener
+	 *            the listener that receives the result of every line as soon as it is available,
+	 *            the listener is never called concurrently
+	 * @return true if every listed file is verified successfully and no line is malformed
+	 *         otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred while reading the manifest
+	 */
+	public boolean verify(final Path manifest, final Consumer<ManifestResult> listener)
+		throws IOException
+	{
+		return verify(manifest, manifest.toAbsolutePath().getParent(), listener);
+	}
+
+	/**
+	 * Verifies the files that are listed in the given manifest file. Relative file names are
+	 * resolved against the given base directory
+	 *
+	 * @param manifest
+	 *            the manifest file in UTF-8 encoding
+	 * @param baseDirectory
+	 *            the directory against which relative file names are resolved
+	 * @param listener
+	 *            the listener that receives the result of every line as soon as it is available,
+	 *            the listener is never called concurrently
+	 * @return true if every listed file is verified successfully and no line is malformed
+	 *         otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred while reading the manifest
+	 */
+	public boolean verify(final Path manifest, final Path baseDirectory,
+		final Consumer<ManifestResult> listener) throws IOException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8))
+		{
+			return verify(reader, baseDirectory, listener);
+		}
+	}
+
+	/**
+	 * Verifies the files that are listed in the manifest that is read from the given
+	 * {@link BufferedReader} object, for instance the standard input. Relative file names are
+	 * resolved against the given base directory. The given reader is not closed
+	 *
+	 * @param manifest
+	 *            the {@link BufferedReader} object that reads the manifest
+	 * @param baseDirectory
+	 *            the directory against which relative file names are resolved
+	 * @param listener
+	 *            the listener that receives the result of every line as soon as it is available,
+	 *            the listener is never called concurrently
+	 * @return true if every listed file is verified successfully and no line is malformed
+	 *         otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred while reading the manifest
+	 */
+	public boolean verify(final BufferedReader manifest, final Path baseDirectory,
+		final Consumer<ManifestResult> listener) throws IOException
+	{
+		Objects.requireNonNull(manifest, "Given manifest is null");
+		Objects.requireNonNull(baseDirectory, "Given baseDirectory is null");
+		Objects.requireNonNull(listener, "Given listener is null");
+		final Semaphore permits = new Semaphore(maxConcurrency);
+		final AtomicBoolean verified = new AtomicBoolean(true);
+		final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		final Consumer<ManifestResult> reporter = result -> {
+			if (!result.isOk())
+			{
+				verified.set(false);
+			}
+			synchronized (listener)
+			{
+				listener.accept(result);
+			}
+		};
+		try
+		{
+			readEntries(manifest, baseDirectory, permits, failure, reporter);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Verification of the manifest was interrupted");
+		}
+		finally
+		{
+			// wait until all submitted files are verified, also if reading the manifest failed,
+			// so the listener is never called after this method returns
+			permits.acquireUninterruptibly(maxConcurrency);
+		}
+		if (failure.get() != null)
+		{
+			throw failure.get();
+		}
+		return verified.get();
+	}
+
+	/**
+	 * Reads the entries of the given manifest and submits the verification of every entry to the
+	 * executor
+	 *
+	 * @param manifest
+	 *            the {@link BufferedReader} object that reads the manifest
+	 * @param baseDirectory
+	 *            the directory against which relative file names are resolved
+	 * @param permits
+	 *            the permits that bound the number of pending files
+	 * @param failure
+	 *            the first runtime exception that was thrown by a submitted file
+	 * @param reporter
+	 *            the consumer that receives the result of every line
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred while reading the manifest
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for a permit
+	 */
+	private void readEntries(final BufferedReader manifest, final Path baseDirectory,
+		final Semaphore permits, final AtomicReference<RuntimeException> failure,
+		final Consumer<ManifestResult> reporter) throws IOException, InterruptedException
+	{
+		long lineNumber = 0;
+		String line;
+		while (failure.get() == null && (line = manifest.readLine()) != null)
+		{
+			lineNumber++;
+			if (line.isEmpty())
+			{
+				continue;
+			}
+			final Entry entry = parse(lineNumber, line);
+			if (entry == null)
+			{
+				reporter.accept(new ManifestResult(lineNumber, line, null,
+					ManifestResult.Status.MALFORMED));
+				continue;
+			}
+			permits.acquire();
+			try
+			{
+				executor.execute(() -> {
+					try
+					{
+						reporter.accept(check(entry, baseDirectory));
+					}
+					catch (RuntimeException e)
+					{
+						failure.compareAndSet(null, e);
+					}
+					finally
+					{
+						permits.release();
+					}
+				});
+			}
+			catch (RejectedExecutionException e)
+			{
+				permits.release();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Verifies the file of the given entry
+	 *
+	 * @param entry
+	 *            the parsed line of the manifest
+	 * @param baseDirectory
+	 *            the directory against which relative file names are resolved
+	 * @return the result of the verification
+	 */
+	private static ManifestResult check(final Entry entry, final Path baseDirectory)
+	{
+		final Path file;
+		try
+		{
+			file = baseDirectory.resolve(entry.fileName);
+		}
+		catch (InvalidPathException e)
+		{
+			return entry.toResult(ManifestResult.Status.MISSING);
+		}
+		if (!Files.isRegularFile(file))
+		{
+			return entry.toResult(Files.exists(file)
+				? ManifestResult.Status.UNREADABLE
+				: ManifestResult.Status.MISSING);
+		}
+		try
+		{
+			return entry.toResult(FileChecksumExtensions.verify(file.toFile(), entry.digest,
+				entry.algorithm.getAlgorithm())
+					? ManifestResult.Status.OK
+					: ManifestResult.Status.FAILED);
+		}
+		catch (IOException e)
+		{
+			return entry.toResult(ManifestResult.Status.UNREADABLE);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the checksum algorithms are supported by every java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Parses the given line of a manifest in the GNU or in the tagged BSD format
+	 *
+	 * @param lineNumber
+	 *            the number of the line
+	 * @param line
+	 *            the line without the line terminator
+	 * @return the parsed entry or null if the line is malformed
+	 */
+	static Entry parse(final long lineNumber, final String line)
+	{
+		String value = line;
+		final boolean escaped = value.startsWith("\\");
+		if (escaped)
+		{
+			value = value.substring(1);
+		}
+		final String checksum;
+		String fileName;
+		ChecksumAlgorithm algorithm;
+		final int open = value.indexOf(" (");
+		final int close = value.lastIndexOf(") = ");
+		final ChecksumAlgorithm tagged = 0 < open ? toAlgorithm(value.substring(0, open)) : null;
+		if (tagged != null && open + 2 <= close)
+		{
+			// BSD format: TAG (file name) = checksum
+			fileName = value.substring(open + 2, close);
+			checksum = value.substring(close + 4);
+			algorithm = ChecksumExtensions.findChecksumAlgorithm(checksum).orElse(null);
+			if (algorithm != tagged)
+			{
+				return null;
+			}
+		}
+		else
+		{
+			// GNU format: checksum, a space, a space or an asterisk for binary mode, file name
+			final int separator = value.indexOf(' ');
+			if (separator < 0 || value.length() < separator + 3)
+			{
+				return null;
+			}
+			final char mode = value.charAt(separator + 1);
+			if (mode != ' ' && mode != '*')
+			{
+				return null;
+			}
+			checksum = value.substring(0, separator);
+			fileName = value.substring(separator + 2);
+			algorithm = ChecksumExtensions.findChecksumAlgorithm(checksum).orElse(null);
+			if (algorithm == null)
+			{
+				return null;
+			}
+		}
+		if (escaped)
+		{
+			fileName = unescape(fileName);
+		}
+		if (fileName == null || fileName.isEmpty())
+		{
+			return null;
+		}
+		return new Entry(lineNumber, fileName, algorithm, HexExtensions.decodeHex(checksum));
+	}
+
+	/**
+	 * Maps the given tag of the BSD format to the checksum algorithm
+	 *
+	 * @param tag
+	 *            the tag like SHA256
+	 * @return the checksum algorithm or null if the tag is not known
+	 */
+	private static ChecksumAlgorithm toAlgorithm(final String tag)
+	{
+		switch (tag)
+		{
+			case "MD5" :
+				return ChecksumAlgorithm.MD5;
+			case "SHA1" :
+				return ChecksumAlgorithm.SHA_1;
+			case "SHA256" :
+				return ChecksumAlgorithm.SHA_256;
+			case "SHA384" :
+				return ChecksumAlgorithm.SHA_384;
+			case "SHA512" :
+				return ChecksumAlgorithm.SHA_512;
+			default :
+				return null;
+		}
+	}
+
+	/**
+	 * Unescapes the given file name like the GNU coreutils, a backslash is written as two
+	 * backslashes, a line feed as '\n' and a carriage return as '\r'
+	 *
+	 * @param fileName
+	 *            the escaped file name
+	 * @return the unescaped file name or null if the file name contains an invalid escape sequence
+	 */
+	private static String unescape(final String fileName)
+	{
+		final StringBuilder sb = new StringBuilder(fileName.length());
+		for (int i = 0; i < fileName.length(); i++)
+		{
+			final char c = fileName.charAt(i);
+			if (c != '\\')
+			{
+				sb.append(c);
+				continue;
+			}
+			if (++i == fileName.length())
+			{
+				return null;
+			}
+			switch (fileName.charAt(i))
+			{
+				case '\\' :
+					sb.append('\\');
+					break;
+				case 'n' :
+					sb.append('\n');
+					break;
+				case 'r' :
+					sb.append('\r');
+					break;
+				default :
+					return null;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A parsed line of a manifest
+	 */
+	static final class Entry
+	{
+
+		/** The number of the line */
+		final long lineNumber;
+
+		/** The unescaped file name */
+		final String fileName;
+
+		/** The checksum algorithm */
+		final ChecksumAlgorithm algorithm;
+
+		/** The expected digest */
+		final byte[] digest;
+
+		Entry(final long lineNumber, final String fileName, final ChecksumAlgorithm algorithm,
+			final byte[] digest)
+		{
+			this.lineNumber = lineNumber;
+			this.fileName = fileName;
+			this.algorithm = algorithm;
+			this.digest = digest;
+		}
+
+		ManifestResult toResult(final ManifestResult.Status status)
+		{
+			return new ManifestResult(lineNumber, fileName, algorithm, status);
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * The class {@link MappedBuffers} releases {@link MappedByteBuffer} objects right after usage.
+ * Without an explicit release a mapping stays alive until the buffer is garbage collected, which
+ * can hold a lot of address space and file handles when large files are hashed window by window.
+ * The release is done with the cleaner of the <code>jdk.unsupported</code> module if it is
+ * available, otherwise the mapping is released by the garbage collector as usual. The module is
+ * an optional dependency, so on the module path it must be resolved, for instance with
+ * <code>--add-modules jdk.unsupported</code> if no other module requires it
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+final class MappedBuffers
+{
+
+	/**
+	 * The unsafe instance or null if not available
+	 */
+	private static final Object UNSAFE;
+
+	/**
+	 * The method for invoking the cleaner of a direct buffer or null if not available
+	 */
+	private static final Method INVOKE_CLEANER;
+
+	static
+	{
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try
+		{
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		}
+		catch (ReflectiveOperationException | RuntimeException e)
+		{
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private MappedBuffers()
+	{
+	}
+
+	/**
+	 * Releases the mapping of the given {@link MappedByteBuffer} object. The given buffer and all
+	 * buffers derived from it must not be accessed after this call
+	 *
+	 * @param buffer
+	 *            the {@link MappedByteBuffer} object to release
+	 */
+	static void release(final MappedByteBuffer buffer)
+	{
+		if (INVOKE_CLEANER == null)
+		{
+			return;
+		}
+		try
+		{
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		}
+		catch (ReflectiveOperationException | RuntimeException e)
+		{
+			// the mapping is released by the garbage collector
+		}
+	}
+
+}
@@ -0,0 +1,486 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link MerkleDirectoryChecksum} computes a reproducible checksum tree of a directory.
+ * The digest of every node is computed as follows:
+ * <ul>
+ * <li>a regular file is hashed from its content</li>
+ * <li>a symbolic link is not followed, it is hashed from its target path</li>
+ * <li>a directory is hashed from its entries sorted by the UTF-8 bytes of their names. Every entry
+ * contributes its type marker, the length of its UTF-8 name as four byte big endian value, the
+ * UTF-8 name and its digest</li>
+ * </ul>
+ * Other file types like devices or pipes are skipped. The result depends only on names, types and
+ * contents, so the same tree results in the same digests on every machine and file system. The
+ * files are hashed concurrently with a given {@link Executor} object, but not more files than the
+ * maximum concurrency at the same time. If a file can not be hashed, the pending files are
+ * cancelled and the running ones are awaited before the exception is thrown
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public class MerkleDirectoryChecksum
+{
+
+	/**
+	 * The comparator that sorts names by their UTF-8 bytes
+	 */
+	private static final Comparator<byte[]> UTF8_ORDER = Arrays::compareUnsigned;
+
+	/**
+	 * The algorithm for the {@link MessageDigest} objects
+	 */
+	private final String algorithm;
+
+	/**
+	 * The {@link Executor} object that hashes the files
+	 */
+	private final Executor executor;
+
+	/**
+	 * The maximum number of files that are submitted to the executor and not yet hashed
+	 */
+	private final int maxConcurrency;
+
+	/**
+	 * Instantiates a new {@link MerkleDirectoryChecksum} object that hashes the files with the
+	 * common {@link ForkJoinPool} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public MerkleDirectoryChecksum(final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Instantiates a new {@link MerkleDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} objects. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384" or "SHA-512"
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public MerkleDirectoryChecksum(final String algorithm, final Executor executor)
+		throws NoSuchAlgorithmException
+	{
+		this(algorithm, executor, 4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a new {@link MerkleDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} objects. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384" or "SHA-512"
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files
+	 * @param maxConcurrency
+	 *            the maximum number of files that are submitted to the executor and not yet
+	 *            hashed, this bounds the queued tasks for large directory trees
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public MerkleDirectoryChecksum(final String algorithm, final Executor executor,
+		final int maxConcurrency) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		Objects.requireNonNull(executor, "Given executor is null");
+		if (maxConcurrency <= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given max concurrency must be positive: " + maxConcurrency);
+		}
+		// fail early if the algorithm does not exist
+		MessageDigestPool.newMessageDigest(algorithm);
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Computes the checksum tree of the given directory
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @return the root node of the checksum tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ChecksumNode getChecksumTree(final Path dirPath) throws IOException
+	{
+		return getChecksumTree(dirPath, this::digestFile);
+	}
+
+	/**
+	 * Computes the checksum tree of the given directory with the given {@link FileDigester}
+	 * object, so the state of a run can be passed to the file tasks without mutable fields
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @param fileDigester
+	 *            the {@link FileDigester} object that computes the digests of the files
+	 * @return the root node of the checksum tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	ChecksumNode getChecksumTree(final Path dirPath, final FileDigester fileDigester)
+		throws IOException
+	{
+		if (!Files.isDirectory(dirPath, LinkOption.NOFOLLOW_LINKS))
+		{
+			throw new IOException("Given path is not a directory: " + dirPath);
+		}
+		final PendingNode root = new PendingNode("", "", ChecksumNode.Type.DIRECTORY);
+		final FileTasks tasks = new FileTasks();
+		try
+		{
+			walk(dirPath, root, fileDigester, tasks);
+			// the directory digest is owned by this call, because joining a future can execute
+			// file tasks on the current thread that use the thread bound digest of the pool
+			return root.complete(newMessageDigest());
+		}
+		catch (IOException | RuntimeException | Error e)
+		{
+			tasks.cancel();
+			throw e;
+		}
+		finally
+		{
+			// no task of this run is running or queued after this call returns
+			tasks.await();
+		}
+	}
+
+	/**
+	 * Computes the checksum of the given directory, this is the digest of the root node of the
+	 * checksum tree
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @return the checksum of the given directory as hexadecimal {@link String} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String getChecksum(final Path dirPath) throws IOException
+	{
+		return getChecksumTree(dirPath).getHexDigest();
+	}
+
+	/**
+	 * Computes the digest of the content of the given regular file
+	 *
+	 * @param file
+	 *            the path of the file
+	 * @param attributes
+	 *            the attributes of the file
+	 * @return the digest of the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	protected byte[] digestFile(final Path file, final BasicFileAttributes attributes)
+		throws IOException
+	{
+		final MessageDigest messageDigest = getMessageDigest();
+		final byte[] buffer = new byte[(int)Math.max(1,
+			Math.min(FileChecksumExtensions.DEFAULT_BUFFER_SIZE, attributes.size()))];
+		FileChecksumExtensions.update(messageDigest, file, buffer);
+		return messageDigest.digest();
+	}
+
+	private void walk(final Path dirPath, final PendingNode directory,
+		final FileDigester fileDigester, final FileTasks tasks) throws IOException
+	{
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(dirPath))
+		{
+			for (Path entry : entries)
+			{
+				final String name = entry.getFileName().toString();
+				final String relativePath = directory.relativePath.isEmpty()
+					? name
+					: directory.relativePath + "/" + name;
+				final BasicFileAttributes attributes = Files.readAttributes(entry,
+					BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+				if (attributes.isDirectory())
+				{
+					final PendingNode child = new PendingNode(name, relativePath,
+						ChecksumNode.Type.DIRECTORY);
+					walk(entry, child, fileDigester, tasks);
+					directory.children.add(child);
+				}
+				else if (attributes.isRegularFile())
+				{
+					final PendingNode child = new PendingNode(name, relativePath,
+						ChecksumNode.Type.FILE);
+					child.digest = tasks.submit(() -> {
+						try
+						{
+							return fileDigester.digest(entry, attributes);
+						}
+						catch (IOException e)
+						{
+							throw new UncheckedIOException(e);
+						}
+					});
+					directory.children.add(child);
+				}
+				else if (attributes.isSymbolicLink())
+				{
+					final PendingNode child = new PendingNode(name, relativePath,
+						ChecksumNode.Type.SYMBOLIC_LINK);
+					final MessageDigest messageDigest = getMessageDigest();
+					messageDigest.update(Files.readSymbolicLink(entry).toString()
+						.getBytes(StandardCharsets.UTF_8));
+					child.digest = CompletableFuture.completedFuture(messageDigest.digest());
+					directory.children.add(child);
+				}
+			}
+		}
+		directory.children.sort((first, second) -> UTF8_ORDER.compare(first.nameBytes,
+			second.nameBytes));
+	}
+
+	private MessageDigest getMessageDigest()
+	{
+		try
+		{
+			return MessageDigestPool.getMessageDigest(algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked in the constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MessageDigest newMessageDigest()
+	{
+		try
+		{
+			return MessageDigestPool.newMessageDigest(algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked in the constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Computes the digest of a regular file for a run of
+	 * {@link MerkleDirectoryChecksum#getChecksumTree(Path, FileDigester)}
+	 */
+	@FunctionalInterface
+	interface FileDigester
+	{
+
+		/**
+		 * Computes the digest of the content of the given regular file
+		 *
+		 * @param file
+		 *            the path of the file
+		 * @param attributes
+		 *            the attributes of the file
+		 * @return the digest of the file
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		byte[] digest(Path file, BasicFileAttributes attributes) throws IOException;
+	}
+
+	/**
+	 * The file tasks of one run that are bounded by the maximum concurrency
+	 */
+	private final class FileTasks
+	{
+
+		/** The permits for the tasks that are submitted and not yet finished */
+		final Semaphore permits = new Semaphore(maxConcurrency);
+
+		/** The futures of all submitted tasks */
+		final List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+
+		/** The first future that failed or null if no task failed */
+		final AtomicReference<CompletableFuture<byte[]>> failed = new AtomicReference<>();
+
+		CompletableFuture<byte[]> submit(final Supplier<byte[]> task) throws IOException
+		{
+			try
+			{
+				permits.acquire();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Hashing of the directory was interrupted");
+			}
+			if (failed.get() != null)
+			{
+				// the walk stops at the first failed file
+				permits.release();
+				PendingNode.join(failed.get());
+			}
+			final CompletableFuture<byte[]> future;
+			try
+			{
+				// the permit is released when the executor has run the task, even if the future
+				// was cancelled before and the task is skipped
+				future = CompletableFuture.supplyAsync(task, command -> executor.execute(() -> {
+					try
+					{
+						command.run();
+					}
+					finally
+					{
+						permits.release();
+					}
+				}));
+			}
+			catch (RuntimeException e)
+			{
+				permits.release();
+				throw e;
+			}
+			futures.add(future);
+			future.whenComplete((digest, exception) -> {
+				if (exception != null)
+				{
+					failed.compareAndSet(null, future);
+				}
+			});
+			return future;
+		}
+
+		void cancel()
+		{
+			for (CompletableFuture<byte[]> future : futures)
+			{
+				future.cancel(false);
+			}
+		}
+
+		void await()
+		{
+			permits.acquireUninterruptibly(maxConcurrency);
+			permits.release(maxConcurrency);
+		}
+	}
+
+	/**
+	 * A node of the checksum tree whose file digest may still be computed
+	 */
+	private static final class PendingNode
+	{
+		final String name;
+		final byte[] nameBytes;
+		final String relativePath;
+		final ChecksumNode.Type type;
+		final List<PendingNode> children = new ArrayList<>();
+		CompletableFuture<byte[]> digest;
+
+		PendingNode(final String name, final String relativePath, final ChecksumNode.Type type)
+		{
+			this.name = name;
+			this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+			this.relativePath = relativePath;
+			this.type = type;
+		}
+
+		ChecksumNode complete(final MessageDigest messageDigest) throws IOException
+		{
+			if (type != ChecksumNode.Type.DIRECTORY)
+			{
+				return new ChecksumNode(name, relativePath, type, join(digest), List.of());
+			}
+			final List<ChecksumNode> completed = new ArrayList<>(children.size());
+			for (PendingNode child : children)
+			{
+				completed.add(child.complete(messageDigest));
+			}
+			messageDigest.reset();
+			final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+			for (int i = 0; i < completed.size(); i++)
+			{
+				final ChecksumNode child = completed.get(i);
+				final byte[] childNameBytes = children.get(i).nameBytes;
+				messageDigest.update(child.getType().getMarker());
+				messageDigest.update(length.clear().putInt(childNameBytes.length).array());
+				messageDigest.update(childNameBytes);
+				messageDigest.update(child.getDigest());
+			}
+			return new ChecksumNode(name, relativePath, type, messageDigest.digest(), completed);
+		}
+
+		private static byte[] join(final CompletableFuture<byte[]> future) throws IOException
+		{
+			try
+			{
+				return future.join();
+			}
+			catch (CompletionException e)
+			{
+				if (e.getCause() instanceof UncheckedIOException)
+				{
+					throw ((UncheckedIOException)e.getCause()).getCause();
+				}
+				throw e;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,185 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link MessageDigestPool} caches {@link MessageDigest} objects so that the provider
+ * lookup of {@link MessageDigest#getInstance(String)} is done only once per algorithm.<br>
+ * <br>
+ * Two kinds of access are provided:
+ * <ul>
+ * <li>{@link #getMessageDigest(String)} returns a reset digest that is bound to the current thread
+ * and is reused on every call from this thread. It must only be used for one computation at a time
+ * and must not be handed over to other threads</li>
+ * <li>{@link #newMessageDigest(String)} returns a new digest that is owned by the caller. It is
+ * cloned from a cached prototype if the provider supports cloning</li>
+ * </ul>
+ * The algorithm {@link Blake3#ALGORITHM} is provided by this library if no installed provider
+ * supports it
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class MessageDigestPool
+{
+
+	/**
+	 * The prototypes for cloning, keyed by the algorithm name
+	 */
+	private static final ConcurrentMap<String, MessageDigest> PROTOTYPES = new ConcurrentHashMap<>();
+
+	/**
+	 * The digests that are bound to the current thread, keyed by the algorithm name
+	 */
+	private static final ThreadLocal<Map<String, MessageDigest>> THREAD_DIGESTS = ThreadLocal
+		.withInitial(HashMap::new);
+
+	private MessageDigestPool()
+	{
+	}
+
+	/**
+	 * Gets the reset {@link MessageDigest} object for the given {@link Algorithm} object that is
+	 * bound to the current thread
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return the reset {@link MessageDigest} object for the current thread
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static MessageDigest getMessageDigest(final Algorithm algorithm)
+		throws NoSuchAlgorithmException
+	{
+		return getMessageDigest(algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the reset {@link MessageDigest} object for the given algorithm that is bound to the
+	 * current thread. The returned object is shared by all callers on the current thread, so it
+	 * must be used for one computation at a time only
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} object. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384", "SHA-512" or "BLAKE3"
+	 * @return the reset {@link MessageDigest} object for the current thread
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static MessageDigest getMessageDigest(final String algorithm)
+		throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		final Map<String, MessageDigest> digests = THREAD_DIGESTS.get();
+		MessageDigest messageDigest = digests.get(algorithm);
+		if (messageDigest == null)
+		{
+			messageDigest = newMessageDigest(algorithm);
+			digests.put(algorithm, messageDigest);
+		}
+		else
+		{
+			messageDigest.reset();
+		}
+		return messageDigest;
+	}
+
+	/**
+	 * Creates a new {@link MessageDigest} object for the given {@link Algorithm} object that is
+	 * owned by the caller
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return the new {@link MessageDigest} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static MessageDigest newMessageDigest(final Algorithm algorithm)
+		throws NoSuchAlgorithmException
+	{
+		return newMessageDigest(algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Creates a new {@link MessageDigest} object for the given algorithm that is owned by the
+	 * caller. The new object is cloned from a cached prototype if the provider supports cloning,
+	 * otherwise it is created with {@link MessageDigest#getInstance(String)}
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} object. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384", "SHA-512" or "BLAKE3"
+	 * @return the new {@link MessageDigest} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static MessageDigest newMessageDigest(final String algorithm)
+		throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		MessageDigest prototype = PROTOTYPES.get(algorithm);
+		if (prototype == null)
+		{
+			prototype = getInstance(algorithm);
+			final MessageDigest existing = PROTOTYPES.putIfAbsent(algorithm, prototype);
+			if (existing != null)
+			{
+				prototype = existing;
+			}
+		}
+		try
+		{
+			// the prototype is never updated, so a clone is always in its initial state
+			return (MessageDigest)prototype.clone();
+		}
+		catch (CloneNotSupportedException e)
+		{
+			return getInstance(algorithm);
+		}
+	}
+
+	private static MessageDigest getInstance(final String algorithm)
+		throws NoSuchAlgorithmException
+	{
+		try
+		{
+			return MessageDigest.getInstance(algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			if (Blake3.ALGORITHM.equalsIgnoreCase(algorithm))
+			{
+				return new Blake3MessageDigest();
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,350 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link MultiChecksumExtensions} provides algorithms for computing the checksums of
+ * several algorithms in a single pass over a byte array, an {@link InputStream} object or a file.
+ * Every block of the input is read once and passed to all requested algorithms, so publishing for
+ * instance MD5, SHA-1, SHA-256 and CRC32 checksums of a file needs only one read of the file.<br>
+ * <br>
+ * The algorithms can be any message digest algorithm and the checksum algorithms of
+ * {@link ZipChecksumAlgorithm}. If several expensive algorithms are requested the updates can be
+ * distributed on the threads of an {@link Executor} object, while the next block is read
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class MultiChecksumExtensions
+{
+
+	private MultiChecksumExtensions()
+	{
+	}
+
+	/**
+	 * Gets the checksums of the given byte array with the given algorithms
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param algorithms
+	 *            the {@link Algorithm} objects, for instance values of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 */
+	public static ChecksumResult getChecksums(final byte[] bytes, final Algorithm... algorithms)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksums(bytes, toNames(algorithms));
+	}
+
+	/**
+	 * Gets the checksums of the given byte array with the given algorithms
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param algorithms
+	 *            the names of the algorithms. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "CRC32", "CRC32C" or "Adler32"
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 */
+	public static ChecksumResult getChecksums(final byte[] bytes,
+		final Collection<String> algorithms) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(bytes, "Given byte array is null");
+		final List<Hasher> hashers = newHashers(algorithms);
+		for (Hasher hasher : hashers)
+		{
+			hasher.update(bytes, 0, bytes.length);
+		}
+		return toResult(hashers);
+	}
+
+	/**
+	 * Gets the checksums of the remaining content of the given {@link InputStream} object with the
+	 * given algorithms. The given {@link InputStream} object is not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @param algorithms
+	 *            the {@link Algorithm} objects, for instance values of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final InputStream inputStream,
+		final Algorithm... algorithms) throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksums(inputStream, toNames(algorithms),
+			FileChecksumExtensions.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the checksums of the remaining content of the given {@link InputStream} object with the
+	 * given algorithms. The given {@link InputStream} object is not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @param algorithms
+	 *            the names of the algorithms. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "CRC32", "CRC32C" or "Adler32"
+	 * @param bufferSize
+	 *            the size of the buffer for reading the {@link InputStream} object
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final InputStream inputStream,
+		final Collection<String> algorithms, final int bufferSize)
+		throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(inputStream, "Given input stream is null");
+		final byte[] buffer = FileChecksumExtensions.newBuffer(bufferSize);
+		final List<Hasher> hashers = newHashers(algorithms);
+		int read;
+		while ((read = inputStream.read(buffer)) != -1)
+		{
+			for (Hasher hasher : hashers)
+			{
+				hasher.update(buffer, 0, read);
+			}
+		}
+		return toResult(hashers);
+	}
+
+	/**
+	 * Gets the checksums of the remaining content of the given {@link InputStream} object with the
+	 * given algorithms. Every algorithm is updated on a thread of the given {@link Executor} object
+	 * while the next block is read. The blocks are passed to every algorithm in the order they are
+	 * read. The given {@link InputStream} object is not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @param algorithms
+	 *            the names of the algorithms. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "CRC32", "CRC32C" or "Adler32"
+	 * @param bufferSize
+	 *            the size of the buffers for reading the {@link InputStream} object
+	 * @param executor
+	 *            the {@link Executor} object that updates the algorithms
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final InputStream inputStream,
+		final Collection<String> algorithms, final int bufferSize, final Executor executor)
+		throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(inputStream, "Given input stream is null");
+		Objects.requireNonNull(executor, "Given executor is null");
+		// two buffers, so the next block is read while the algorithms process the current block
+		final byte[][] buffers = { FileChecksumExtensions.newBuffer(bufferSize),
+				FileChecksumExtensions.newBuffer(bufferSize) };
+		final List<Hasher> hashers = newHashers(algorithms);
+		final CompletableFuture<?>[] tails = new CompletableFuture<?>[hashers.size()];
+		Arrays.fill(tails, CompletableFuture.completedFuture(null));
+		final CompletableFuture<?>[] released = { tails[0], tails[0] };
+		int index = 0;
+		int read;
+		while (true)
+		{
+			join(released[index]);
+			final byte[] buffer = buffers[index];
+			if ((read = inputStream.read(buffer)) == -1)
+			{
+				break;
+			}
+			final int length = read;
+			for (int i = 0; i < tails.length; i++)
+			{
+				final Hasher hasher = hashers.get(i);
+				tails[i] = tails[i].thenRunAsync(() -> hasher.update(buffer, 0, length), executor);
+			}
+			released[index] = CompletableFuture.allOf(tails.clone());
+			index ^= 1;
+		}
+		join(CompletableFuture.allOf(tails));
+		return toResult(hashers);
+	}
+
+	/**
+	 * Gets the checksums of the given {@link File} object with the given algorithms
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithms
+	 *            the {@link Algorithm} objects, for instance values of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final File file, final Algorithm... algorithms)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksums(file, toNames(algorithms));
+	}
+
+	/**
+	 * Gets the checksums of the given {@link File} object with the given algorithms
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithms
+	 *            the names of the algorithms. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "CRC32", "CRC32C" or "Adler32"
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final File file, final Collection<String> algorithms)
+		throws NoSuchAlgorithmException, IOException
+	{
+		final Path path = file.toPath();
+		try (InputStream inputStream = Files.newInputStream(path))
+		{
+			return getChecksums(inputStream, algorithms, getBufferSize(path));
+		}
+	}
+
+	/**
+	 * Gets the checksums of the given {@link File} object with the given algorithms. Every
+	 * algorithm is updated on a thread of the given {@link Executor} object while the next block
+	 * of the file is read
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param algorithms
+	 *            the names of the algorithms. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "CRC32", "CRC32C" or "Adler32"
+	 * @param executor
+	 *            the {@link Executor} object that updates the algorithms
+	 * @return the {@link ChecksumResult} object with the checksums keyed by algorithm
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if an algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ChecksumResult getChecksums(final File file, final Collection<String> algorithms,
+		final Executor executor) throws NoSuchAlgorithmException, IOException
+	{
+		final Path path = file.toPath();
+		try (InputStream inputStream = Files.newInputStream(path))
+		{
+			return getChecksums(inputStream, algorithms, getBufferSize(path), executor);
+		}
+	}
+
+	private static int getBufferSize(final Path path) throws IOException
+	{
+		return (int)Math.max(1,
+			Math.min(FileChecksumExtensions.DEFAULT_BUFFER_SIZE, Files.size(path)));
+	}
+
+	private static List<String> toNames(final Algorithm... algorithms)
+	{
+		final List<String> names = new ArrayList<>(algorithms.length);
+		for (Algorithm algorithm : algorithms)
+		{
+			names.add(algorithm.getAlgorithm());
+		}
+		return names;
+	}
+
+	private static List<Hasher> newHashers(final Collection<String> algorithms)
+		throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithms, "Given algorithms are null");
+		if (algorithms.isEmpty())
+		{
+			throw new IllegalArgumentException("Given algorithms are empty");
+		}
+		final List<Hasher> hashers = new ArrayList<>(algorithms.size());
+		for (String algorithm : new LinkedHashSet<>(algorithms))
+		{
+			// owned hashers, the pooled hashers are bound to the calling thread
+			hashers.add(new Hasher(algorithm));
+		}
+		return hashers;
+	}
+
+	private static ChecksumResult toResult(final List<Hasher> hashers)
+	{
+		final Map<String, byte[]> digests = new LinkedHashMap<>();
+		for (Hasher hasher : hashers)
+		{
+			digests.put(hasher.getAlgorithm(), hasher.finish());
+		}
+		return new ChecksumResult(digests);
+	}
+
+	private static void join(final CompletableFuture<?> future)
+	{
+		try
+		{
+			future.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			throw e;
+		}
+	}
+
+}
@@ -23,16 +23,24 @@ package io.github.astrapi69.checksum;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 
 import io.github.astrapi69.crypt.api.algorithm.Algorithm;
 
 /**
  * The class {@link ObjectChecksumExtensions} provides algorithms for computing checksum from
- * objects
+ * objects. The serialized form of the objects is written directly into the {@link MessageDigest}
+ * or {@link Checksum} object, so no byte array with the whole serialized object graph is created
  *
  * @author Asterios Raptis
  * @version 1.0
@@ -108,9 +116,9 @@ public final class ObjectChecksumExtensions
 	public static <T extends Serializable> long getChecksum(final T serializableObject,
 		final boolean crc) throws IOException
 	{
-		return crc
-			? ByteArrayChecksumExtensions.getCheckSumCRC32(toByteArray(serializableObject))
-			: ByteArrayChecksumExtensions.getCheckSumAdler32(toByteArray(serializableObject));
+		final Checksum checksum = crc ? new CRC32() : new Adler32();
+		update(checksum, serializableObject);
+		return checksum.getValue();
 	}
 
 	/**
@@ -131,10 +139,47 @@ public final class ObjectChecksumExtensions
 	public static <T extends Serializable> String getChecksumHexString(final T serializableObject,
 		final boolean crc) throws IOException
 	{
-		return crc
-			? ByteArrayChecksumExtensions.getCheckSumCRC32HexString(toByteArray(serializableObject))
-			: ByteArrayChecksumExtensions
-				.getCheckSumAdler32HexString(toByteArray(serializableObject));
+		return HexExtensions.encodeHexInt((int)getChecksum(serializableObject, crc));
+	}
+
+	/**
+	 * Gets the checksum from the given serializable object with an instance of
+	 * <code>java.util.zip.CRC32C</code>. The checksum is computed with the hardware accelerated
+	 * CRC32C instructions of the processor if they are available
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @return The checksum from the given serializable object as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static <T extends Serializable> long getCheckSumCRC32C(final T serializableObject)
+		throws IOException
+	{
+		final Checksum checksum = new CRC32C();
+		update(checksum, serializableObject);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the checksum as hexadecimal string from the given serializable object with an instance
+	 * of <code>java.util.zip.CRC32C</code>
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @return The checksum from the given serializable object as hex {@link String} object with
+	 *         eight characters
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static <T extends Serializable> String getCheckSumCRC32CHexString(
+		final T serializableObject) throws IOException
+	{
+		return HexExtensions.encodeHexInt((int)getCheckSumCRC32C(serializableObject));
 	}
 
 	/**
@@ -149,18 +194,78 @@ public final class ObjectChecksumExtensions
 	 *             Signals that an I/O exception has occurred.
 	 */
 	@SafeVarargs
+	@SuppressWarnings("varargs")
 	public static <T extends Serializable> byte[] toByteArray(final T... objects) throws IOException
 	{
 		Objects.requireNonNull(objects);
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		// the varargs warning is suppressed, writeObjects only reads the elements of the array
+		writeObjects(byteArrayOutputStream, objects);
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	/**
+	 * Updates the given {@link MessageDigest} object with the serialized form of the given objects.
+	 * The objects are serialized with one {@link ObjectOutputStream} object directly into the
+	 * digest, so the result is equal to updating it with the byte array of
+	 * {@link #toByteArray(Serializable...)}
+	 *
+	 * @param <T>
+	 *            the generic type of the given objects
+	 * @param messageDigest
+	 *            the {@link MessageDigest} object to update
+	 * @param objects
+	 *            the objects to serialize
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public static <T extends Serializable> void update(final MessageDigest messageDigest,
+		final T... objects) throws IOException
+	{
+		Objects.requireNonNull(messageDigest);
+		Objects.requireNonNull(objects);
+		// the varargs warning is suppressed, writeObjects only reads the elements of the array
+		writeObjects(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest),
+			objects);
+	}
+
+	/**
+	 * Updates the given {@link Checksum} object with the serialized form of the given objects. The
+	 * objects are serialized with one {@link ObjectOutputStream} object directly into the
+	 * checksum, so the result is equal to updating it with the byte array of
+	 * {@link #toByteArray(Serializable...)}
+	 *
+	 * @param <T>
+	 *            the generic type of the given objects
+	 * @param checksum
+	 *            the {@link Checksum} object to update
+	 * @param objects
+	 *            the objects to serialize
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs")
+	public static <T extends Serializable> void update(final Checksum checksum,
+		final T... objects) throws IOException
+	{
+		Objects.requireNonNull(checksum);
+		Objects.requireNonNull(objects);
+		// the varargs warning is suppressed, writeObjects only reads the elements of the array
+		writeObjects(new CheckedOutputStream(OutputStream.nullOutputStream(), checksum), objects);
+	}
+
+	private static void writeObjects(final OutputStream outputStream,
+		final Serializable[] objects) throws IOException
+	{
+		try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream))
 		{
-			for (T serializableObject : objects)
+			for (Serializable serializableObject : objects)
 			{
 				objectOutputStream.writeObject(serializableObject);
 			}
-			objectOutputStream.flush();
-			return byteArrayOutputStream.toByteArray();
 		}
 	}
 
@@ -190,10 +295,11 @@ public final class ObjectChecksumExtensions
 		final T serializableObject, final E anotherSerializableObject, final String algorithm)
 		throws NoSuchAlgorithmException, IOException
 	{
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		outputStream.write(toByteArray(serializableObject));
-		outputStream.write(toByteArray(anotherSerializableObject));
-		return ByteArrayChecksumExtensions.getChecksum(outputStream.toByteArray(), algorithm);
+		// every object is serialized with its own stream like in two calls of toByteArray
+		final MessageDigest messageDigest = MessageDigestPool.newMessageDigest(algorithm);
+		update(messageDigest, serializableObject);
+		update(messageDigest, anotherSerializableObject);
+		return HexExtensions.encodeHex(messageDigest.digest());
 	}
 
 	/**
@@ -218,7 +324,123 @@ public final class ObjectChecksumExtensions
 	public static <T extends Serializable> String getChecksum(final String algorithm,
 		final T... serializableObjects) throws NoSuchAlgorithmException, IOException
 	{
-		return ByteArrayChecksumExtensions.getChecksum(toByteArray(serializableObjects), algorithm);
+		// an owned digest, the serialization can call code that uses the pooled digests
+		final MessageDigest messageDigest = MessageDigestPool.newMessageDigest(algorithm);
+		update(messageDigest, serializableObjects);
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	/**
+	 * Verifies the given serializable object against the given expected checksum. The algorithm is
+	 * resolved from the length of the expected checksum with
+	 * {@link ChecksumExtensions#resolveChecksumAlgorithm(String)}
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static <T extends Serializable> boolean verify(final T serializableObject,
+		final String expectedChecksum) throws NoSuchAlgorithmException, IOException
+	{
+		return verify(serializableObject, expectedChecksum,
+			ChecksumExtensions.resolveChecksumAlgorithm(expectedChecksum).getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given serializable object against the given expected checksum with the given
+	 * {@link Algorithm} object
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static <T extends Serializable> boolean verify(final T serializableObject,
+		final String expectedChecksum, final Algorithm algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return verify(serializableObject, expectedChecksum, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given serializable object against the given expected checksum with the given
+	 * algorithm. The expected checksum is decoded once and compared with the computed digest, the
+	 * computed digest is not encoded to a hexadecimal {@link String} object
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static <T extends Serializable> boolean verify(final T serializableObject,
+		final String expectedChecksum, final String algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return verify(serializableObject, HexExtensions.decodeHex(expectedChecksum), algorithm);
+	}
+
+	/**
+	 * Verifies the given serializable object against the given expected digest with the given
+	 * algorithm. The digests are compared with {@link MessageDigest#isEqual(byte[], byte[])} in a
+	 * time that does not depend on the position of the first different byte
+	 *
+	 * @param <T>
+	 *            the generic type of the serializable object
+	 * @param serializableObject
+	 *            the serializable object
+	 * @param expectedDigest
+	 *            the expected digest
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the digest is equal to the expected digest otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static <T extends Serializable> boolean verify(final T serializableObject,
+		final byte[] expectedDigest, final String algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(expectedDigest, "Given expectedDigest is null");
+		// an owned digest, the serialization can call code that uses the pooled digests
+		final MessageDigest messageDigest = MessageDigestPool.newMessageDigest(algorithm);
+		update(messageDigest, serializableObject);
+		return MessageDigest.isEqual(expectedDigest, messageDigest.digest());
 	}
 
 }
@@ -0,0 +1,338 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link ParallelDirectoryChecksum} computes the checksum of a directory by hashing the
+ * files of the directory tree concurrently with a given {@link Executor} object.<br>
+ * <br>
+ * Every regular file is hashed on its own. The digests of the files are then combined in the order
+ * of the relative file paths, so the same directory tree results always in the same checksum
+ * regardless of how the tasks are scheduled. The combined digest is computed over the relative
+ * path of every file with '/' as separator in UTF-8 encoding, followed by a zero byte and the
+ * digest of the file
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public class ParallelDirectoryChecksum
+{
+
+	/**
+	 * The algorithm for the {@link MessageDigest} objects
+	 */
+	private final String algorithm;
+
+	/**
+	 * The {@link Executor} object that hashes the files
+	 */
+	private final Executor executor;
+
+	/**
+	 * The size of the buffer for reading the files
+	 */
+	private final int bufferSize;
+
+	/**
+	 * The maximum number of files that are hashed ahead of the combining digest
+	 */
+	private final int maxConcurrency;
+
+	/**
+	 * Instantiates a new {@link ParallelDirectoryChecksum} object that hashes the files with the
+	 * common {@link ForkJoinPool} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ParallelDirectoryChecksum(final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Instantiates a new {@link ParallelDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files, for instance a
+	 *            {@link ForkJoinPool} object or an executor with virtual threads
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ParallelDirectoryChecksum(final Algorithm algorithm, final Executor executor)
+		throws NoSuchAlgorithmException
+	{
+		this(algorithm.getAlgorithm(), executor);
+	}
+
+	/**
+	 * Instantiates a new {@link ParallelDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} objects. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384" or "SHA-512"
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files, for instance a
+	 *            {@link ForkJoinPool} object or an executor with virtual threads
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ParallelDirectoryChecksum(final String algorithm, final Executor executor)
+		throws NoSuchAlgorithmException
+	{
+		this(algorithm, executor, FileChecksumExtensions.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link ParallelDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} objects. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384" or "SHA-512"
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files, for instance a
+	 *            {@link ForkJoinPool} object or an executor with virtual threads
+	 * @param bufferSize
+	 *            the size of the buffer for reading a file
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ParallelDirectoryChecksum(final String algorithm, final Executor executor,
+		final int bufferSize) throws NoSuchAlgorithmException
+	{
+		this(algorithm, executor, bufferSize, 4 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a new {@link ParallelDirectoryChecksum} object that hashes the files with the
+	 * given {@link Executor} object
+	 *
+	 * @param algorithm
+	 *            the algorithm for the {@link MessageDigest} objects. This can be for instance
+	 *            "MD2", "MD5", "SHA-1", "SHA-256", "SHA-384" or "SHA-512"
+	 * @param executor
+	 *            the {@link Executor} object that hashes the files, for instance a
+	 *            {@link ForkJoinPool} object or an executor with virtual threads
+	 * @param bufferSize
+	 *            the size of the buffer for reading a file
+	 * @param maxConcurrency
+	 *            the maximum number of files that are submitted to the executor and not yet
+	 *            combined, this bounds the memory for large directory trees
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public ParallelDirectoryChecksum(final String algorithm, final Executor executor,
+		final int bufferSize, final int maxConcurrency) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(algorithm, "Given algorithm is null");
+		Objects.requireNonNull(executor, "Given executor is null");
+		if (bufferSize <= 0)
+		{
+			throw new IllegalArgumentException("Given buffer size must be positive: " + bufferSize);
+		}
+		if (maxConcurrency <= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given max concurrency must be positive: " + maxConcurrency);
+		}
+		// fail early if the algorithm does not exist
+		MessageDigestPool.newMessageDigest(algorithm);
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.bufferSize = bufferSize;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Computes the checksum of the given directory
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @return the checksum of the given directory as hexadecimal {@link String} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String getChecksum(final Path dirPath) throws IOException
+	{
+		final TreeMap<String, Path> files = listFiles(dirPath);
+		// the combining digest is owned by this call, because joining a future can execute file
+		// tasks on the current thread that use the thread bound digest of the pool
+		final MessageDigest messageDigest = newMessageDigest();
+		// a sliding window of the files in the combining order, so the number of pending tasks
+		// and of finished but not yet combined digests never exceeds the max concurrency
+		final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>(maxConcurrency);
+		final Iterator<Path> iterator = files.values().iterator();
+		try
+		{
+			for (String relativePath : files.keySet())
+			{
+				while (pending.size() < maxConcurrency && iterator.hasNext())
+				{
+					final Path file = iterator.next();
+					pending.add(CompletableFuture.supplyAsync(() -> digest(file), executor));
+				}
+				messageDigest.update(relativePath.getBytes(StandardCharsets.UTF_8));
+				messageDigest.update((byte)0);
+				messageDigest.update(join(pending.remove()));
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			// the files that are not yet hashed are skipped by the executor
+			for (CompletableFuture<byte[]> future : pending)
+			{
+				future.cancel(false);
+			}
+			throw e;
+		}
+		return HexExtensions.encodeHex(messageDigest.digest());
+	}
+
+	private byte[] digest(final Path file)
+	{
+		try
+		{
+			final MessageDigest messageDigest = MessageDigestPool.getMessageDigest(algorithm);
+			final long size = Files.size(file);
+			final byte[] buffer = new byte[(int)Math.max(1, Math.min(bufferSize, size))];
+			FileChecksumExtensions.update(messageDigest, file, buffer);
+			return messageDigest.digest();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked in the constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MessageDigest newMessageDigest()
+	{
+		try
+		{
+			return MessageDigestPool.newMessageDigest(algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked in the constructor
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Lists all regular files of the given directory tree sorted by their relative paths with '/'
+	 * as separator
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @return the sorted files keyed by their relative paths
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static TreeMap<String, Path> listFiles(final Path dirPath) throws IOException
+	{
+		final TreeMap<String, Path> files = new TreeMap<>();
+		Files.walkFileTree(dirPath, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+			{
+				if (attributes.isRegularFile())
+				{
+					files.put(toRelativePath(dirPath, file), file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return files;
+	}
+
+	/**
+	 * Gets the path of the given file relative to the given directory with '/' as separator
+	 *
+	 * @param dirPath
+	 *            the directory path
+	 * @param file
+	 *            the file in the directory tree
+	 * @return the relative path with '/' as separator
+	 */
+	static String toRelativePath(final Path dirPath, final Path file)
+	{
+		final StringBuilder relativePath = new StringBuilder();
+		for (Path name : dirPath.relativize(file))
+		{
+			if (0 < relativePath.length())
+			{
+				relativePath.append('/');
+			}
+			relativePath.append(name);
+		}
+		return relativePath.toString();
+	}
+
+	private static byte[] join(final CompletableFuture<byte[]> future) throws IOException
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (CompletionException e)
+		{
+			if (e.getCause() instanceof UncheckedIOException)
+			{
+				throw ((UncheckedIOException)e.getCause()).getCause();
+			}
+			throw e;
+		}
+	}
+
+}
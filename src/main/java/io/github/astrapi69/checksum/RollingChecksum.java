@@ -0,0 +1,195 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link RollingChecksum} computes the weak rolling checksum of rsync, an Adler32 like
+ * checksum over a window of bytes. The window can be moved forward by one byte with
+ * {@link #roll(byte, byte)} in constant time, so a checksum is available at every offset of a
+ * stream without hashing the window again.<br>
+ * <br>
+ * The value consists of two sums modulo 2^16: the lower 16 bits are the sum of the bytes and the
+ * upper 16 bits are the sum of the bytes weighted with their distance to the end of the window.
+ * An instance is not thread safe
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class RollingChecksum implements Checksum
+{
+
+	/**
+	 * The sum of the bytes of the window
+	 */
+	private int sum1;
+
+	/**
+	 * The sum of the bytes of the window weighted with their distance to the end of the window
+	 */
+	private int sum2;
+
+	/**
+	 * The number of bytes in the window
+	 */
+	private int length;
+
+	/**
+	 * Instantiates a new {@link RollingChecksum} object with an empty window
+	 */
+	public RollingChecksum()
+	{
+	}
+
+	/**
+	 * Computes the rolling checksum of the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @return the rolling checksum as int value
+	 */
+	public static int hash(final byte[] bytes, final int offset, final int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		int sum1 = 0;
+		int sum2 = 0;
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			sum1 += bytes[i] & 0xFF;
+			sum2 += sum1;
+		}
+		return value(sum1, sum2);
+	}
+
+	/**
+	 * Appends the given byte to the end of the window
+	 *
+	 * @param b
+	 *            the byte to append
+	 */
+	@Override
+	public void update(final int b)
+	{
+		sum1 += b & 0xFF;
+		sum2 += sum1;
+		length++;
+	}
+
+	/**
+	 * Appends the given range of the given byte array to the end of the window
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to append
+	 */
+	@Override
+	public void update(final byte[] bytes, final int offset, final int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		int s1 = sum1;
+		int s2 = sum2;
+		for (int i = offset, end = offset + length; i < end; i++)
+		{
+			s1 += bytes[i] & 0xFF;
+			s2 += s1;
+		}
+		sum1 = s1;
+		sum2 = s2;
+		this.length += length;
+	}
+
+	/**
+	 * Moves the window forward by one byte. The given first byte of the window is removed and the
+	 * given next byte is appended, the length of the window does not change
+	 *
+	 * @param first
+	 *            the first byte of the current window
+	 * @param next
+	 *            the byte that follows the current window
+	 */
+	public void roll(final byte first, final byte next)
+	{
+		if (length == 0)
+		{
+			throw new IllegalStateException("The window is empty");
+		}
+		final int out = first & 0xFF;
+		sum1 += (next & 0xFF) - out;
+		sum2 += sum1 - length * out;
+	}
+
+	/**
+	 * Gets the number of bytes in the window
+	 *
+	 * @return the number of bytes in the window
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * Gets the rolling checksum of the window as int value
+	 *
+	 * @return the rolling checksum as int value
+	 */
+	public int getIntValue()
+	{
+		return value(sum1, sum2);
+	}
+
+	/**
+	 * Gets the rolling checksum of the window
+	 *
+	 * @return the rolling checksum as unsigned 32 bit value
+	 */
+	@Override
+	public long getValue()
+	{
+		return getIntValue() & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Resets the window to an empty window
+	 */
+	@Override
+	public void reset()
+	{
+		sum1 = 0;
+		sum2 = 0;
+		length = 0;
+	}
+
+	private static int value(final int sum1, final int sum2)
+	{
+		return (sum2 << 16) | (sum1 & 0xFFFF);
+	}
+
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link RollingChecksumExtensions} provides the block matching of rsync for finding the
+ * unchanged regions of a file. A {@link BlockSignature} object with a weak {@link RollingChecksum}
+ * and a strong checksum of every block is computed from the old version of a file, then the new
+ * version is scanned with a window that rolls forward one byte at a time. A strong checksum is only
+ * computed where the weak checksum of the window equals the weak checksum of a block, so the scan
+ * costs about as much as reading the file.<br>
+ * <br>
+ * Only the ranges between the found {@link BlockMatch} objects have to be transferred, the matched
+ * blocks can be copied from the old version of the file
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class RollingChecksumExtensions
+{
+
+	private RollingChecksumExtensions()
+	{
+	}
+
+	/**
+	 * Computes the {@link BlockSignature} object of the given {@link File} object
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param blockSize
+	 *            the size of the blocks
+	 * @param algorithm
+	 *            the {@link Algorithm} object of the strong checksums
+	 * @return the {@link BlockSignature} object of the file
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static BlockSignature newBlockSignature(final File file, final int blockSize,
+		final Algorithm algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		return newBlockSignature(file, blockSize, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Computes the {@link BlockSignature} object of the given {@link File} object
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @param blockSize
+	 *            the size of the blocks
+	 * @param algorithm
+	 *            the algorithm of the strong checksums. This can be for instance "MD5", "SHA-1" or
+	 *            "SHA-256"
+	 * @return the {@link BlockSignature} object of the file
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static BlockSignature newBlockSignature(final File file, final int blockSize,
+		final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			return newBlockSignature(inputStream, blockSize, algorithm);
+		}
+	}
+
+	/**
+	 * Computes the {@link BlockSignature} object of the data of the given {@link InputStream}
+	 * object. The given stream is read to the end but not closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object
+	 * @param blockSize
+	 *            the size of the blocks
+	 * @param algorithm
+	 *            the algorithm of the strong checksums. This can be for instance "MD5", "SHA-1" or
+	 *            "SHA-256"
+	 * @return the {@link BlockSignature} object of the data
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static BlockSignature newBlockSignature(final InputStream inputStream,
+		final int blockSize, final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		Objects.requireNonNull(inputStream, "Given inputStream is null");
+		checkBlockSize(blockSize);
+		// fails fast for an unknown algorithm
+		MessageDigestPool.getMessageDigest(algorithm);
+		final InputStream bufferedStream = new BufferedInputStream(inputStream,
+			Math.max(blockSize, FileChecksumExtensions.DEFAULT_BUFFER_SIZE));
+		final byte[] block = new byte[blockSize];
+		final List<BlockSignature.Block> blocks = new ArrayList<>();
+		long offset = 0;
+		int length;
+		while ((length = bufferedStream.readNBytes(block, 0, blockSize)) > 0)
+		{
+			blocks.add(new BlockSignature.Block(blocks.size(), offset, length,
+				RollingChecksum.hash(block, 0, length),
+				ByteArrayChecksumExtensions.getChecksum(block, 0, length, algorithm)));
+			offset += length;
+		}
+		return new BlockSignature(algorithm, blockSize, blocks);
+	}
+
+	/**
+	 * Scans the given {@link File} object for the blocks of the given {@link BlockSignature}
+	 * object
+	 *
+	 * @param file
+	 *            the {@link File} object to scan
+	 * @param signature
+	 *            the {@link BlockSignature} object
+	 * @return the list with the found {@link BlockMatch} objects in the order of their offsets in
+	 *         the scanned file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static List<BlockMatch> findMatches(final File file, final BlockSignature signature)
+		throws IOException
+	{
+		try (InputStream inputStream = Files.newInputStream(file.toPath()))
+		{
+			return findMatches(inputStream, signature);
+		}
+	}
+
+	/**
+	 * Scans the data of the given {@link InputStream} object for the blocks of the given
+	 * {@link BlockSignature} object. The window rolls forward one byte at a time until a block is
+	 * found and then jumps behind the found block. The given stream is read to the end but not
+	 * closed
+	 *
+	 * @param inputStream
+	 *            the {@link InputStream} object to scan
+	 * @param signature
+	 *            the {@link BlockSignature} object
+	 * @return the list with the found {@link BlockMatch} objects in the order of their offsets in
+	 *         the scanned data
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static List<BlockMatch> findMatches(final InputStream inputStream,
+		final BlockSignature signature) throws IOException
+	{
+		Objects.requireNonNull(inputStream, "Given inputStream is null");
+		Objects.requireNonNull(signature, "Given signature is null");
+		final List<BlockMatch> matches = new ArrayList<>();
+		if (signature.getBlocks().isEmpty())
+		{
+			return matches;
+		}
+		final int blockSize = signature.getBlockSize();
+		final BlockSignature.Block lastBlock = signature.getBlocks()
+			.get(signature.getBlocks().size() - 1);
+		final byte[] buffer = new byte[blockSize
+			+ Math.max(blockSize, FileChecksumExtensions.DEFAULT_BUFFER_SIZE)];
+		final RollingChecksum rollingChecksum = new RollingChecksum();
+		// the offset of the first byte of the buffer in the scanned data
+		long base = 0;
+		int start = 0;
+		int end = 0;
+		boolean endOfStream = false;
+		boolean rolling = false;
+		while (true)
+		{
+			// the window and the byte behind it must be in the buffer for rolling
+			if (!endOfStream && end - start <= blockSize)
+			{
+				System.arraycopy(buffer, start, buffer, 0, end - start);
+				base += start;
+				end -= start;
+				start = 0;
+				int read;
+				while (end < buffer.length
+					&& (read = inputStream.read(buffer, end, buffer.length - end)) != -1)
+				{
+					end += read;
+				}
+				endOfStream = end < buffer.length;
+			}
+			final int available = end - start;
+			if (available < blockSize)
+			{
+				// only the short last block of the signature can match the end of the data
+				final int length = lastBlock.getLength();
+				if (length < blockSize && length <= available)
+				{
+					final BlockMatch match = findMatch(signature,
+						RollingChecksum.hash(buffer, end - length, length), buffer, end - length,
+						length, base);
+					if (match != null)
+					{
+						matches.add(match);
+					}
+				}
+				return matches;
+			}
+			if (!rolling)
+			{
+				rollingChecksum.reset();
+				rollingChecksum.update(buffer, start, blockSize);
+				rolling = true;
+			}
+			final BlockMatch match = findMatch(signature, rollingChecksum.getIntValue(), buffer,
+				start, blockSize, base);
+			if (match != null)
+			{
+				matches.add(match);
+				start += blockSize;
+				rolling = false;
+			}
+			else if (start + blockSize < end)
+			{
+				rollingChecksum.roll(buffer[start], buffer[start + blockSize]);
+				start++;
+			}
+			else
+			{
+				// the window reached the end of the data
+				start++;
+				rolling = false;
+			}
+		}
+	}
+
+	private static BlockMatch findMatch(final BlockSignature signature, final int weakChecksum,
+		final byte[] buffer, final int start, final int length, final long base)
+	{
+		String strongChecksum = null;
+		for (BlockSignature.Block block : signature.getBlocks(weakChecksum))
+		{
+			if (block.getLength() != length)
+			{
+				continue;
+			}
+			if (strongChecksum == null)
+			{
+				strongChecksum = strongChecksum(buffer, start, length, signature.getAlgorithm());
+			}
+			if (strongChecksum.equals(block.getStrongChecksum()))
+			{
+				return new BlockMatch(block, base + start);
+			}
+		}
+		return null;
+	}
+
+	private static String strongChecksum(final byte[] buffer, final int start, final int length,
+		final String algorithm)
+	{
+		try
+		{
+			return ByteArrayChecksumExtensions.getChecksum(buffer, start, length, algorithm);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// cannot happen, the algorithm is checked when the signature is created
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void checkBlockSize(final int blockSize)
+	{
+		if (blockSize <= 0)
+		{
+			throw new IllegalArgumentException("Given block size must be positive: " + blockSize);
+		}
+	}
+
+}
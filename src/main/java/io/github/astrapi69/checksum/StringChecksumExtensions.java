@@ -20,14 +20,20 @@
  */
 package io.github.astrapi69.checksum;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
 
 import io.github.astrapi69.crypt.api.algorithm.Algorithm;
 
 /**
  * The class {@link StringChecksumExtensions} provides algorithms for computing checksum from string
- * objects
+ * objects. The characters are encoded in small blocks into a {@link Hasher} object that is bound
+ * to the current thread, so no byte array with the whole encoded text is created. Methods without
+ * a {@link Charset} argument encode with the default charset of the platform
  *
  * @author Asterios Raptis
  * @version 1.0
@@ -70,9 +76,36 @@ public final class StringChecksumExtensions
 	 */
 	public static long getChecksum(final String text, final boolean crc)
 	{
-		return crc
-			? ByteArrayChecksumExtensions.getCheckSumCRC32(text.getBytes())
-			: ByteArrayChecksumExtensions.getCheckSumAdler32(text.getBytes());
+		return Integer.toUnsignedLong(getValue(text,
+			crc ? ZipChecksumAlgorithm.CRC32 : ZipChecksumAlgorithm.ADLER32));
+	}
+
+	/**
+	 * Gets the checksum from the given string with an instance of
+	 * <code>java.util.zip.CRC32C</code>. The checksum is computed with the hardware accelerated
+	 * CRC32C instructions of the processor if they are available
+	 *
+	 * @param text
+	 *            the string
+	 * @return The checksum from the given string as long
+	 */
+	public static long getCheckSumCRC32C(final String text)
+	{
+		return Integer.toUnsignedLong(getValue(text, ZipChecksumAlgorithm.CRC32C));
+	}
+
+	/**
+	 * Gets the checksum from the given string with an instance of
+	 * <code>java.util.zip.CRC32C</code>
+	 *
+	 * @param text
+	 *            the string
+	 * @return The checksum from the given string as hex {@link String} object with eight
+	 *         characters
+	 */
+	public static String getCheckSumCRC32CHexString(final String text)
+	{
+		return HexExtensions.encodeHexInt(getValue(text, ZipChecksumAlgorithm.CRC32C));
 	}
 
 	/**
@@ -91,7 +124,211 @@ public final class StringChecksumExtensions
 	public static String getChecksum(final String text, final String algorithm)
 		throws NoSuchAlgorithmException
 	{
-		return ByteArrayChecksumExtensions.getChecksum(text.getBytes(), algorithm);
+		return getChecksum(text, Charset.defaultCharset(), algorithm);
+	}
+
+	/**
+	 * Gets the checksum from the given {@link CharSequence} object that is encoded with the given
+	 * {@link Charset} object with an instance of the given algorithm
+	 *
+	 * @param text
+	 *            the {@link CharSequence} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @param algorithm
+	 *            the {@link Algorithm} object, for instance a value of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return The checksum from the given text as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final CharSequence text, final Charset charset,
+		final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		return getChecksum(text, charset, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum from the given {@link CharSequence} object that is encoded with the given
+	 * {@link Charset} object with an instance of the given algorithm. The charsets UTF-8,
+	 * ISO-8859-1 and US-ASCII are encoded directly without a
+	 * {@link java.nio.charset.CharsetEncoder}
+	 *
+	 * @param text
+	 *            the {@link CharSequence} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @param algorithm
+	 *            the name of the algorithm. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "BLAKE3", "CRC32", "CRC32C" or "Adler32"
+	 * @return The checksum from the given text as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static String getChecksum(final CharSequence text, final Charset charset,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		return HasherPool.getHasher(algorithm).update(text, charset).finishHexString();
+	}
+
+	/**
+	 * Gets the checksum from the remaining characters of the given {@link Reader} object that are
+	 * encoded with the given {@link Charset} object with an instance of the given algorithm. The
+	 * given {@link Reader} object is not closed
+	 *
+	 * @param reader
+	 *            the {@link Reader} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @param algorithm
+	 *            the {@link Algorithm} object, for instance a value of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return The checksum from the read characters as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksum(final Reader reader, final Charset charset,
+		final Algorithm algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		return getChecksum(reader, charset, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum from the remaining characters of the given {@link Reader} object that are
+	 * encoded with the given {@link Charset} object with an instance of the given algorithm. The
+	 * characters are read and hashed in blocks, so large content is not held in memory. The given
+	 * {@link Reader} object is not closed
+	 *
+	 * @param reader
+	 *            the {@link Reader} object
+	 * @param charset
+	 *            the {@link Charset} object for encoding the characters
+	 * @param algorithm
+	 *            the name of the algorithm. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "BLAKE3", "CRC32", "CRC32C" or "Adler32"
+	 * @return The checksum from the read characters as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getChecksum(final Reader reader, final Charset charset,
+		final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		// an owned hasher, the reader can call code that uses the pooled hashers
+		return new Hasher(algorithm).update(reader, charset).finishHexString();
+	}
+
+	/**
+	 * Verifies the given string against the given expected checksum. The algorithm is resolved
+	 * from the length of the expected checksum with
+	 * {@link ChecksumExtensions#resolveChecksumAlgorithm(String)}
+	 *
+	 * @param text
+	 *            the string
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final String text, final String expectedChecksum)
+		throws NoSuchAlgorithmException
+	{
+		return verify(text, expectedChecksum,
+			ChecksumExtensions.resolveChecksumAlgorithm(expectedChecksum).getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given string against the given expected checksum with the given
+	 * {@link Algorithm} object
+	 *
+	 * @param text
+	 *            the string
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the {@link Algorithm} object that provides the algorithm as {@link String} object
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final String text, final String expectedChecksum,
+		final Algorithm algorithm) throws NoSuchAlgorithmException
+	{
+		return verify(text, expectedChecksum, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Verifies the given string against the given expected checksum with the given algorithm.
+	 * The expected checksum is decoded once and compared with the computed digest, the computed
+	 * digest is not encoded to a hexadecimal {@link String} object
+	 *
+	 * @param text
+	 *            the string
+	 * @param expectedChecksum
+	 *            the expected checksum as hexadecimal {@link String} object of lower or upper case
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the checksum is equal to the expected checksum otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             is thrown if the expected checksum is no hexadecimal value
+	 */
+	public static boolean verify(final String text, final String expectedChecksum,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		return verify(text, HexExtensions.decodeHex(expectedChecksum), algorithm);
+	}
+
+	/**
+	 * Verifies the given string against the given expected digest with the given algorithm. The
+	 * digests are compared with {@link MessageDigest#isEqual(byte[], byte[])} in a time that does
+	 * not depend on the position of the first different byte
+	 *
+	 * @param text
+	 *            the string
+	 * @param expectedDigest
+	 *            the expected digest
+	 * @param algorithm
+	 *            the algorithm to get the checksum. This can be for instance "MD5", "SHA-1",
+	 *            "SHA-256", "SHA-384" or "SHA-512"
+	 * @return true if the digest is equal to the expected digest otherwise false
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 */
+	public static boolean verify(final String text, final byte[] expectedDigest,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(expectedDigest, "Given expectedDigest is null");
+		final byte[] digest = HasherPool.getHasher(algorithm)
+			.update(text, Charset.defaultCharset()).finish();
+		return MessageDigest.isEqual(expectedDigest, digest);
+	}
+
+	private static int getValue(final String text, final ZipChecksumAlgorithm algorithm)
+	{
+		final byte[] value;
+		try
+		{
+			value = HasherPool.getHasher(algorithm).update(text, Charset.defaultCharset())
+				.finish();
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// cannot happen, the checksum algorithms of the zip package always exist
+			throw new IllegalStateException(e);
+		}
+		return (value[0] & 0xFF) << 24 | (value[1] & 0xFF) << 16 | (value[2] & 0xFF) << 8
+			| value[3] & 0xFF;
 	}
 
 }
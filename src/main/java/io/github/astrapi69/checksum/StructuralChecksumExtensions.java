@@ -0,0 +1,906 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The class {@link StructuralChecksumExtensions} computes checksums of object graphs from their
+ * structure instead of their serialized form, so the objects do not have to implement
+ * {@link java.io.Serializable} and no class descriptors are hashed. An object is hashed as the
+ * name of its class followed by the values of its fields, records are hashed by their components
+ * in declaration order and the fields of other classes are hashed from the top of the class
+ * hierarchy down with the fields of every class sorted by name. Static and transient fields are
+ * skipped. Primitive values and primitive arrays are written into the digest without boxing.<br>
+ * <br>
+ * The accessors of a class are looked up once with {@link MethodHandles} and cached per class.
+ * Strings, boxed primitives, enums, {@link Optional} objects, arrays, collections and maps are
+ * hashed by their values. Lists and other collections are hashed in iteration order, sets and
+ * maps that are not sorted are hashed independent of their iteration order, so equal sets and
+ * maps give equal checksums. A reference back to an object that is currently hashed, a cycle, is
+ * hashed as the distance to that object, shared references that are no cycle are hashed again.<br>
+ * <br>
+ * The value classes of the JDK whose fields can not be accessed are hashed by explicit encoders:
+ * {@link Date} by its time, {@link ByteBuffer} by its remaining bytes, {@link BigInteger} by its
+ * bytes, {@link BigDecimal} by its unscaled value and scale, {@link UUID} by its bits and the
+ * classes of the package {@link java.time} by their lossless ISO-8601 representation. Any other
+ * class whose fields can not be accessed can not be hashed by its structure and an
+ * {@link IllegalArgumentException} is thrown. If this library runs as named module the packages of
+ * the hashed classes have to be opened to it
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class StructuralChecksumExtensions
+{
+
+	/** The marker of a null reference */
+	private static final byte NULL = 0;
+
+	/** The marker of an object that is hashed by its fields or record components */
+	private static final byte OBJECT = 1;
+
+	/** The marker of a reference back to an object that is currently hashed */
+	private static final byte CYCLE = 3;
+
+	/** The marker of a {@link String} object */
+	private static final byte STRING = 4;
+
+	/** The marker of an enum constant */
+	private static final byte ENUM = 5;
+
+	/** The marker of a {@link Class} object */
+	private static final byte CLASS = 6;
+
+	/** The marker of an {@link Optional} object */
+	private static final byte OPTIONAL = 7;
+
+	/** The marker of a collection or an object array that is hashed in iteration order */
+	private static final byte SEQUENCE = 8;
+
+	/** The marker of a set that is hashed independent of its iteration order */
+	private static final byte SET = 9;
+
+	/** The marker of a map that is hashed in iteration order */
+	private static final byte SORTED_MAP = 10;
+
+	/** The marker of a map that is hashed independent of its iteration order */
+	private static final byte MAP = 11;
+
+	/** The marker of a sorted set that is hashed in iteration order */
+	private static final byte SORTED_SET = 12;
+
+	/** The marker of a {@link Date} object */
+	private static final byte DATE = 13;
+
+	/** The marker of the remaining bytes of a {@link ByteBuffer} object */
+	private static final byte BYTE_BUFFER = 14;
+
+	/** The marker of a {@link BigInteger} object */
+	private static final byte BIG_INTEGER = 15;
+
+	/** The marker of a {@link BigDecimal} object */
+	private static final byte BIG_DECIMAL = 24;
+
+	/** The marker of a {@link UUID} object */
+	private static final byte UUID_VALUE = 25;
+
+	/** The marker of an object of the package {@link java.time} */
+	private static final byte TEMPORAL = 26;
+
+	/** The marker of a boolean value or array */
+	private static final byte BOOLEAN = 16;
+
+	/** The marker of a byte value or array */
+	private static final byte BYTE = 17;
+
+	/** The marker of a char value or array */
+	private static final byte CHAR = 18;
+
+	/** The marker of a short value or array */
+	private static final byte SHORT = 19;
+
+	/** The marker of an int value or array */
+	private static final byte INT = 20;
+
+	/** The marker of a long value or array */
+	private static final byte LONG = 21;
+
+	/** The marker of a float value or array */
+	private static final byte FLOAT = 22;
+
+	/** The marker of a double value or array */
+	private static final byte DOUBLE = 23;
+
+	/** The marker that is added to the marker of a primitive type for an array of this type */
+	private static final byte ARRAY = 16;
+
+	/**
+	 * The cached plans for hashing the objects of a class
+	 */
+	private static final ClassValue<Plan> PLANS = new ClassValue<>()
+	{
+		@Override
+		protected Plan computeValue(final Class<?> type)
+		{
+			return Plan.of(type);
+		}
+	};
+
+	private StructuralChecksumExtensions()
+	{
+	}
+
+	/**
+	 * Gets the checksum from the structure of the given object with the given {@link Algorithm}
+	 * object
+	 *
+	 * @param object
+	 *            the object, this can be null
+	 * @param algorithm
+	 *            the {@link Algorithm} object, for instance a value of
+	 *            <code>ChecksumAlgorithm</code> or {@link ZipChecksumAlgorithm}
+	 * @return the checksum of the given object as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             Is thrown if the object graph contains an object whose fields can not be accessed
+	 */
+	public static String getChecksum(final Object object, final Algorithm algorithm)
+		throws NoSuchAlgorithmException
+	{
+		return getChecksum(object, algorithm.getAlgorithm());
+	}
+
+	/**
+	 * Gets the checksum from the structure of the given object with the given algorithm
+	 *
+	 * @param object
+	 *            the object, this can be null
+	 * @param algorithm
+	 *            the name of the algorithm. This can be for instance "MD5", "SHA-1", "SHA-256",
+	 *            "BLAKE3", "CRC32", "CRC32C" or "Adler32"
+	 * @return the checksum of the given object as hexadecimal {@link String} object
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exist
+	 * @throws IllegalArgumentException
+	 *             Is thrown if the object graph contains an object whose fields can not be accessed
+	 */
+	public static String getChecksum(final Object object, final String algorithm)
+		throws NoSuchAlgorithmException
+	{
+		// an owned hasher, the accessors and iterators can call code that uses the pooled hashers
+		return update(new Hasher(algorithm), object).finishHexString();
+	}
+
+	/**
+	 * Updates the given {@link Hasher} object with the structure of the given object. Several
+	 * objects can be hashed one after another into the same hasher
+	 *
+	 * @param hasher
+	 *            the {@link Hasher} object to update
+	 * @param object
+	 *            the object, this can be null
+	 * @return the given {@link Hasher} object
+	 * @throws IllegalArgumentException
+	 *             Is thrown if the object graph contains an object whose fields can not be accessed
+	 */
+	public static Hasher update(final Hasher hasher, final Object object)
+	{
+		Objects.requireNonNull(hasher, "Given hasher is null");
+		final Writer writer = new Writer(hasher, new IdentityHashMap<>());
+		writer.writeValue(object);
+		writer.flush();
+		return hasher;
+	}
+
+	/**
+	 * Writes the values of an object into a {@link Hasher} object through a small buffer, so the
+	 * hasher is not updated for every single value
+	 */
+	private static final class Writer
+	{
+
+		/** The buffer for the values that are not yet written into the hasher */
+		private final byte[] buffer = new byte[1024];
+
+		/** The hasher */
+		private final Hasher hasher;
+
+		/** The objects that are currently hashed with their depth */
+		private final Map<Object, Integer> path;
+
+		/** The number of bytes in the buffer */
+		private int position;
+
+		Writer(final Hasher hasher, final Map<Object, Integer> path)
+		{
+			this.hasher = hasher;
+			this.path = path;
+		}
+
+		void flush()
+		{
+			hasher.update(buffer, 0, position);
+			position = 0;
+		}
+
+		byte[] finish()
+		{
+			flush();
+			return hasher.finish();
+		}
+
+		private void ensure(final int length)
+		{
+			if (buffer.length - position < length)
+			{
+				flush();
+			}
+		}
+
+		void writeByte(final int value)
+		{
+			ensure(1);
+			buffer[position++] = (byte)value;
+		}
+
+		void writeBoolean(final boolean value)
+		{
+			writeByte(value ? 1 : 0);
+		}
+
+		void writeShort(final int value)
+		{
+			ensure(2);
+			buffer[position++] = (byte)(value >>> 8);
+			buffer[position++] = (byte)value;
+		}
+
+		void writeChar(final char value)
+		{
+			writeShort(value);
+		}
+
+		void writeInt(final int value)
+		{
+			ensure(4);
+			buffer[position++] = (byte)(value >>> 24);
+			buffer[position++] = (byte)(value >>> 16);
+			buffer[position++] = (byte)(value >>> 8);
+			buffer[position++] = (byte)value;
+		}
+
+		void writeLong(final long value)
+		{
+			writeInt((int)(value >>> 32));
+			writeInt((int)value);
+		}
+
+		void writeFloat(final float value)
+		{
+			writeInt(Float.floatToIntBits(value));
+		}
+
+		void writeDouble(final double value)
+		{
+			writeLong(Double.doubleToLongBits(value));
+		}
+
+		void writeBytes(final byte[] bytes)
+		{
+			if (buffer.length - position < bytes.length)
+			{
+				flush();
+				if (buffer.length < bytes.length)
+				{
+					hasher.update(bytes);
+					return;
+				}
+			}
+			System.arraycopy(bytes, 0, buffer, position, bytes.length);
+			position += bytes.length;
+		}
+
+		void writeString(final String value)
+		{
+			final int length = value.length();
+			writeInt(length);
+			for (int i = 0; i < length; i++)
+			{
+				writeChar(value.charAt(i));
+			}
+		}
+
+		void writeName(final Class<?> type)
+		{
+			writeString(type.getName());
+		}
+
+		void writeValue(final Object value)
+		{
+			if (value == null)
+			{
+				writeByte(NULL);
+				return;
+			}
+			final Class<?> type = value.getClass();
+			if (type == String.class)
+			{
+				writeByte(STRING);
+				writeString((String)value);
+			}
+			else if (!writeBoxed(value) && !writeImmutable(value, type))
+			{
+				final Integer depth = path.get(value);
+				if (depth != null)
+				{
+					writeByte(CYCLE);
+					writeInt(path.size() - depth);
+					return;
+				}
+				path.put(value, path.size());
+				try
+				{
+					writeReference(value, type);
+				}
+				finally
+				{
+					path.remove(value);
+				}
+			}
+		}
+
+		private boolean writeBoxed(final Object value)
+		{
+			if (value instanceof Integer)
+			{
+				writeByte(INT);
+				writeInt((Integer)value);
+			}
+			else if (value instanceof Long)
+			{
+				writeByte(LONG);
+				writeLong((Long)value);
+			}
+			else if (value instanceof Boolean)
+			{
+				writeByte(BOOLEAN);
+				writeBoolean((Boolean)value);
+			}
+			else if (value instanceof Double)
+			{
+				writeByte(DOUBLE);
+				writeDouble((Double)value);
+			}
+			else if (value instanceof Float)
+			{
+				writeByte(FLOAT);
+				writeFloat((Float)value);
+			}
+			else if (value instanceof Character)
+			{
+				writeByte(CHAR);
+				writeChar((Character)value);
+			}
+			else if (value instanceof Byte)
+			{
+				writeByte(BYTE);
+				writeByte((Byte)value);
+			}
+			else if (value instanceof Short)
+			{
+				writeByte(SHORT);
+				writeShort((Short)value);
+			}
+			else
+			{
+				return false;
+			}
+			return true;
+		}
+
+		private boolean writeImmutable(final Object value, final Class<?> type)
+		{
+			if (value instanceof Enum)
+			{
+				final Enum<?> constant = (Enum<?>)value;
+				writeByte(ENUM);
+				writeName(constant.getDeclaringClass());
+				writeString(constant.name());
+			}
+			else if (type == Class.class)
+			{
+				writeByte(CLASS);
+				writeName((Class<?>)value);
+			}
+			else if (type == UUID.class)
+			{
+				final UUID uuid = (UUID)value;
+				writeByte(UUID_VALUE);
+				writeLong(uuid.getMostSignificantBits());
+				writeLong(uuid.getLeastSignificantBits());
+			}
+			else if (type == BigInteger.class)
+			{
+				writeByte(BIG_INTEGER);
+				writeMagnitude((BigInteger)value);
+			}
+			else if (type == BigDecimal.class)
+			{
+				final BigDecimal decimal = (BigDecimal)value;
+				writeByte(BIG_DECIMAL);
+				writeInt(decimal.scale());
+				writeMagnitude(decimal.unscaledValue());
+			}
+			else if (type == Date.class)
+			{
+				writeByte(DATE);
+				writeLong(((Date)value).getTime());
+			}
+			else if (type.getModule() == Object.class.getModule()
+				&& type.getPackageName().equals("java.time"))
+			{
+				// the ISO-8601 representation of the value classes of java.time is lossless
+				writeByte(TEMPORAL);
+				writeName(type);
+				writeString(value.toString());
+			}
+			else
+			{
+				return false;
+			}
+			return true;
+		}
+
+		private void writeMagnitude(final BigInteger value)
+		{
+			final byte[] bytes = value.toByteArray();
+			writeInt(bytes.length);
+			writeBytes(bytes);
+		}
+
+		private void writeReference(final Object value, final Class<?> type)
+		{
+			if (type.isArray())
+			{
+				writeArray(value, type.getComponentType());
+			}
+			else if (value instanceof Optional)
+			{
+				final Optional<?> optional = (Optional<?>)value;
+				writeByte(OPTIONAL);
+				writeValue(optional.orElse(null));
+			}
+			else if (value instanceof ByteBuffer)
+			{
+				final ByteBuffer byteBuffer = (ByteBuffer)value;
+				writeByte(BYTE_BUFFER);
+				writeInt(byteBuffer.remaining());
+				flush();
+				// a duplicate, so the position of the given buffer is not changed
+				hasher.update(byteBuffer.duplicate());
+			}
+			else if (value instanceof Set && !(value instanceof SortedSet))
+			{
+				writeUnordered(SET, (Set<?>)value);
+			}
+			else if (value instanceof Collection)
+			{
+				final Collection<?> collection = (Collection<?>)value;
+				writeByte(value instanceof SortedSet ? SORTED_SET : SEQUENCE);
+				writeInt(collection.size());
+				for (Object element : collection)
+				{
+					writeValue(element);
+				}
+			}
+			else if (value instanceof SortedMap)
+			{
+				final Map<?, ?> map = (Map<?, ?>)value;
+				writeByte(SORTED_MAP);
+				writeInt(map.size());
+				for (Map.Entry<?, ?> entry : map.entrySet())
+				{
+					writeValue(entry.getKey());
+					writeValue(entry.getValue());
+				}
+			}
+			else if (value instanceof Map)
+			{
+				writeUnordered(MAP, ((Map<?, ?>)value).entrySet());
+			}
+			else
+			{
+				PLANS.get(type).write(this, value);
+			}
+		}
+
+		private void writeArray(final Object array, final Class<?> componentType)
+		{
+			if (!componentType.isPrimitive())
+			{
+				final Object[] elements = (Object[])array;
+				writeByte(SEQUENCE);
+				writeInt(elements.length);
+				for (Object element : elements)
+				{
+					writeValue(element);
+				}
+			}
+			else if (componentType == byte.class)
+			{
+				final byte[] elements = (byte[])array;
+				writeByte(ARRAY + BYTE);
+				writeInt(elements.length);
+				writeBytes(elements);
+			}
+			else if (componentType == int.class)
+			{
+				final int[] elements = (int[])array;
+				writeByte(ARRAY + INT);
+				writeInt(elements.length);
+				for (int element : elements)
+				{
+					writeInt(element);
+				}
+			}
+			else if (componentType == long.class)
+			{
+				final long[] elements = (long[])array;
+				writeByte(ARRAY + LONG);
+				writeInt(elements.length);
+				for (long element : elements)
+				{
+					writeLong(element);
+				}
+			}
+			else if (componentType == char.class)
+			{
+				final char[] elements = (char[])array;
+				writeByte(ARRAY + CHAR);
+				writeInt(elements.length);
+				for (char element : elements)
+				{
+					writeChar(element);
+				}
+			}
+			else if (componentType == double.class)
+			{
+				final double[] elements = (double[])array;
+				writeByte(ARRAY + DOUBLE);
+				writeInt(elements.length);
+				for (double element : elements)
+				{
+					writeDouble(element);
+				}
+			}
+			else if (componentType == float.class)
+			{
+				final float[] elements = (float[])array;
+				writeByte(ARRAY + FLOAT);
+				writeInt(elements.length);
+				for (float element : elements)
+				{
+					writeFloat(element);
+				}
+			}
+			else if (componentType == short.class)
+			{
+				final short[] elements = (short[])array;
+				writeByte(ARRAY + SHORT);
+				writeInt(elements.length);
+				for (short element : elements)
+				{
+					writeShort(element);
+				}
+			}
+			else
+			{
+				final boolean[] elements = (boolean[])array;
+				writeByte(ARRAY + BOOLEAN);
+				writeInt(elements.length);
+				for (boolean element : elements)
+				{
+					writeBoolean(element);
+				}
+			}
+		}
+
+		/**
+		 * Writes the elements of a set or the entries of a map independent of their iteration
+		 * order. Every element is hashed on its own into a digest and the sorted digests are
+		 * written
+		 */
+		private void writeUnordered(final byte marker, final Collection<?> elements)
+		{
+			final Writer writer;
+			try
+			{
+				writer = new Writer(new Hasher(hasher.getAlgorithm()), path);
+			}
+			catch (final NoSuchAlgorithmException e)
+			{
+				// cannot happen, the algorithm of this hasher exists
+				throw new IllegalStateException(e);
+			}
+			final List<byte[]> digests = new ArrayList<>(elements.size());
+			for (Object element : elements)
+			{
+				if (element instanceof Map.Entry)
+				{
+					final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)element;
+					writer.writeValue(entry.getKey());
+					writer.writeValue(entry.getValue());
+				}
+				else
+				{
+					writer.writeValue(element);
+				}
+				digests.add(writer.finish());
+			}
+			digests.sort(Arrays::compareUnsigned);
+			writeByte(marker);
+			writeInt(digests.size());
+			for (byte[] digest : digests)
+			{
+				writeBytes(digest);
+			}
+		}
+
+	}
+
+	/**
+	 * The plan for hashing the objects of one class, it holds the encoded name of the class and
+	 * the accessors of the hashed fields or record components
+	 */
+	private static final class Plan
+	{
+
+		/** The marker and the encoded name of the class */
+		private final byte[] header;
+
+		/** The accessors of the hashed fields or record components */
+		private final Accessor[] accessors;
+
+		private Plan(final byte[] header, final Accessor[] accessors)
+		{
+			this.header = header;
+			this.accessors = accessors;
+		}
+
+		static Plan of(final Class<?> type)
+		{
+			final byte[] name = type.getName().getBytes(StandardCharsets.UTF_8);
+			final Accessor[] accessors = newAccessors(type);
+			final byte[] header = new byte[5 + name.length];
+			header[0] = OBJECT;
+			header[1] = (byte)(name.length >>> 24);
+			header[2] = (byte)(name.length >>> 16);
+			header[3] = (byte)(name.length >>> 8);
+			header[4] = (byte)name.length;
+			System.arraycopy(name, 0, header, 5, name.length);
+			return new Plan(header, accessors);
+		}
+
+		private static Accessor[] newAccessors(final Class<?> type)
+		{
+			final List<Accessor> accessors = new ArrayList<>();
+			try
+			{
+				if (type.isRecord())
+				{
+					final MethodHandles.Lookup lookup = lookup(type);
+					for (RecordComponent component : type.getRecordComponents())
+					{
+						final MethodHandle getter = lookup.unreflect(component.getAccessor());
+						accessors.add(Accessor.of(component.getType(), getter));
+					}
+				}
+				else
+				{
+					final Deque<Class<?>> hierarchy = new ArrayDeque<>();
+					for (Class<?> current = type; current != Object.class; current = current
+						.getSuperclass())
+					{
+						hierarchy.push(current);
+					}
+					for (Class<?> current : hierarchy)
+					{
+						final MethodHandles.Lookup lookup = lookup(current);
+						final Field[] fields = current.getDeclaredFields();
+						final int skipped = Modifier.STATIC | Modifier.TRANSIENT;
+						Arrays.sort(fields, Comparator.comparing(Field::getName));
+						for (Field field : fields)
+						{
+							if ((field.getModifiers() & skipped) == 0)
+							{
+								accessors.add(
+									Accessor.of(field.getType(), lookup.unreflectGetter(field)));
+							}
+						}
+					}
+				}
+			}
+			catch (final IllegalAccessException e)
+			{
+				// a fallback to the name or the string value of the class could hide differences
+				throw new IllegalArgumentException("Given object of class " + type.getName()
+					+ " can not be hashed by its structure, its package is not open to "
+					+ "this library", e);
+			}
+			return accessors.toArray(new Accessor[0]);
+		}
+
+		private static MethodHandles.Lookup lookup(final Class<?> type)
+			throws IllegalAccessException
+		{
+			StructuralChecksumExtensions.class.getModule().addReads(type.getModule());
+			return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		}
+
+		void write(final Writer writer, final Object object)
+		{
+			writer.writeBytes(header);
+			for (Accessor accessor : accessors)
+			{
+				accessor.write(writer, object);
+			}
+		}
+
+	}
+
+	/**
+	 * The accessor of one field or record component. The getter is adapted to take an
+	 * {@link Object} argument and to return the exact type of the value, so primitive values are
+	 * read without boxing
+	 */
+	private static final class Accessor
+	{
+
+		/** The marker of the type of the value */
+		private final byte type;
+
+		/** The getter of the value */
+		private final MethodHandle getter;
+
+		private Accessor(final byte type, final MethodHandle getter)
+		{
+			this.type = type;
+			this.getter = getter;
+		}
+
+		static Accessor of(final Class<?> valueType, final MethodHandle getter)
+		{
+			final Class<?> returnType = valueType.isPrimitive() ? valueType : Object.class;
+			final MethodHandle adapted = getter
+				.asType(MethodType.methodType(returnType, Object.class));
+			if (valueType == boolean.class)
+			{
+				return new Accessor(BOOLEAN, adapted);
+			}
+			if (valueType == byte.class)
+			{
+				return new Accessor(BYTE, adapted);
+			}
+			if (valueType == char.class)
+			{
+				return new Accessor(CHAR, adapted);
+			}
+			if (valueType == short.class)
+			{
+				return new Accessor(SHORT, adapted);
+			}
+			if (valueType == int.class)
+			{
+				return new Accessor(INT, adapted);
+			}
+			if (valueType == long.class)
+			{
+				return new Accessor(LONG, adapted);
+			}
+			if (valueType == float.class)
+			{
+				return new Accessor(FLOAT, adapted);
+			}
+			if (valueType == double.class)
+			{
+				return new Accessor(DOUBLE, adapted);
+			}
+			return new Accessor(OBJECT, adapted);
+		}
+
+		void write(final Writer writer, final Object object)
+		{
+			try
+			{
+				switch (type)
+				{
+					case BOOLEAN :
+						writer.writeBoolean((boolean)getter.invokeExact(object));
+						break;
+					case BYTE :
+						writer.writeByte((byte)getter.invokeExact(object));
+						break;
+					case CHAR :
+						writer.writeChar((char)getter.invokeExact(object));
+						break;
+					case SHORT :
+						writer.writeShort((short)getter.invokeExact(object));
+						break;
+					case INT :
+						writer.writeInt((int)getter.invokeExact(object));
+						break;
+					case LONG :
+						writer.writeLong((long)getter.invokeExact(object));
+						break;
+					case FLOAT :
+						writer.writeFloat((float)getter.invokeExact(object));
+						break;
+					case DOUBLE :
+						writer.writeDouble((double)getter.invokeExact(object));
+						break;
+					default :
+						writer.writeValue((Object)getter.invokeExact(object));
+				}
+			}
+			catch (final RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch (final Throwable e)
+			{
+				// only the accessor of a record component can throw a checked exception
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,722 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link XXH3} computes the 64 bit and the 128 bit hashes of the non-cryptographic hash
+ * algorithm XXH3. The hashes are bit for bit identical to the hashes of the reference
+ * implementations <code>XXH3_64bits</code> and <code>XXH3_128bits</code> with the default secret,
+ * so they can be compared with hashes that are computed by other implementations.<br>
+ * <br>
+ * An instance is not thread safe. The data can be passed in several parts, for instance while a
+ * stream is read, and both hashes can be taken from the same instance. The static methods
+ * {@link #hash64(byte[], int, int, long)} and {@link #hash128(byte[], int, int, long)} compute
+ * the hashes of a byte array without an instance
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class XXH3 implements Checksum
+{
+
+	/** The first 32 bit prime of xxHash */
+	private static final long PRIME32_1 = 0x9E3779B1L;
+
+	/** The second 32 bit prime of xxHash */
+	private static final long PRIME32_2 = 0x85EBCA77L;
+
+	/** The third 32 bit prime of xxHash */
+	private static final long PRIME32_3 = 0xC2B2AE3DL;
+
+	/** The first multiplier of the final mix of XXH3 */
+	private static final long PRIME_MX1 = 0x165667919E3779F9L;
+
+	/** The second multiplier of the final mix of XXH3 */
+	private static final long PRIME_MX2 = 0x9FB21C651E98DF25L;
+
+	/**
+	 * The default secret of XXH3
+	 */
+	private static final byte[] DEFAULT_SECRET = decode(
+		"b8fe6c3923a44bbe7c01812cf721ad1cded46de9839097db7240a4a4b7b3671f"
+			+ "cb79e64eccc0e578825ad07dccff7221b8084674f743248ee03590e6813a264c"
+			+ "3c2852bb91c300cb88d0658b1b532ea371644897a20df94e3819ef46a9deacd8"
+			+ "a8fa763fe39c343ff9dcbbc7c70b4f1d8a51e04bcdb45931c89f7ec9d9787364"
+			+ "eac5ac8334d3ebc3c581a0fffa1363eb170ddd51b7f0da49d316552629d4689e"
+			+ "2b16be587d47a1fc8ff8b8d17ad031ce45cb3a8f95160428afd7fbcabb4b407e");
+
+	/**
+	 * The size of the secret
+	 */
+	private static final int SECRET_SIZE = 192;
+
+	/**
+	 * The size of the part of the secret that is used for inputs from 129 to 240 bytes
+	 */
+	private static final int SECRET_SIZE_MIN = 136;
+
+	/**
+	 * The size of one stripe that is consumed by the eight accumulators
+	 */
+	private static final int STRIPE_SIZE = 64;
+
+	/**
+	 * The number of bytes the secret is advanced per stripe
+	 */
+	private static final int SECRET_CONSUME_RATE = 8;
+
+	/**
+	 * The number of stripes of one block, after every block the accumulators are scrambled
+	 */
+	private static final int STRIPES_PER_BLOCK = (SECRET_SIZE - STRIPE_SIZE) / SECRET_CONSUME_RATE;
+
+	/**
+	 * The size of one block
+	 */
+	private static final int BLOCK_SIZE = STRIPE_SIZE * STRIPES_PER_BLOCK;
+
+	/**
+	 * The size of the internal buffer of an instance
+	 */
+	private static final int BUFFER_SIZE = 256;
+
+	/**
+	 * The largest input that is hashed without the accumulators
+	 */
+	private static final int MIDSIZE_MAX = 240;
+
+	/**
+	 * The seed of the hashes
+	 */
+	private final long seed;
+
+	/**
+	 * The secret of the hashes, this is derived from the seed for inputs with more than 240 bytes
+	 */
+	private final byte[] secret;
+
+	/**
+	 * The eight accumulators
+	 */
+	private final long[] accumulators = new long[8];
+
+	/**
+	 * The buffer for the last bytes, the last stripe before the buffered bytes is kept at its end
+	 */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/**
+	 * The buffer for updating with a single byte
+	 */
+	private final byte[] single = new byte[1];
+
+	private int bufferedSize;
+	private int stripesSoFar;
+	private long totalLength;
+
+	/**
+	 * Instantiates a new {@link XXH3} object with the seed zero
+	 */
+	public XXH3()
+	{
+		this(0L);
+	}
+
+	/**
+	 * Instantiates a new {@link XXH3} object with the given seed
+	 *
+	 * @param seed
+	 *            the seed of the hashes
+	 */
+	public XXH3(final long seed)
+	{
+		this.seed = seed;
+		this.secret = secretOf(seed);
+		reset();
+	}
+
+	/**
+	 * Computes the 64 bit XXH3 hash of the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as long value
+	 */
+	public static long hash64(final byte[] bytes, final int offset, final int length,
+		final long seed)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		if (length <= 16)
+		{
+			return hash64Len0To16(bytes, offset, length, seed);
+		}
+		if (length <= 128)
+		{
+			return hash64Len17To128(bytes, offset, length, seed);
+		}
+		if (length <= MIDSIZE_MAX)
+		{
+			return hash64Len129To240(bytes, offset, length, seed);
+		}
+		final byte[] secret = secretOf(seed);
+		final long[] accumulators = newAccumulators();
+		accumulateLong(accumulators, bytes, offset, length, secret);
+		return mergeAccumulators(accumulators, secret, 11, length * XXHash64.PRIME64_1);
+	}
+
+	/**
+	 * Computes the 128 bit XXH3 hash of the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order, the high 64
+	 *         bits first
+	 */
+	public static byte[] hash128(final byte[] bytes, final int offset, final int length,
+		final long seed)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		if (length <= 16)
+		{
+			return hash128Len0To16(bytes, offset, length, seed);
+		}
+		if (length <= 128)
+		{
+			return hash128Len17To128(bytes, offset, length, seed);
+		}
+		if (length <= MIDSIZE_MAX)
+		{
+			return hash128Len129To240(bytes, offset, length, seed);
+		}
+		final byte[] secret = secretOf(seed);
+		final long[] accumulators = newAccumulators();
+		accumulateLong(accumulators, bytes, offset, length, secret);
+		return hash128Long(accumulators, secret, length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final int b)
+	{
+		single[0] = (byte)b;
+		update(single, 0, 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final byte[] bytes, final int offset, final int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		totalLength += length;
+		if (length <= BUFFER_SIZE - bufferedSize)
+		{
+			System.arraycopy(bytes, offset, buffer, bufferedSize, length);
+			bufferedSize += length;
+			return;
+		}
+		final int end = offset + length;
+		int index = offset;
+		final int stripesPerBuffer = BUFFER_SIZE / STRIPE_SIZE;
+		if (0 < bufferedSize)
+		{
+			final int fill = BUFFER_SIZE - bufferedSize;
+			System.arraycopy(bytes, index, buffer, bufferedSize, fill);
+			index += fill;
+			stripesSoFar = consumeStripes(accumulators, stripesSoFar, buffer, 0, stripesPerBuffer,
+				secret);
+			bufferedSize = 0;
+		}
+		// the last bytes are always buffered, so they can be hashed as the last stripe
+		if (BUFFER_SIZE < end - index)
+		{
+			do
+			{
+				stripesSoFar = consumeStripes(accumulators, stripesSoFar, bytes, index,
+					stripesPerBuffer, secret);
+				index += BUFFER_SIZE;
+			}
+			while (BUFFER_SIZE < end - index);
+			System.arraycopy(bytes, index - STRIPE_SIZE, buffer, BUFFER_SIZE - STRIPE_SIZE,
+				STRIPE_SIZE);
+		}
+		System.arraycopy(bytes, index, buffer, 0, end - index);
+		bufferedSize = end - index;
+	}
+
+	/**
+	 * Gets the 64 bit hash of all bytes that are passed since the last reset. The state is not
+	 * changed, so more bytes can be passed afterwards
+	 *
+	 * @return the 64 bit hash as long value
+	 */
+	@Override
+	public long getValue()
+	{
+		if (totalLength <= MIDSIZE_MAX)
+		{
+			return hash64(buffer, 0, (int)totalLength, seed);
+		}
+		return mergeAccumulators(digestAccumulators(), secret, 11,
+			totalLength * XXHash64.PRIME64_1);
+	}
+
+	/**
+	 * Gets the 128 bit hash of all bytes that are passed since the last reset. The state is not
+	 * changed, so more bytes can be passed afterwards
+	 *
+	 * @return the 128 bit hash as byte array with 16 bytes in the canonical big endian order, the
+	 *         high 64 bits first
+	 */
+	public byte[] getValue128()
+	{
+		if (totalLength <= MIDSIZE_MAX)
+		{
+			return hash128(buffer, 0, (int)totalLength, seed);
+		}
+		return hash128Long(digestAccumulators(), secret, totalLength);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset()
+	{
+		System.arraycopy(newAccumulators(), 0, accumulators, 0, accumulators.length);
+		bufferedSize = 0;
+		stripesSoFar = 0;
+		totalLength = 0;
+	}
+
+	private long[] digestAccumulators()
+	{
+		final long[] digest = accumulators.clone();
+		if (STRIPE_SIZE <= bufferedSize)
+		{
+			final int stripes = (bufferedSize - 1) / STRIPE_SIZE;
+			consumeStripes(digest, stripesSoFar, buffer, 0, stripes, secret);
+			accumulate512(digest, buffer, bufferedSize - STRIPE_SIZE, secret,
+				SECRET_SIZE - STRIPE_SIZE - 7);
+		}
+		else
+		{
+			// the last stripe overlaps with the stripe that is kept at the end of the buffer
+			final byte[] lastStripe = new byte[STRIPE_SIZE];
+			final int catchUp = STRIPE_SIZE - bufferedSize;
+			System.arraycopy(buffer, BUFFER_SIZE - catchUp, lastStripe, 0, catchUp);
+			System.arraycopy(buffer, 0, lastStripe, catchUp, bufferedSize);
+			accumulate512(digest, lastStripe, 0, secret, SECRET_SIZE - STRIPE_SIZE - 7);
+		}
+		return digest;
+	}
+
+	private static byte[] decode(final String hex)
+	{
+		final byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++)
+		{
+			bytes[i] = (byte)Integer.parseInt(hex, 2 * i, 2 * i + 2, 16);
+		}
+		return bytes;
+	}
+
+	private static byte[] secretOf(final long seed)
+	{
+		if (seed == 0)
+		{
+			return DEFAULT_SECRET;
+		}
+		final byte[] secret = new byte[SECRET_SIZE];
+		for (int i = 0; i < SECRET_SIZE; i += 16)
+		{
+			LittleEndian.writeLong(secret, i, LittleEndian.readLong(DEFAULT_SECRET, i) + seed);
+			LittleEndian.writeLong(secret, i + 8,
+				LittleEndian.readLong(DEFAULT_SECRET, i + 8) - seed);
+		}
+		return secret;
+	}
+
+	private static long[] newAccumulators()
+	{
+		return new long[] { PRIME32_3, XXHash64.PRIME64_1, XXHash64.PRIME64_2, XXHash64.PRIME64_3,
+				XXHash64.PRIME64_4, PRIME32_2, XXHash64.PRIME64_5, PRIME32_1 };
+	}
+
+	private static long multiplyFold64(final long a, final long b)
+	{
+		return a * b ^ unsignedMultiplyHigh(a, b);
+	}
+
+	private static long unsignedMultiplyHigh(final long a, final long b)
+	{
+		return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+	}
+
+	private static long avalanche(long hash)
+	{
+		hash ^= hash >>> 37;
+		hash *= PRIME_MX1;
+		return hash ^ (hash >>> 32);
+	}
+
+	private static long rrmxmx(long hash, final int length)
+	{
+		hash ^= Long.rotateLeft(hash, 49) ^ Long.rotateLeft(hash, 24);
+		hash *= PRIME_MX2;
+		hash ^= (hash >>> 35) + length;
+		hash *= PRIME_MX2;
+		return hash ^ (hash >>> 28);
+	}
+
+	private static long mix16(final byte[] bytes, final int offset, final int secretOffset,
+		final long seed)
+	{
+		final long low = LittleEndian.readLong(bytes, offset);
+		final long high = LittleEndian.readLong(bytes, offset + 8);
+		return multiplyFold64(low ^ (LittleEndian.readLong(DEFAULT_SECRET, secretOffset) + seed),
+			high ^ (LittleEndian.readLong(DEFAULT_SECRET, secretOffset + 8) - seed));
+	}
+
+	private static long hash64Len0To16(final byte[] bytes, final int offset, final int length,
+		long seed)
+	{
+		if (8 < length)
+		{
+			final long bitFlip1 = (LittleEndian.readLong(DEFAULT_SECRET, 24)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 32)) + seed;
+			final long bitFlip2 = (LittleEndian.readLong(DEFAULT_SECRET, 40)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 48)) - seed;
+			final long low = LittleEndian.readLong(bytes, offset) ^ bitFlip1;
+			final long high = LittleEndian.readLong(bytes, offset + length - 8) ^ bitFlip2;
+			final long accumulator = length + Long.reverseBytes(low) + high
+				+ multiplyFold64(low, high);
+			return avalanche(accumulator);
+		}
+		if (4 <= length)
+		{
+			seed ^= (long)Integer.reverseBytes((int)seed) << 32;
+			final long input1 = LittleEndian.readUnsignedInt(bytes, offset);
+			final long input2 = LittleEndian.readUnsignedInt(bytes, offset + length - 4);
+			final long bitFlip = (LittleEndian.readLong(DEFAULT_SECRET, 8)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 16)) - seed;
+			final long input64 = input2 + (input1 << 32);
+			return rrmxmx(input64 ^ bitFlip, length);
+		}
+		if (0 < length)
+		{
+			final long bitFlip = (LittleEndian.readUnsignedInt(DEFAULT_SECRET, 0)
+				^ LittleEndian.readUnsignedInt(DEFAULT_SECRET, 4)) + seed;
+			return XXHash64.avalanche(combine1To3(bytes, offset, length) ^ bitFlip);
+		}
+		return XXHash64.avalanche(seed ^ LittleEndian.readLong(DEFAULT_SECRET, 56)
+			^ LittleEndian.readLong(DEFAULT_SECRET, 64));
+	}
+
+	private static long combine1To3(final byte[] bytes, final int offset, final int length)
+	{
+		final int c1 = bytes[offset] & 0xFF;
+		final int c2 = bytes[offset + (length >> 1)] & 0xFF;
+		final int c3 = bytes[offset + length - 1] & 0xFF;
+		return ((c1 << 16) | (c2 << 24) | c3 | (length << 8)) & 0xFFFFFFFFL;
+	}
+
+	private static long hash64Len17To128(final byte[] bytes, final int offset, final int length,
+		final long seed)
+	{
+		long accumulator = length * XXHash64.PRIME64_1;
+		if (32 < length)
+		{
+			if (64 < length)
+			{
+				if (96 < length)
+				{
+					accumulator += mix16(bytes, offset + 48, 96, seed);
+					accumulator += mix16(bytes, offset + length - 64, 112, seed);
+				}
+				accumulator += mix16(bytes, offset + 32, 64, seed);
+				accumulator += mix16(bytes, offset + length - 48, 80, seed);
+			}
+			accumulator += mix16(bytes, offset + 16, 32, seed);
+			accumulator += mix16(bytes, offset + length - 32, 48, seed);
+		}
+		accumulator += mix16(bytes, offset, 0, seed);
+		accumulator += mix16(bytes, offset + length - 16, 16, seed);
+		return avalanche(accumulator);
+	}
+
+	private static long hash64Len129To240(final byte[] bytes, final int offset, final int length,
+		final long seed)
+	{
+		long accumulator = length * XXHash64.PRIME64_1;
+		final int rounds = length / 16;
+		for (int i = 0; i < 8; i++)
+		{
+			accumulator += mix16(bytes, offset + 16 * i, 16 * i, seed);
+		}
+		accumulator = avalanche(accumulator);
+		for (int i = 8; i < rounds; i++)
+		{
+			accumulator += mix16(bytes, offset + 16 * i, 16 * (i - 8) + 3, seed);
+		}
+		accumulator += mix16(bytes, offset + length - 16, SECRET_SIZE_MIN - 17, seed);
+		return avalanche(accumulator);
+	}
+
+	private static byte[] hash128Len0To16(final byte[] bytes, final int offset, final int length,
+		long seed)
+	{
+		if (8 < length)
+		{
+			final long bitFlipLow = (LittleEndian.readLong(DEFAULT_SECRET, 32)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 40)) - seed;
+			final long bitFlipHigh = (LittleEndian.readLong(DEFAULT_SECRET, 48)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 56)) + seed;
+			final long inputLow = LittleEndian.readLong(bytes, offset);
+			long inputHigh = LittleEndian.readLong(bytes, offset + length - 8);
+			final long product = inputLow ^ inputHigh ^ bitFlipLow;
+			long low = product * XXHash64.PRIME64_1;
+			long high = unsignedMultiplyHigh(product, XXHash64.PRIME64_1);
+			low += (long)(length - 1) << 54;
+			inputHigh ^= bitFlipHigh;
+			high += inputHigh + (inputHigh & 0xFFFFFFFFL) * (PRIME32_2 - 1);
+			low ^= Long.reverseBytes(high);
+			final long resultLow = low * XXHash64.PRIME64_2;
+			final long resultHigh = unsignedMultiplyHigh(low, XXHash64.PRIME64_2)
+				+ high * XXHash64.PRIME64_2;
+			return toBytes(avalanche(resultHigh), avalanche(resultLow));
+		}
+		if (4 <= length)
+		{
+			seed ^= (long)Integer.reverseBytes((int)seed) << 32;
+			final long inputLow = LittleEndian.readUnsignedInt(bytes, offset);
+			final long inputHigh = LittleEndian.readUnsignedInt(bytes, offset + length - 4);
+			final long input64 = inputLow + (inputHigh << 32);
+			final long bitFlip = (LittleEndian.readLong(DEFAULT_SECRET, 16)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 24)) + seed;
+			final long keyed = input64 ^ bitFlip;
+			final long multiplier = XXHash64.PRIME64_1 + ((long)length << 2);
+			long low = keyed * multiplier;
+			long high = unsignedMultiplyHigh(keyed, multiplier);
+			high += low << 1;
+			low ^= high >>> 3;
+			low ^= low >>> 35;
+			low *= PRIME_MX2;
+			low ^= low >>> 28;
+			return toBytes(avalanche(high), low);
+		}
+		if (0 < length)
+		{
+			final long combinedLow = combine1To3(bytes, offset, length);
+			final long combinedHigh = Integer
+				.rotateLeft(Integer.reverseBytes((int)combinedLow), 13) & 0xFFFFFFFFL;
+			final long bitFlipLow = (LittleEndian.readUnsignedInt(DEFAULT_SECRET, 0)
+				^ LittleEndian.readUnsignedInt(DEFAULT_SECRET, 4)) + seed;
+			final long bitFlipHigh = (LittleEndian.readUnsignedInt(DEFAULT_SECRET, 8)
+				^ LittleEndian.readUnsignedInt(DEFAULT_SECRET, 12)) - seed;
+			return toBytes(XXHash64.avalanche(combinedHigh ^ bitFlipHigh),
+				XXHash64.avalanche(combinedLow ^ bitFlipLow));
+		}
+		return toBytes(
+			XXHash64.avalanche(seed ^ LittleEndian.readLong(DEFAULT_SECRET, 80)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 88)),
+			XXHash64.avalanche(seed ^ LittleEndian.readLong(DEFAULT_SECRET, 64)
+				^ LittleEndian.readLong(DEFAULT_SECRET, 72)));
+	}
+
+	private static void mix32(final long[] accumulator, final byte[] bytes, final int offset1,
+		final int offset2, final int secretOffset, final long seed)
+	{
+		accumulator[0] += mix16(bytes, offset1, secretOffset, seed);
+		accumulator[0] ^= LittleEndian.readLong(bytes, offset2)
+			+ LittleEndian.readLong(bytes, offset2 + 8);
+		accumulator[1] += mix16(bytes, offset2, secretOffset + 16, seed);
+		accumulator[1] ^= LittleEndian.readLong(bytes, offset1)
+			+ LittleEndian.readLong(bytes, offset1 + 8);
+	}
+
+	private static byte[] hash128Mid(final long[] accumulator, final int length, final long seed)
+	{
+		final long low = accumulator[0] + accumulator[1];
+		final long high = accumulator[0] * XXHash64.PRIME64_1
+			+ accumulator[1] * XXHash64.PRIME64_4 + (length - seed) * XXHash64.PRIME64_2;
+		return toBytes(-avalanche(high), avalanche(low));
+	}
+
+	private static byte[] hash128Len17To128(final byte[] bytes, final int offset,
+		final int length, final long seed)
+	{
+		final long[] accumulator = { length * XXHash64.PRIME64_1, 0 };
+		if (32 < length)
+		{
+			if (64 < length)
+			{
+				if (96 < length)
+				{
+					mix32(accumulator, bytes, offset + 48, offset + length - 64, 96, seed);
+				}
+				mix32(accumulator, bytes, offset + 32, offset + length - 48, 64, seed);
+			}
+			mix32(accumulator, bytes, offset + 16, offset + length - 32, 32, seed);
+		}
+		mix32(accumulator, bytes, offset, offset + length - 16, 0, seed);
+		return hash128Mid(accumulator, length, seed);
+	}
+
+	private static byte[] hash128Len129To240(final byte[] bytes, final int offset,
+		final int length, final long seed)
+	{
+		final long[] accumulator = { length * XXHash64.PRIME64_1, 0 };
+		final int rounds = length / 32;
+		for (int i = 0; i < 4; i++)
+		{
+			mix32(accumulator, bytes, offset + 32 * i, offset + 32 * i + 16, 32 * i, seed);
+		}
+		accumulator[0] = avalanche(accumulator[0]);
+		accumulator[1] = avalanche(accumulator[1]);
+		for (int i = 4; i < rounds; i++)
+		{
+			mix32(accumulator, bytes, offset + 32 * i, offset + 32 * i + 16, 32 * (i - 4) + 3,
+				seed);
+		}
+		mix32(accumulator, bytes, offset + length - 16, offset + length - 32,
+			SECRET_SIZE_MIN - 17 - 16, -seed);
+		return hash128Mid(accumulator, length, seed);
+	}
+
+	private static byte[] hash128Long(final long[] accumulators, final byte[] secret,
+		final long length)
+	{
+		final long low = mergeAccumulators(accumulators, secret, 11, length * XXHash64.PRIME64_1);
+		final long high = mergeAccumulators(accumulators, secret, SECRET_SIZE - STRIPE_SIZE - 11,
+			~(length * XXHash64.PRIME64_2));
+		return toBytes(high, low);
+	}
+
+	private static byte[] toBytes(final long high, final long low)
+	{
+		final byte[] bytes = new byte[16];
+		LittleEndian.writeLong(bytes, 0, Long.reverseBytes(high));
+		LittleEndian.writeLong(bytes, 8, Long.reverseBytes(low));
+		return bytes;
+	}
+
+	private static void accumulateLong(final long[] accumulators, final byte[] bytes,
+		final int offset, final int length, final byte[] secret)
+	{
+		final int blocks = (length - 1) / BLOCK_SIZE;
+		for (int block = 0; block < blocks; block++)
+		{
+			accumulate(accumulators, bytes, offset + block * BLOCK_SIZE, secret, 0,
+				STRIPES_PER_BLOCK);
+			scramble(accumulators, secret);
+		}
+		final int stripes = ((length - 1) - BLOCK_SIZE * blocks) / STRIPE_SIZE;
+		accumulate(accumulators, bytes, offset + blocks * BLOCK_SIZE, secret, 0, stripes);
+		accumulate512(accumulators, bytes, offset + length - STRIPE_SIZE, secret,
+			SECRET_SIZE - STRIPE_SIZE - 7);
+	}
+
+	private static int consumeStripes(final long[] accumulators, final int stripesSoFar,
+		final byte[] bytes, final int offset, final int stripes, final byte[] secret)
+	{
+		if (STRIPES_PER_BLOCK - stripesSoFar <= stripes)
+		{
+			final int stripesToEnd = STRIPES_PER_BLOCK - stripesSoFar;
+			final int stripesAfterBlock = stripes - stripesToEnd;
+			accumulate(accumulators, bytes, offset, secret, stripesSoFar * SECRET_CONSUME_RATE,
+				stripesToEnd);
+			scramble(accumulators, secret);
+			accumulate(accumulators, bytes, offset + stripesToEnd * STRIPE_SIZE, secret, 0,
+				stripesAfterBlock);
+			return stripesAfterBlock;
+		}
+		accumulate(accumulators, bytes, offset, secret, stripesSoFar * SECRET_CONSUME_RATE,
+			stripes);
+		return stripesSoFar + stripes;
+	}
+
+	private static void accumulate(final long[] accumulators, final byte[] bytes,
+		final int offset, final byte[] secret, final int secretOffset, final int stripes)
+	{
+		for (int stripe = 0; stripe < stripes; stripe++)
+		{
+			accumulate512(accumulators, bytes, offset + stripe * STRIPE_SIZE, secret,
+				secretOffset + stripe * SECRET_CONSUME_RATE);
+		}
+	}
+
+	private static void accumulate512(final long[] accumulators, final byte[] bytes,
+		final int offset, final byte[] secret, final int secretOffset)
+	{
+		for (int i = 0; i < 8; i++)
+		{
+			final long value = LittleEndian.readLong(bytes, offset + 8 * i);
+			final long key = value ^ LittleEndian.readLong(secret, secretOffset + 8 * i);
+			accumulators[i ^ 1] += value;
+			accumulators[i] += (key & 0xFFFFFFFFL) * (key >>> 32);
+		}
+	}
+
+	private static void scramble(final long[] accumulators, final byte[] secret)
+	{
+		final int secretOffset = SECRET_SIZE - STRIPE_SIZE;
+		for (int i = 0; i < 8; i++)
+		{
+			long accumulator = accumulators[i];
+			accumulator ^= accumulator >>> 47;
+			accumulator ^= LittleEndian.readLong(secret, secretOffset + 8 * i);
+			accumulators[i] = accumulator * PRIME32_1;
+		}
+	}
+
+	private static long mergeAccumulators(final long[] accumulators, final byte[] secret,
+		final int secretOffset, final long start)
+	{
+		long result = start;
+		for (int i = 0; i < 4; i++)
+		{
+			result += multiplyFold64(
+				accumulators[2 * i] ^ LittleEndian.readLong(secret, secretOffset + 16 * i),
+				accumulators[2 * i + 1] ^ LittleEndian.readLong(secret, secretOffset + 16 * i + 8));
+		}
+		return avalanche(result);
+	}
+
+}
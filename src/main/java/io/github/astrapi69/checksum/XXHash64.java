@@ -0,0 +1,316 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link XXHash64} computes the 64 bit hash of the non-cryptographic hash algorithm
+ * xxHash64. The hash is bit for bit identical to the hash of the reference implementation
+ * <code>XXH64</code>, so it can be compared with hashes that are computed by other
+ * implementations.<br>
+ * <br>
+ * An instance is not thread safe. The data can be passed in several parts, for instance while a
+ * stream is read, the result is the same as for the whole data at once. The static method
+ * {@link #hash(byte[], int, int, long)} computes the hash of a byte array without an instance
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class XXHash64 implements Checksum
+{
+
+	/** The first 64 bit prime of xxHash */
+	static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+
+	/** The second 64 bit prime of xxHash */
+	static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+
+	/** The third 64 bit prime of xxHash */
+	static final long PRIME64_3 = 0x165667B19E3779F9L;
+
+	/** The fourth 64 bit prime of xxHash */
+	static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+
+	/** The fifth 64 bit prime of xxHash */
+	static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	/**
+	 * The size of one stripe that is consumed by the four accumulators
+	 */
+	private static final int STRIPE_SIZE = 32;
+
+	/**
+	 * The seed of the hash
+	 */
+	private final long seed;
+
+	/**
+	 * The bytes of the last stripe that is not complete
+	 */
+	private final byte[] memory = new byte[STRIPE_SIZE];
+
+	/**
+	 * The buffer for updating with a single byte
+	 */
+	private final byte[] single = new byte[1];
+
+	private long v1;
+	private long v2;
+	private long v3;
+	private long v4;
+	private int memorySize;
+	private long totalLength;
+
+	/**
+	 * Instantiates a new {@link XXHash64} object with the seed zero
+	 */
+	public XXHash64()
+	{
+		this(0L);
+	}
+
+	/**
+	 * Instantiates a new {@link XXHash64} object with the given seed
+	 *
+	 * @param seed
+	 *            the seed of the hash
+	 */
+	public XXHash64(final long seed)
+	{
+		this.seed = seed;
+		reset();
+	}
+
+	/**
+	 * Computes the xxHash64 hash of the given range of the given byte array
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param offset
+	 *            the start offset in the byte array
+	 * @param length
+	 *            the number of bytes to use
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as long value
+	 */
+	public static long hash(final byte[] bytes, final int offset, final int length,
+		final long seed)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		final int end = offset + length;
+		int index = offset;
+		long hash;
+		if (STRIPE_SIZE <= length)
+		{
+			long v1 = seed + PRIME64_1 + PRIME64_2;
+			long v2 = seed + PRIME64_2;
+			long v3 = seed;
+			long v4 = seed - PRIME64_1;
+			final int limit = end - STRIPE_SIZE;
+			do
+			{
+				v1 = round(v1, LittleEndian.readLong(bytes, index));
+				v2 = round(v2, LittleEndian.readLong(bytes, index + 8));
+				v3 = round(v3, LittleEndian.readLong(bytes, index + 16));
+				v4 = round(v4, LittleEndian.readLong(bytes, index + 24));
+				index += STRIPE_SIZE;
+			}
+			while (index <= limit);
+			hash = merge(v1, v2, v3, v4);
+		}
+		else
+		{
+			hash = seed + PRIME64_5;
+		}
+		hash += length;
+		return finish(hash, bytes, index, end - index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final int b)
+	{
+		single[0] = (byte)b;
+		update(single, 0, 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void update(final byte[] bytes, final int offset, final int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		totalLength += length;
+		if (memorySize + length < STRIPE_SIZE)
+		{
+			System.arraycopy(bytes, offset, memory, memorySize, length);
+			memorySize += length;
+			return;
+		}
+		final int end = offset + length;
+		int index = offset;
+		if (0 < memorySize)
+		{
+			final int fill = STRIPE_SIZE - memorySize;
+			System.arraycopy(bytes, offset, memory, memorySize, fill);
+			v1 = round(v1, LittleEndian.readLong(memory, 0));
+			v2 = round(v2, LittleEndian.readLong(memory, 8));
+			v3 = round(v3, LittleEndian.readLong(memory, 16));
+			v4 = round(v4, LittleEndian.readLong(memory, 24));
+			index += fill;
+			memorySize = 0;
+		}
+		if (index + STRIPE_SIZE <= end)
+		{
+			long a1 = v1;
+			long a2 = v2;
+			long a3 = v3;
+			long a4 = v4;
+			final int limit = end - STRIPE_SIZE;
+			do
+			{
+				a1 = round(a1, LittleEndian.readLong(bytes, index));
+				a2 = round(a2, LittleEndian.readLong(bytes, index + 8));
+				a3 = round(a3, LittleEndian.readLong(bytes, index + 16));
+				a4 = round(a4, LittleEndian.readLong(bytes, index + 24));
+				index += STRIPE_SIZE;
+			}
+			while (index <= limit);
+			v1 = a1;
+			v2 = a2;
+			v3 = a3;
+			v4 = a4;
+		}
+		if (index < end)
+		{
+			System.arraycopy(bytes, index, memory, 0, end - index);
+			memorySize = end - index;
+		}
+	}
+
+	/**
+	 * Gets the hash of all bytes that are passed since the last reset. The state is not changed,
+	 * so more bytes can be passed afterwards
+	 *
+	 * @return the hash as long value
+	 */
+	@Override
+	public long getValue()
+	{
+		long hash;
+		if (STRIPE_SIZE <= totalLength)
+		{
+			hash = merge(v1, v2, v3, v4);
+		}
+		else
+		{
+			hash = seed + PRIME64_5;
+		}
+		hash += totalLength;
+		return finish(hash, memory, 0, memorySize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset()
+	{
+		v1 = seed + PRIME64_1 + PRIME64_2;
+		v2 = seed + PRIME64_2;
+		v3 = seed;
+		v4 = seed - PRIME64_1;
+		memorySize = 0;
+		totalLength = 0;
+	}
+
+	private static long round(long accumulator, final long input)
+	{
+		accumulator += input * PRIME64_2;
+		accumulator = Long.rotateLeft(accumulator, 31);
+		return accumulator * PRIME64_1;
+	}
+
+	private static long mergeRound(long accumulator, final long value)
+	{
+		accumulator ^= round(0, value);
+		return accumulator * PRIME64_1 + PRIME64_4;
+	}
+
+	private static long merge(final long v1, final long v2, final long v3, final long v4)
+	{
+		long hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+			+ Long.rotateLeft(v4, 18);
+		hash = mergeRound(hash, v1);
+		hash = mergeRound(hash, v2);
+		hash = mergeRound(hash, v3);
+		return mergeRound(hash, v4);
+	}
+
+	private static long finish(long hash, final byte[] bytes, int index, int remaining)
+	{
+		while (8 <= remaining)
+		{
+			hash ^= round(0, LittleEndian.readLong(bytes, index));
+			hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+			index += 8;
+			remaining -= 8;
+		}
+		if (4 <= remaining)
+		{
+			hash ^= LittleEndian.readUnsignedInt(bytes, index) * PRIME64_1;
+			hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+			index += 4;
+			remaining -= 4;
+		}
+		while (0 < remaining)
+		{
+			hash ^= (bytes[index] & 0xFFL) * PRIME64_5;
+			hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+			index++;
+			remaining--;
+		}
+		return avalanche(hash);
+	}
+
+	/**
+	 * The final mix of xxHash64 that spreads every input bit to all bits of the hash
+	 *
+	 * @param hash
+	 *            the hash to mix
+	 * @return the mixed hash
+	 */
+	static long avalanche(long hash)
+	{
+		hash ^= hash >>> 33;
+		hash *= PRIME64_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME64_3;
+		return hash ^ (hash >>> 32);
+	}
+
+}
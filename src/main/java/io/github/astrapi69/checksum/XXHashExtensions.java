@@ -0,0 +1,425 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link XXHashExtensions} provides the fast non-cryptographic hash algorithms xxHash64
+ * and XXH3 with 64 and 128 bits for byte arrays, byte buffers, strings and files. The hashes are
+ * bit for bit identical to the hashes of the reference implementations, so they can be used as
+ * keys for deduplication and caches that are shared with other implementations. They must not be
+ * used where a cryptographic hash is required.<br>
+ * <br>
+ * For streams the classes {@link XXHash64} and {@link XXH3} can be updated directly or used as
+ * {@link Checksum} objects, for instance with a <code>java.util.zip.CheckedInputStream</code>
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public final class XXHashExtensions
+{
+
+	private XXHashExtensions()
+	{
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as long value
+	 */
+	public static long getXXHash64(final byte[] bytes)
+	{
+		return getXXHash64(bytes, 0L);
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the given byte array with the given seed
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as long value
+	 */
+	public static long getXXHash64(final byte[] bytes, final long seed)
+	{
+		return XXHash64.hash(bytes, 0, bytes.length, seed);
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as long value
+	 */
+	public static long getXXHash64(final ByteBuffer buffer)
+	{
+		final XXHash64 checksum = new XXHash64();
+		checksum.update(buffer.duplicate());
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the UTF-8 bytes of the given {@link String} object with the seed
+	 * zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as long value
+	 */
+	public static long getXXHash64(final String text)
+	{
+		return getXXHash64(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the given {@link File} object with the seed zero. The file is read
+	 * through a buffer, so files of any size are supported
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getXXHash64(final File file) throws IOException
+	{
+		final XXHash64 checksum = new XXHash64();
+		update(checksum, file);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXHash64HexString(final byte[] bytes)
+	{
+		return HexExtensions.encodeHexLong(getXXHash64(bytes));
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXHash64HexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHexLong(getXXHash64(buffer));
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the UTF-8 bytes of the given {@link String} object with the seed
+	 * zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXHash64HexString(final String text)
+	{
+		return HexExtensions.encodeHexLong(getXXHash64(text));
+	}
+
+	/**
+	 * Gets the xxHash64 hash of the given {@link File} object with the seed zero
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getXXHash64HexString(final File file) throws IOException
+	{
+		return HexExtensions.encodeHexLong(getXXHash64(file));
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as long value
+	 */
+	public static long getXXH3(final byte[] bytes)
+	{
+		return getXXH3(bytes, 0L);
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the given byte array with the given seed
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as long value
+	 */
+	public static long getXXH3(final byte[] bytes, final long seed)
+	{
+		return XXH3.hash64(bytes, 0, bytes.length, seed);
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as long value
+	 */
+	public static long getXXH3(final ByteBuffer buffer)
+	{
+		final XXH3 checksum = new XXH3();
+		checksum.update(buffer.duplicate());
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the UTF-8 bytes of the given {@link String} object with the seed
+	 * zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as long value
+	 */
+	public static long getXXH3(final String text)
+	{
+		return getXXH3(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the given {@link File} object with the seed zero. The file is
+	 * read through a buffer, so files of any size are supported
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as long value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long getXXH3(final File file) throws IOException
+	{
+		final XXH3 checksum = new XXH3();
+		update(checksum, file);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXH3HexString(final byte[] bytes)
+	{
+		return HexExtensions.encodeHexLong(getXXH3(bytes));
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXH3HexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHexLong(getXXH3(buffer));
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the UTF-8 bytes of the given {@link String} object with the seed
+	 * zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 */
+	public static String getXXH3HexString(final String text)
+	{
+		return HexExtensions.encodeHexLong(getXXH3(text));
+	}
+
+	/**
+	 * Gets the 64 bit XXH3 hash of the given {@link File} object with the seed zero
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as hexadecimal {@link String} object with 16 characters
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getXXH3HexString(final File file) throws IOException
+	{
+		return HexExtensions.encodeHexLong(getXXH3(file));
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order
+	 */
+	public static byte[] getXXH128(final byte[] bytes)
+	{
+		return getXXH128(bytes, 0L);
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the given byte array with the given seed
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @param seed
+	 *            the seed of the hash
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order
+	 */
+	public static byte[] getXXH128(final byte[] bytes, final long seed)
+	{
+		return XXH3.hash128(bytes, 0, bytes.length, seed);
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order
+	 */
+	public static byte[] getXXH128(final ByteBuffer buffer)
+	{
+		final XXH3 checksum = new XXH3();
+		checksum.update(buffer.duplicate());
+		return checksum.getValue128();
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the UTF-8 bytes of the given {@link String} object with the
+	 * seed zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order
+	 */
+	public static byte[] getXXH128(final String text)
+	{
+		return getXXH128(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the given {@link File} object with the seed zero. The file is
+	 * read through a buffer, so files of any size are supported
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as byte array with 16 bytes in the canonical big endian order
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static byte[] getXXH128(final File file) throws IOException
+	{
+		final XXH3 checksum = new XXH3();
+		update(checksum, file);
+		return checksum.getValue128();
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the given byte array with the seed zero
+	 *
+	 * @param bytes
+	 *            the byte array
+	 * @return the hash as hexadecimal {@link String} object with 32 characters
+	 */
+	public static String getXXH128HexString(final byte[] bytes)
+	{
+		return HexExtensions.encodeHex(getXXH128(bytes));
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the remaining bytes of the given {@link ByteBuffer} object with
+	 * the seed zero. The position of the given buffer is not changed
+	 *
+	 * @param buffer
+	 *            the {@link ByteBuffer} object
+	 * @return the hash as hexadecimal {@link String} object with 32 characters
+	 */
+	public static String getXXH128HexString(final ByteBuffer buffer)
+	{
+		return HexExtensions.encodeHex(getXXH128(buffer));
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the UTF-8 bytes of the given {@link String} object with the
+	 * seed zero
+	 *
+	 * @param text
+	 *            the {@link String} object
+	 * @return the hash as hexadecimal {@link String} object with 32 characters
+	 */
+	public static String getXXH128HexString(final String text)
+	{
+		return HexExtensions.encodeHex(getXXH128(text));
+	}
+
+	/**
+	 * Gets the 128 bit XXH3 hash of the given {@link File} object with the seed zero
+	 *
+	 * @param file
+	 *            the {@link File} object
+	 * @return the hash as hexadecimal {@link String} object with 32 characters
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String getXXH128HexString(final File file) throws IOException
+	{
+		return HexExtensions.encodeHex(getXXH128(file));
+	}
+
+	private static void update(final Checksum checksum, final File file) throws IOException
+	{
+		final byte[] buffer = FileChecksumExtensions
+			.getHeapBuffer(FileChecksumExtensions.DEFAULT_BUFFER_SIZE);
+		FileChecksumExtensions.update(checksum, file.toPath(), ByteBuffer.wrap(buffer));
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import java.util.zip.Adler32;
+import java.util.zip.Checksum;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+
+/**
+ * The enum {@link ZipChecksumAlgorithm} provides the checksum algorithms of the package
+ * <code>java.util.zip</code> as {@link Algorithm} objects, so they can be requested together with
+ * message digest algorithms from {@link MultiChecksumExtensions}
+ *
+ * @author Asterios Raptis
+ * @version 1.0
+ */
+public enum ZipChecksumAlgorithm implements Algorithm
+{
+
+	/** The algorithm of <code>java.util.zip.Adler32</code> */
+	ADLER32("Adler32"),
+
+	/** The algorithm of <code>java.util.zip.CRC32</code> */
+	CRC32("CRC32"),
+
+	/**
+	 * The algorithm of <code>java.util.zip.CRC32C</code> with the Castagnoli polynomial, that is
+	 * computed with the hardware accelerated CRC32C instructions of the processor if they are
+	 * available
+	 */
+	CRC32C("CRC32C");
+
+	/** The name of the algorithm */
+	private final String algorithm;
+
+	ZipChecksumAlgorithm(final String algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	/**
+	 * Creates a new {@link Checksum} object of this algorithm
+	 *
+	 * @return the new {@link Checksum} object
+	 */
+	Checksum newChecksum()
+	{
+		switch (this)
+		{
+			case ADLER32 :
+				return new Adler32();
+			case CRC32 :
+				// the class names are qualified, the enum constants hide them
+				return new java.util.zip.CRC32();
+			default :
+				return new java.util.zip.CRC32C();
+		}
+	}
+
+	/**
+	 * Combines the checksums of this algorithm of two consecutive ranges of data with the methods
+	 * of {@link ChecksumCombineExtensions}
+	 *
+	 * @param checksum1
+	 *            the checksum of the first range
+	 * @param checksum2
+	 *            the checksum of the second range
+	 * @param length2
+	 *            the length of the second range in bytes
+	 * @return the checksum of the first range followed by the second range
+	 */
+	long combine(final long checksum1, final long checksum2, final long length2)
+	{
+		switch (this)
+		{
+			case ADLER32 :
+				return ChecksumCombineExtensions.combineAdler32(checksum1, checksum2, length2);
+			case CRC32 :
+				return ChecksumCombineExtensions.combineCRC32(checksum1, checksum2, length2);
+			default :
+				return ChecksumCombineExtensions.combineCRC32C(checksum1, checksum2, length2);
+		}
+	}
+
+	/**
+	 * Resolves the {@link ZipChecksumAlgorithm} object from the given name of an algorithm
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm, the case is ignored
+	 * @return the {@link ZipChecksumAlgorithm} object or null if the given name is not the name of
+	 *         a checksum algorithm of the package <code>java.util.zip</code>
+	 */
+	static ZipChecksumAlgorithm resolve(final String algorithm)
+	{
+		for (ZipChecksumAlgorithm value : values())
+		{
+			if (value.algorithm.equalsIgnoreCase(algorithm))
+			{
+				return value;
+			}
+		}
+		return null;
+	}
+
+}
@@ -21,6 +21,8 @@
 module io.github.astrapisixtynine.checksum.up
 {
 	requires io.github.astrapisixtynine.crypt.api;
+	// optional, the cleaner of sun.misc.Unsafe releases mapped windows right after usage
+	requires static jdk.unsupported;
 
 	exports io.github.astrapi69.checksum;
 }
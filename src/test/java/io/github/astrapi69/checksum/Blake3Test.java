@@ -0,0 +1,248 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link Blake3}. The expected values are the official test
+ * vectors of BLAKE3, the input of every vector consists of the repeating bytes 0 to 250
+ */
+public class Blake3Test extends AbstractTestCase<Long, Long>
+{
+
+	private static final byte[] KEY = "whats the Elephant, Bob?whats the"
+		.substring(0, Blake3.KEY_LENGTH).getBytes(StandardCharsets.US_ASCII);
+
+	private static byte[] newBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++)
+		{
+			bytes[i] = (byte)(i % 251);
+		}
+		return bytes;
+	}
+
+	private static String hash(final int length)
+	{
+		return HexExtensions.encodeHex(Blake3.hash(newBytes(length), 0, length));
+	}
+
+	/**
+	 * Test method for {@link Blake3#hash(byte[], int, int)}
+	 */
+	@Test
+	public void testHash()
+	{
+		assertEquals("af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262",
+			hash(0));
+		assertEquals("2d3adedff11b61f14c886e35afa036736dcd87a74d27b5c1510225d0f592e213",
+			hash(1));
+		assertEquals("10108970eeda3eb932baac1428c7a2163b0e924c9a9e25b35bba72b28f70bd11",
+			hash(1023));
+		assertEquals("42214739f095a406f3fc83deb889744ac00df831c10daa55189b5d121c855af7",
+			hash(1024));
+		assertEquals("d00278ae47eb27b34faecf67b4fe263f82d5412916c1ffd97c8cb7fb814b8444",
+			hash(1025));
+		assertEquals("e776b6028c7cd22a4d0ba182a8bf62205d2ef576467e838ed6f2529b85fba24a",
+			hash(2048));
+		assertEquals("9b4052b38f1c5fc8b1f9ff7ac7b27cd242487b3d890d15c96a1c25b8aa0fb995",
+			hash(4097));
+		assertEquals("aae792484c8efe4f19e2ca7d371d8c467ffb10748d8a5a1ae579948f718a2a63",
+			hash(8192));
+		assertEquals("bc3e3d41a1146b069abffad3c0d44860cf664390afce4d9661f7902e7943e085",
+			hash(102400));
+		final byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+		assertEquals("6437b3ac38465133ffb63b75273a8db548c558465d79db03fd359c6cd5bd9d85",
+			HexExtensions.encodeHex(Blake3.hash(abc, 0, abc.length)));
+	}
+
+	/**
+	 * Test method for {@link Blake3#update(byte[], int, int)} and {@link Blake3#digest()} with the
+	 * data in several parts
+	 */
+	@Test
+	public void testUpdate()
+	{
+		final byte[] bytes = newBytes(102400);
+		final byte[] expected = Blake3.hash(bytes, 0, bytes.length);
+		for (int partSize : new int[] { 1, 63, 64, 65, 1023, 1024, 1025, 4096, 10000 })
+		{
+			final Blake3 blake3 = new Blake3();
+			for (int offset = 0; offset < bytes.length; offset += partSize)
+			{
+				blake3.update(bytes, offset, Math.min(partSize, bytes.length - offset));
+			}
+			assertEquals(HexExtensions.encodeHex(expected),
+				HexExtensions.encodeHex(blake3.digest()));
+		}
+		// update with a ByteBuffer object and reuse after reset
+		final Blake3 blake3 = new Blake3();
+		blake3.update(new byte[] { 1, 2, 3 });
+		blake3.reset();
+		blake3.update(ByteBuffer.wrap(bytes));
+		assertEquals(HexExtensions.encodeHex(expected), HexExtensions.encodeHex(blake3.digest()));
+	}
+
+	/**
+	 * Test method for {@link Blake3#Blake3(byte[])} in the keyed hash mode
+	 */
+	@Test
+	public void testKeyedHash()
+	{
+		Blake3 blake3;
+
+		blake3 = new Blake3(KEY);
+		assertEquals("aefa3aebdbe796b79d280aff2609d03b3f1c51c17e958e5d736e95a67cd98c20",
+			HexExtensions.encodeHex(blake3.digest()));
+		blake3 = new Blake3(KEY);
+		blake3.update(newBytes(1025));
+		assertEquals("e389ec5be93fec8c4b5b340a37edc932378c638a5220f5de3fcb9b13634322c1",
+			HexExtensions.encodeHex(blake3.digest()));
+	}
+
+	/**
+	 * Test method for {@link Blake3#Blake3(byte[])} with a key of a wrong length
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testKeyedHashWithInvalidKey()
+	{
+		new Blake3(new byte[16]);
+	}
+
+	/**
+	 * Test method for {@link Blake3#digest(int)} with the extendable output
+	 */
+	@Test
+	public void testDigestWithLength()
+	{
+		final Blake3 blake3 = new Blake3();
+		blake3.update("abc".getBytes(StandardCharsets.US_ASCII));
+		final byte[] digest = blake3.digest();
+		final byte[] extended = blake3.digest(64);
+		assertEquals(64, extended.length);
+		assertEquals(HexExtensions.encodeHex(digest),
+			HexExtensions.encodeHex(Arrays.copyOf(extended, Blake3.DIGEST_LENGTH)));
+		assertEquals("6437b3ac38465133ffb63b75273a8db548c558465d79db03fd359c6cd5bd9d85"
+			+ "1fb250ae7393f5d02813b65d521a0d492d9ba09cf7ce7f4cffd900f23374bf0b",
+			HexExtensions.encodeHex(extended));
+	}
+
+	/**
+	 * Test method for {@link Blake3#hashParallel(byte[], int, int, ForkJoinPool)}
+	 */
+	@Test
+	public void testHashParallel()
+	{
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (int length : new int[] { 0, 1025, 102400, 300000, 1048576 + 17 })
+			{
+				final byte[] bytes = newBytes(length);
+				assertEquals(HexExtensions.encodeHex(Blake3.hash(bytes, 0, length)),
+					HexExtensions.encodeHex(Blake3.hashParallel(bytes, 0, length, pool)));
+			}
+			assertEquals("6cc9dce05d4cff8c5bef5c5a24681e42b13f03e34a0bc5e66f65a91d48c944fa",
+				HexExtensions.encodeHex(Blake3.hashParallel(newBytes(300000), 0, 300000, pool)));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link Blake3#hashParallel(FileChannel, ForkJoinPool)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testHashParallelWithFileChannel() throws IOException
+	{
+		final byte[] bytes = newBytes(1048576 + 1025);
+		final File file = File.createTempFile("blake3", ".bin");
+		try
+		{
+			Files.write(file.toPath(), bytes);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+			{
+				final byte[] actual = Blake3.hashParallel(channel, ForkJoinPool.commonPool());
+				assertEquals(HexExtensions.encodeHex(Blake3.hash(bytes, 0, bytes.length)),
+					HexExtensions.encodeHex(actual));
+			}
+			assertEquals(HexExtensions.encodeHex(Blake3.hash(bytes, 0, bytes.length)),
+				FileChecksumExtensions.getChecksumBlake3Parallel(file));
+		}
+		finally
+		{
+			Files.delete(file.toPath());
+		}
+	}
+
+	/**
+	 * Test method for the {@link MessageDigest} object of the algorithm {@link Blake3#ALGORITHM}
+	 * from the {@link MessageDigestPool}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws CloneNotSupportedException
+	 *             Is thrown if the {@link MessageDigest} object can not be cloned
+	 */
+	@Test
+	public void testMessageDigest() throws NoSuchAlgorithmException, CloneNotSupportedException
+	{
+		final byte[] bytes = newBytes(4097);
+		final MessageDigest messageDigest = MessageDigestPool.newMessageDigest("blake3");
+		assertEquals(Blake3.DIGEST_LENGTH, messageDigest.getDigestLength());
+		messageDigest.update(bytes, 0, 2048);
+		final MessageDigest copy = (MessageDigest)messageDigest.clone();
+		messageDigest.update(bytes, 2048, bytes.length - 2048);
+		assertEquals("9b4052b38f1c5fc8b1f9ff7ac7b27cd242487b3d890d15c96a1c25b8aa0fb995",
+			HexExtensions.encodeHex(messageDigest.digest()));
+		assertEquals("e776b6028c7cd22a4d0ba182a8bf62205d2ef576467e838ed6f2529b85fba24a",
+			HexExtensions.encodeHex(copy.digest()));
+		// the digest resets the MessageDigest object
+		assertEquals("af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262",
+			HexExtensions.encodeHex(messageDigest.digest()));
+		assertEquals("9b4052b38f1c5fc8b1f9ff7ac7b27cd242487b3d890d15c96a1c25b8aa0fb995",
+			ByteArrayChecksumExtensions.getChecksum(bytes, Blake3.ALGORITHM));
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link BlockSignature}
+ */
+public class BlockSignatureTest extends AbstractTestCase<Long, Long>
+{
+
+	private static BlockSignature newBlockSignature(final byte[] bytes, final int blockSize,
+		final String algorithm) throws NoSuchAlgorithmException, IOException
+	{
+		return RollingChecksumExtensions.newBlockSignature(new ByteArrayInputStream(bytes),
+			blockSize, algorithm);
+	}
+
+	private static byte[] encode(final BlockSignature signature) throws IOException
+	{
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		signature.encode(outputStream);
+		return outputStream.toByteArray();
+	}
+
+	private static void assertSignatureEquals(final BlockSignature expected,
+		final BlockSignature actual)
+	{
+		assertEquals(expected.getAlgorithm(), actual.getAlgorithm());
+		assertEquals(expected.getBlockSize(), actual.getBlockSize());
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.getBlocks().size(), actual.getBlocks().size());
+		for (int i = 0; i < expected.getBlocks().size(); i++)
+		{
+			final BlockSignature.Block expectedBlock = expected.getBlocks().get(i);
+			final BlockSignature.Block actualBlock = actual.getBlocks().get(i);
+			assertEquals(expectedBlock.getIndex(), actualBlock.getIndex());
+			assertEquals(expectedBlock.getOffset(), actualBlock.getOffset());
+			assertEquals(expectedBlock.getLength(), actualBlock.getLength());
+			assertEquals(expectedBlock.getWeakChecksum(), actualBlock.getWeakChecksum());
+			assertEquals(expectedBlock.getStrongChecksum(), actualBlock.getStrongChecksum());
+		}
+	}
+
+	/**
+	 * Test method for {@link BlockSignature#encode(java.io.OutputStream)} and
+	 * {@link BlockSignature#decode(java.io.InputStream)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testEncodeAndDecode() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = new byte[10_500];
+		new Random(3).nextBytes(bytes);
+		for (String algorithm : new String[] { "MD5", "SHA-256" })
+		{
+			final BlockSignature signature = newBlockSignature(bytes, 1000, algorithm);
+			final byte[] encoded = encode(signature);
+			final BlockSignature decoded = BlockSignature
+				.decode(new ByteArrayInputStream(encoded));
+			assertSignatureEquals(signature, decoded);
+			assertTrue(Arrays.equals(encoded, encode(decoded)));
+			assertEquals(RollingChecksumExtensions.findMatches(new ByteArrayInputStream(bytes),
+				signature),
+				RollingChecksumExtensions.findMatches(new ByteArrayInputStream(bytes), decoded));
+		}
+		final BlockSignature empty = newBlockSignature(new byte[0], 1000, "SHA-1");
+		assertSignatureEquals(empty,
+			BlockSignature.decode(new ByteArrayInputStream(encode(empty))));
+	}
+
+	/**
+	 * Test method for {@link BlockSignature#getBlocks(int)} with blocks that have the same weak
+	 * rolling checksum
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetBlocksWithWeakChecksum() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = new byte[5000];
+		new Random(4).nextBytes(bytes);
+		// the blocks 1 and 3 are equal
+		System.arraycopy(bytes, 1000, bytes, 3000, 1000);
+		final BlockSignature signature = newBlockSignature(bytes, 1000, "SHA-256");
+		final List<Integer> indexes = new ArrayList<>();
+		for (BlockSignature.Block block : signature
+			.getBlocks(signature.getBlocks().get(1).getWeakChecksum()))
+		{
+			indexes.add(block.getIndex());
+		}
+		assertEquals(List.of(1, 3), indexes);
+		for (BlockSignature.Block block : signature.getBlocks())
+		{
+			assertTrue(signature.getBlocks(block.getWeakChecksum()).contains(block));
+		}
+		assertTrue(signature.getBlocks(RollingChecksum.hash(new byte[7], 0, 7)).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link BlockSignature#decode(java.io.InputStream)} with data that is no
+	 * block signature
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test(expectedExceptions = IOException.class)
+	public void testDecodeWithInvalidMagic() throws NoSuchAlgorithmException, IOException
+	{
+		BlockSignature.decode(new ByteArrayInputStream(new byte[32]));
+	}
+
+	/**
+	 * Test method for {@link BlockSignature#decode(java.io.InputStream)} with a truncated
+	 * signature
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test(expectedExceptions = EOFException.class)
+	public void testDecodeWithTruncatedSignature() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = new byte[2500];
+		new Random(5).nextBytes(bytes);
+		final byte[] encoded = encode(newBlockSignature(bytes, 1000, "SHA-256"));
+		BlockSignature.decode(
+			new ByteArrayInputStream(Arrays.copyOf(encoded, encoded.length - 1)));
+	}
+
+}
@@ -21,6 +21,8 @@
 package io.github.astrapi69.checksum;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
@@ -76,6 +78,11 @@ public class ByteArrayChecksumExtensionsTest extends AbstractTestCase<Long, Long
 		actual = ByteArrayChecksumExtensions.getCheckSumAdler32HexString(secretMessageBytes);
 		expected = "28e3056c";
 		assertEquals(expected, actual);
+		// small checksum values are padded to the fixed length of eight characters
+		actual = ByteArrayChecksumExtensions
+			.getCheckSumAdler32HexString("a".getBytes(StandardCharsets.UTF_8));
+		expected = "00620062";
+		assertEquals(expected, actual);
 	}
 
 	/**
@@ -434,6 +441,130 @@ public class ByteArrayChecksumExtensionsTest extends AbstractTestCase<Long, Long
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#getCheckSumCRC32C(byte[])} and
+	 * {@link ByteArrayChecksumExtensions#getCheckSumCRC32CHexString(byte[])}
+	 */
+	@Test
+	public void testGetCheckSumCRC32C()
+	{
+		long expected;
+		long actual;
+		final byte[] checkBytes = "123456789".getBytes(StandardCharsets.UTF_8);
+		final byte[] secretMessageBytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+		// the check value of CRC-32C
+		actual = ByteArrayChecksumExtensions.getCheckSumCRC32C(checkBytes);
+		expected = 0xe3069283L;
+		assertEquals(expected, actual);
+		assertEquals("e3069283",
+			ByteArrayChecksumExtensions.getCheckSumCRC32CHexString(checkBytes));
+
+		actual = ByteArrayChecksumExtensions.getCheckSumCRC32C(secretMessageBytes);
+		expected = 1001324930L;
+		assertEquals(expected, actual);
+		assertEquals("3baf0182",
+			ByteArrayChecksumExtensions.getCheckSumCRC32CHexString(secretMessageBytes));
+		assertEquals("00000000",
+			ByteArrayChecksumExtensions.getCheckSumCRC32CHexString(new byte[0]));
+
+		final byte[] framed = "xx123456789yy".getBytes(StandardCharsets.UTF_8);
+		assertEquals(0xe3069283L, ByteArrayChecksumExtensions.getCheckSumCRC32C(framed, 2, 9));
+		assertEquals("e3069283",
+			ByteArrayChecksumExtensions.getCheckSumCRC32CHexString(framed, 2, 9));
+	}
+
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#getChecksum(byte[], int, int, Algorithm)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists.
+	 *             {@link java.security.MessageDigest} object.
+	 */
+	@Test
+	public void testGetChecksumByteArrayRangeAlgorithm() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		final byte[] packedBytes = "xx secret Message yy".getBytes(StandardCharsets.UTF_8);
+
+		expected = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+		actual = ByteArrayChecksumExtensions.getChecksum(packedBytes, 3, 14,
+			ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+
+		expected = "25659bd9db98ecc3c2077d44e69607b8";
+		actual = ByteArrayChecksumExtensions.getChecksum(packedBytes, 3, 14,
+			ChecksumAlgorithm.MD5.getAlgorithm());
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#getCheckSumCRC32(byte[], int, int)} and
+	 * {@link ByteArrayChecksumExtensions#getCheckSumCRC32HexString(byte[], int, int)}
+	 */
+	@Test
+	public void testGetCheckSumCRC32ByteArrayRange()
+	{
+		final byte[] packedBytes = "xx secret Message yy".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(711998200L, ByteArrayChecksumExtensions.getCheckSumCRC32(packedBytes, 3, 14));
+		assertEquals("2a703af8",
+			ByteArrayChecksumExtensions.getCheckSumCRC32HexString(packedBytes, 3, 14));
+	}
+
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#getCheckSumAdler32(byte[], int, int)} and
+	 * {@link ByteArrayChecksumExtensions#getCheckSumAdler32HexString(byte[], int, int)}
+	 */
+	@Test
+	public void testGetCheckSumAdler32ByteArrayRange()
+	{
+		final byte[] packedBytes = "xx secret Message yy".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(685966700L,
+			ByteArrayChecksumExtensions.getCheckSumAdler32(packedBytes, 3, 14));
+		assertEquals("28e3056c",
+			ByteArrayChecksumExtensions.getCheckSumAdler32HexString(packedBytes, 3, 14));
+	}
+
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#verify(byte[], String)} and
+	 * {@link ByteArrayChecksumExtensions#verify(byte[], byte[], String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testVerify() throws NoSuchAlgorithmException
+	{
+		final byte[] bytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+		final String sha256 = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+
+		// the algorithm is resolved from the length of the expected checksum
+		assertTrue(ByteArrayChecksumExtensions.verify(bytes, "25659bd9db98ecc3c2077d44e69607b8"));
+		assertTrue(ByteArrayChecksumExtensions.verify(bytes, sha256));
+		assertTrue(ByteArrayChecksumExtensions.verify(bytes, sha256.toUpperCase()));
+		assertTrue(ByteArrayChecksumExtensions.verify(bytes, sha256, ChecksumAlgorithm.SHA_256));
+		assertTrue(ByteArrayChecksumExtensions.verify(bytes, HexExtensions.decodeHex(sha256),
+			"SHA-256"));
+		assertFalse(ByteArrayChecksumExtensions.verify(bytes, sha256.replace('a', 'b')));
+		assertFalse(ByteArrayChecksumExtensions.verify(bytes, sha256, ChecksumAlgorithm.SHA_512));
+		assertFalse(ByteArrayChecksumExtensions.verify(bytes, "25659bd9"));
+	}
+
+	/**
+	 * Test method for {@link ByteArrayChecksumExtensions#verify(byte[], String)} with an expected
+	 * checksum that is no hexadecimal value
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testVerifyWithInvalidChecksum() throws NoSuchAlgorithmException
+	{
+		ByteArrayChecksumExtensions.verify(new byte[0], "noChecksum");
+	}
+
 	/**
 	 * Test method for {@link ByteArrayChecksumExtensions}
 	 */
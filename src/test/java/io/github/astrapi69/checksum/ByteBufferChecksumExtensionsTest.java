@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link ByteBufferChecksumExtensions}
+ */
+public class ByteBufferChecksumExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	private static ByteBuffer newDirectBuffer(final String text)
+	{
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		return buffer;
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getChecksum(ByteBuffer, Algorithm)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumByteBufferAlgorithm() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		ByteBuffer buffer;
+
+		buffer = newDirectBuffer("secret Message");
+		expected = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+		actual = ByteBufferChecksumExtensions.getChecksum(buffer, ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		// the position is not changed
+		assertEquals(0, buffer.position());
+
+		buffer = ByteBuffer.wrap("secret Message".getBytes(StandardCharsets.UTF_8));
+		expected = "25659bd9db98ecc3c2077d44e69607b8";
+		actual = ByteBufferChecksumExtensions.getChecksum(buffer, ChecksumAlgorithm.MD5);
+		assertEquals(expected, actual);
+		assertEquals(0, buffer.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getChecksum(ByteBuffer, String, boolean)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumByteBufferConsume() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		ByteBuffer buffer;
+
+		buffer = newDirectBuffer("secret Message");
+		expected = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+		actual = ByteBufferChecksumExtensions.getChecksum(buffer,
+			ChecksumAlgorithm.SHA_256.getAlgorithm(), true);
+		assertEquals(expected, actual);
+		assertEquals(buffer.limit(), buffer.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getChecksum(Algorithm, ByteBuffer...)}
+	 * and {@link ByteBufferChecksumExtensions#getChecksum(String, Iterable)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumByteBuffers() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		ByteBuffer first;
+		ByteBuffer second;
+
+		first = newDirectBuffer("secret Message");
+		second = ByteBuffer.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		expected = "5524e04736a8198e7db6c0033f7f974f40c01bd654f78eb4f1bafb05badbf30c";
+		actual = ByteBufferChecksumExtensions.getChecksum(ChecksumAlgorithm.SHA_256, first,
+			second);
+		assertEquals(expected, actual);
+
+		actual = ByteBufferChecksumExtensions
+			.getChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(), List.of(first, second));
+		assertEquals(expected, actual);
+		assertEquals(0, first.position());
+		assertEquals(0, second.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getCheckSumCRC32(ByteBuffer)} and
+	 * {@link ByteBufferChecksumExtensions#getCheckSumCRC32HexString(ByteBuffer)}
+	 */
+	@Test
+	public void testGetCheckSumCRC32()
+	{
+		long expected;
+		long actual;
+		ByteBuffer buffer;
+
+		buffer = newDirectBuffer("secret Message");
+		expected = 711998200L;
+		actual = ByteBufferChecksumExtensions.getCheckSumCRC32(buffer);
+		assertEquals(expected, actual);
+		assertEquals(0, buffer.position());
+		assertEquals("2a703af8", ByteBufferChecksumExtensions.getCheckSumCRC32HexString(buffer));
+
+		actual = ByteBufferChecksumExtensions
+			.getCheckSumCRC32(List.of(newDirectBuffer("secret "), newDirectBuffer("Message")));
+		assertEquals(expected, actual);
+
+		actual = ByteBufferChecksumExtensions.getCheckSumCRC32(buffer, true);
+		assertEquals(expected, actual);
+		assertEquals(buffer.limit(), buffer.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getCheckSumCRC32C(ByteBuffer)} and
+	 * {@link ByteBufferChecksumExtensions#getCheckSumCRC32CHexString(ByteBuffer)}
+	 */
+	@Test
+	public void testGetCheckSumCRC32C()
+	{
+		long expected;
+		long actual;
+		ByteBuffer buffer;
+
+		buffer = newDirectBuffer("secret Message");
+		expected = 1001324930L;
+		actual = ByteBufferChecksumExtensions.getCheckSumCRC32C(buffer);
+		assertEquals(expected, actual);
+		assertEquals(0, buffer.position());
+		assertEquals("3baf0182", ByteBufferChecksumExtensions.getCheckSumCRC32CHexString(buffer));
+
+		actual = ByteBufferChecksumExtensions
+			.getCheckSumCRC32C(List.of(newDirectBuffer("secret "), newDirectBuffer("Message")));
+		assertEquals(expected, actual);
+
+		actual = ByteBufferChecksumExtensions.getCheckSumCRC32C(buffer, true);
+		assertEquals(expected, actual);
+		assertEquals(buffer.limit(), buffer.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions#getCheckSumAdler32(ByteBuffer)} and
+	 * {@link ByteBufferChecksumExtensions#getCheckSumAdler32HexString(ByteBuffer)}
+	 */
+	@Test
+	public void testGetCheckSumAdler32()
+	{
+		long expected;
+		long actual;
+		ByteBuffer buffer;
+
+		buffer = newDirectBuffer("secret Message");
+		expected = 685966700L;
+		actual = ByteBufferChecksumExtensions.getCheckSumAdler32(buffer);
+		assertEquals(expected, actual);
+		assertEquals(0, buffer.position());
+		assertEquals("28e3056c", ByteBufferChecksumExtensions.getCheckSumAdler32HexString(buffer));
+
+		actual = ByteBufferChecksumExtensions
+			.getCheckSumAdler32(List.of(newDirectBuffer("secret "), newDirectBuffer("Message")));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ByteBufferChecksumExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ByteBufferChecksumExtensions.class);
+	}
+
+}
@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link ChecksumCombineExtensions}
+ */
+public class ChecksumCombineExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	private static final int[] SPLITS = { 0, 1, 7, 64, 1000, 5551, 5552, 65521, 65522, 99999,
+			100000 };
+
+	private static long checksum(final Checksum checksum, final byte[] bytes, final int offset,
+		final int length)
+	{
+		checksum.reset();
+		checksum.update(bytes, offset, length);
+		return checksum.getValue();
+	}
+
+	private static byte[] newBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions#combineCRC32(long, long, long)}
+	 */
+	@Test
+	public void testCombineCRC32()
+	{
+		final byte[] bytes = newBytes(100000);
+		final Checksum checksum = new CRC32();
+		final long expected = checksum(checksum, bytes, 0, bytes.length);
+		for (int split : SPLITS)
+		{
+			final long crc1 = checksum(checksum, bytes, 0, split);
+			final long crc2 = checksum(checksum, bytes, split, bytes.length - split);
+			assertEquals(expected,
+				ChecksumCombineExtensions.combineCRC32(crc1, crc2, bytes.length - split));
+		}
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions#combineCRC32C(long, long, long)}
+	 */
+	@Test
+	public void testCombineCRC32C()
+	{
+		final byte[] bytes = newBytes(100000);
+		final Checksum checksum = new CRC32C();
+		final long expected = checksum(checksum, bytes, 0, bytes.length);
+		for (int split : SPLITS)
+		{
+			final long crc1 = checksum(checksum, bytes, 0, split);
+			final long crc2 = checksum(checksum, bytes, split, bytes.length - split);
+			assertEquals(expected,
+				ChecksumCombineExtensions.combineCRC32C(crc1, crc2, bytes.length - split));
+		}
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions#combineAdler32(long, long, long)}
+	 */
+	@Test
+	public void testCombineAdler32()
+	{
+		final byte[] bytes = newBytes(100000);
+		final Checksum checksum = new Adler32();
+		final long expected = checksum(checksum, bytes, 0, bytes.length);
+		for (int split : SPLITS)
+		{
+			final long adler1 = checksum(checksum, bytes, 0, split);
+			final long adler2 = checksum(checksum, bytes, split, bytes.length - split);
+			assertEquals(expected,
+				ChecksumCombineExtensions.combineAdler32(adler1, adler2, bytes.length - split));
+		}
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions#combineCRC32(long, long, long)} with a
+	 * second range that is larger than 4 GB
+	 */
+	@Test
+	public void testCombineWithLargeLength()
+	{
+		// the checksums of zero bytes combine like the checksum of the first range alone is
+		// continued with the zero bytes
+		final byte[] zeros = new byte[1 << 20];
+		final Checksum checksum = new CRC32();
+		checksum.update(new byte[] { 1, 2, 3 });
+		final long crc1 = checksum.getValue();
+		final long zerosCrc = checksum(new CRC32(), zeros, 0, zeros.length);
+		long expected = crc1;
+		long zerosOnly = 0;
+		long length = 0;
+		for (int i = 0; i < 4097; i++)
+		{
+			expected = ChecksumCombineExtensions.combineCRC32(expected, zerosCrc, zeros.length);
+			zerosOnly = ChecksumCombineExtensions.combineCRC32(zerosOnly, zerosCrc, zeros.length);
+			length += zeros.length;
+		}
+		assertEquals(expected, ChecksumCombineExtensions.combineCRC32(crc1, zerosOnly, length));
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions#combineCRC32(long, long, long)} with a
+	 * negative length
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCombineWithNegativeLength()
+	{
+		ChecksumCombineExtensions.combineCRC32(0, 0, -1);
+	}
+
+	/**
+	 * Test method for {@link ChecksumCombineExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ChecksumCombineExtensions.class);
+	}
+
+}
@@ -21,9 +21,13 @@
 package io.github.astrapi69.checksum;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.meanbean.test.BeanTester;
 import org.testng.annotations.Test;
@@ -177,6 +181,65 @@ public class ChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ChecksumExtensions#findChecksumAlgorithm(CharSequence)}
+	 */
+	@Test
+	public void testFindChecksumAlgorithm()
+	{
+		Optional<ChecksumAlgorithm> expected;
+		Optional<ChecksumAlgorithm> actual;
+
+		expected = Optional.of(ChecksumAlgorithm.SHA_1);
+		actual = ChecksumExtensions
+			.findChecksumAlgorithm("496DFA0ECF50CC6E3EDA41FD3258272C2F2F0FF1");
+		assertEquals(expected, actual);
+		actual = ChecksumExtensions
+			.findChecksumAlgorithm(new StringBuilder("496dfa0ecf50cc6e3eda41fd3258272c2f2f0ff1"));
+		assertEquals(expected, actual);
+		expected = Optional.empty();
+		actual = ChecksumExtensions
+			.findChecksumAlgorithm("496dfa0ecf50cc6e3eda41fd3258272c2f2f0ffg");
+		assertEquals(expected, actual);
+		actual = ChecksumExtensions
+			.findChecksumAlgorithm("496dfa0ecf50cc6e3eda41fd3258272c2f2f0ff");
+		assertEquals(expected, actual);
+		actual = ChecksumExtensions.findChecksumAlgorithm("3a37a2c10a590785dbfb9ce3b15b04 4");
+		assertEquals(expected, actual);
+		actual = ChecksumExtensions.findChecksumAlgorithm("3a37a2c10a590785dbfb9ce3b15b046\u0661");
+		assertEquals(expected, actual);
+		actual = ChecksumExtensions.findChecksumAlgorithm("");
+		assertEquals(expected, actual);
+		// every character that is not hexadecimal is rejected
+		for (char c = 0; c < 0x80; c++)
+		{
+			final boolean hex = Character.digit(c, 16) != -1;
+			assertEquals(hex, ChecksumExtensions.findChecksumAlgorithm(
+				"3a37a2c10a590785dbfb9ce3b15b046" + c).isPresent());
+		}
+	}
+
+	/**
+	 * Test method for {@link ChecksumExtensions#resolveChecksumAlgorithms(CharSequence...)} and
+	 * {@link ChecksumExtensions#resolveChecksumAlgorithms(Stream)}
+	 */
+	@Test
+	public void testResolveChecksumAlgorithms()
+	{
+		final String[] values = { "3a37a2c10a590785dbfb9ce3b15b0464",
+				"496dfa0ecf50cc6e3eda41fd3258272c2f2f0ff1", "noChecksum",
+				"8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa" };
+		final ChecksumAlgorithm[] expected = { ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA_1, null,
+				ChecksumAlgorithm.SHA_256 };
+		ChecksumAlgorithm[] actual;
+
+		actual = ChecksumExtensions.resolveChecksumAlgorithms(values);
+		assertTrue(Arrays.equals(expected, actual));
+		actual = ChecksumExtensions.resolveChecksumAlgorithms(Stream.of(values))
+			.map(algorithm -> algorithm.orElse(null)).toArray(ChecksumAlgorithm[]::new);
+		assertTrue(Arrays.equals(expected, actual));
+	}
+
 	/**
 	 * Test method for {@link ChecksumExtensions}
 	 */
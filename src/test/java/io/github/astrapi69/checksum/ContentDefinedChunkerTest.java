@@ -0,0 +1,193 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link ContentDefinedChunker}
+ */
+public class ContentDefinedChunkerTest extends AbstractTestCase<Long, Long>
+{
+
+	private static byte[] newBytes(final int length, final long seed)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static Set<String> checksums(final List<ContentChunk> chunks)
+	{
+		final Set<String> checksums = new HashSet<>();
+		for (ContentChunk chunk : chunks)
+		{
+			checksums.add(chunk.getChecksum());
+		}
+		return checksums;
+	}
+
+	/**
+	 * Test method for {@link ContentDefinedChunker#getChunks(byte[])}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChunks() throws NoSuchAlgorithmException
+	{
+		final byte[] bytes = newBytes(1 << 20, 1);
+		final ContentDefinedChunker chunker = new ContentDefinedChunker(
+			ChecksumAlgorithm.SHA_256);
+		final List<ContentChunk> chunks = chunker.getChunks(bytes);
+		long offset = 0;
+		for (int index = 0; index < chunks.size(); index++)
+		{
+			final ContentChunk chunk = chunks.get(index);
+			assertEquals(offset, chunk.getOffset());
+			assertTrue(chunk.getLength() <= ContentDefinedChunker.DEFAULT_MAX_SIZE);
+			if (index < chunks.size() - 1)
+			{
+				assertTrue(ContentDefinedChunker.DEFAULT_MIN_SIZE < chunk.getLength());
+			}
+			assertEquals(
+				ByteArrayChecksumExtensions.getChecksum(bytes, (int)offset, chunk.getLength(),
+					ChecksumAlgorithm.SHA_256),
+				chunk.getChecksum());
+			offset += chunk.getLength();
+		}
+		assertEquals(bytes.length, offset);
+		// the normalized chunking keeps the chunks near the average size
+		final long averageSize = bytes.length / chunks.size();
+		assertTrue(averageSize > ContentDefinedChunker.DEFAULT_AVERAGE_SIZE / 2);
+		assertTrue(averageSize < ContentDefinedChunker.DEFAULT_AVERAGE_SIZE * 2);
+
+		assertEquals(0, chunker.getChunks(new byte[0]).size());
+		assertEquals(1, chunker.getChunks(new byte[100]).size());
+	}
+
+	/**
+	 * Test method for {@link ContentDefinedChunker#getChunks(byte[])} with data that is changed by
+	 * an insertion and a removal
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChunksWithChangedData() throws NoSuchAlgorithmException
+	{
+		final byte[] original = newBytes(1 << 20, 2);
+		final byte[] changed = new byte[original.length + 10 - 5000];
+		// insert 10 bytes at 100000 and remove 5000 bytes at 700000
+		System.arraycopy(original, 0, changed, 0, 100000);
+		System.arraycopy(newBytes(10, 3), 0, changed, 100000, 10);
+		System.arraycopy(original, 100000, changed, 100010, 600000);
+		System.arraycopy(original, 705000, changed, 700010, original.length - 705000);
+
+		final ContentDefinedChunker chunker = new ContentDefinedChunker("MD5", 1024, 4096,
+			32768);
+		final Set<String> originalChecksums = checksums(chunker.getChunks(original));
+		final List<ContentChunk> changedChunks = chunker.getChunks(changed);
+		int newChunks = 0;
+		for (ContentChunk chunk : changedChunks)
+		{
+			if (!originalChecksums.contains(chunk.getChecksum()))
+			{
+				newChunks++;
+			}
+		}
+		// only the chunks around the two changes are new
+		assertTrue(0 < newChunks);
+		assertTrue("new chunks: " + newChunks, newChunks <= 6);
+	}
+
+	/**
+	 * Test method for {@link ContentDefinedChunker#getChunks(File)} and
+	 * {@link ContentDefinedChunker#getChunks(java.io.InputStream)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChunksStream() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = newBytes(3 * 1024 * 1024 + 7, 4);
+		final ContentDefinedChunker chunker = new ContentDefinedChunker(Blake3.ALGORITHM, 256,
+			1024, 4096);
+		final List<ContentChunk> expected = chunker.getChunks(bytes);
+		assertEquals(expected, chunker.getChunks(new ByteArrayInputStream(bytes)));
+
+		final File file = File.createTempFile("chunks", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), bytes);
+		assertEquals(expected, chunker.getChunks(file));
+
+		final List<ContentChunk> consumed = new ArrayList<>();
+		chunker.chunk(new ByteArrayInputStream(bytes), consumed::add);
+		assertEquals(expected, consumed);
+	}
+
+	/**
+	 * Test method for {@link ContentDefinedChunker#ContentDefinedChunker(String, int, int, int)}
+	 * with invalid sizes
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNewWithInvalidSizes() throws NoSuchAlgorithmException
+	{
+		new ContentDefinedChunker("MD5", 4096, 4096, 8192);
+	}
+
+	/**
+	 * Test method for {@link ContentDefinedChunker#ContentDefinedChunker(String, int, int, int)}
+	 * with an unknown algorithm
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = NoSuchAlgorithmException.class)
+	public void testNewWithUnknownAlgorithm() throws NoSuchAlgorithmException
+	{
+		new ContentDefinedChunker("FOO", 1024, 4096, 8192);
+	}
+
+}
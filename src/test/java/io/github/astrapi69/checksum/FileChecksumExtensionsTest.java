@@ -21,10 +21,19 @@
 package io.github.astrapi69.checksum;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.meanbean.test.BeanTester;
 import org.testng.annotations.BeforeMethod;
@@ -123,6 +132,30 @@ public class FileChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link FileChecksumExtensions#getCheckSumCRC32C(File)},
+	 * {@link FileChecksumExtensions#getCheckSumCRC32C(File, int)},
+	 * {@link FileChecksumExtensions#getCheckSumCRC32CMapped(File, int)} and
+	 * {@link FileChecksumExtensions#getCheckSumCRC32CHexString(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetCheckSumCRC32CFile() throws IOException
+	{
+		long expected;
+		long actual;
+		expected = 783589796L;
+		actual = FileChecksumExtensions.getCheckSumCRC32C(testFile);
+		assertEquals(expected, actual);
+		actual = FileChecksumExtensions.getCheckSumCRC32C(testFile, 7);
+		assertEquals(expected, actual);
+		actual = FileChecksumExtensions.getCheckSumCRC32CMapped(testFile, 7);
+		assertEquals(expected, actual);
+		assertEquals("2eb4a1a4", FileChecksumExtensions.getCheckSumCRC32CHexString(testFile));
+	}
+
 	/**
 	 * Test method for {@link FileChecksumExtensions#getChecksum(File, Algorithm)}
 	 *
@@ -331,6 +364,252 @@ public class FileChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expectedLength, actualLength);
 	}
 
+	/**
+	 * Test method for {@link FileChecksumExtensions#getChecksum(File, Algorithm, int)},
+	 * {@link FileChecksumExtensions#getCheckSumCRC32(File, int)} and
+	 * {@link FileChecksumExtensions#getCheckSumAdler32(File, int)} with a buffer that is smaller
+	 * than the file
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the SecretKeyFactory object fails.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetChecksumFileWithBufferSize() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+
+		expected = "94151a5c66422a9adf706937eeb7fafec25032c380b55b0e92695baf297fb747";
+		actual = FileChecksumExtensions.getChecksum(testFile, ChecksumAlgorithm.SHA_256, 7);
+		assertEquals(expected, actual);
+
+		expected = "3a37a2c10a590785dbfb9ce3b15b0464";
+		actual = FileChecksumExtensions.getChecksum(testFile,
+			ChecksumAlgorithm.MD5.getAlgorithm(), 1);
+		assertEquals(expected, actual);
+
+		assertEquals(197057321L, FileChecksumExtensions.getCheckSumCRC32(testFile, 7));
+		assertEquals(3296728756L, FileChecksumExtensions.getCheckSumAdler32(testFile, 7));
+		// the thread buffer is reused and a larger size is read through a heap buffer
+		assertEquals(197057321L, FileChecksumExtensions.getCheckSumCRC32(testFile));
+		assertEquals(197057321L, FileChecksumExtensions.getCheckSumCRC32(testFile,
+			FileChecksumExtensions.DEFAULT_BUFFER_SIZE + 1));
+		assertEquals(3296728756L, FileChecksumExtensions.getCheckSumAdler32(testFile,
+			FileChecksumExtensions.DEFAULT_BUFFER_SIZE * 2));
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getChecksum(File, String, int)} with an empty
+	 * file
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the SecretKeyFactory object fails.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetChecksumEmptyFile() throws NoSuchAlgorithmException, IOException
+	{
+		File emptyFile = File.createTempFile("empty", ".txt");
+		emptyFile.deleteOnExit();
+
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			FileChecksumExtensions.getChecksum(emptyFile, ChecksumAlgorithm.SHA_256));
+		assertEquals(0L, FileChecksumExtensions.getCheckSumCRC32(emptyFile));
+		assertEquals(1L, FileChecksumExtensions.getCheckSumAdler32(emptyFile));
+		assertEquals(0L, FileChecksumExtensions.getChecksum(emptyFile, true));
+		assertEquals(1L, FileChecksumExtensions.getChecksum(emptyFile, false));
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getChecksum(File, String, int)} with an invalid
+	 * buffer size
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the SecretKeyFactory object fails.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testGetChecksumFileWithInvalidBufferSize()
+		throws NoSuchAlgorithmException, IOException
+	{
+		FileChecksumExtensions.getChecksum(testFile, ChecksumAlgorithm.SHA_256.getAlgorithm(), 0);
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getChecksumMapped(File, String, int)},
+	 * {@link FileChecksumExtensions#getCheckSumCRC32Mapped(File, int)} and
+	 * {@link FileChecksumExtensions#getCheckSumAdler32Mapped(File, int)} with windows that are
+	 * smaller than the file
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the SecretKeyFactory object fails.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetChecksumMapped() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+
+		expected = "94151a5c66422a9adf706937eeb7fafec25032c380b55b0e92695baf297fb747";
+		actual = FileChecksumExtensions.getChecksumMapped(testFile, ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+
+		expected = "4d0c14f299254e58dcea1f524ca08af5f0776b1f5070919a859b92c2ab350635375862ab0727fd5e34ff35da837bd836a17047544db8df63adc4912211ea7f02";
+		actual = FileChecksumExtensions.getChecksumMapped(testFile,
+			ChecksumAlgorithm.SHA_512.getAlgorithm(), 7);
+		assertEquals(expected, actual);
+
+		assertEquals(197057321L, FileChecksumExtensions.getCheckSumCRC32Mapped(testFile, 7));
+		assertEquals(3296728756L, FileChecksumExtensions.getCheckSumAdler32Mapped(testFile, 7));
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getCheckSumCRC32Parallel(File, int, Executor)},
+	 * {@link FileChecksumExtensions#getCheckSumCRC32CParallel(File, int, Executor)} and
+	 * {@link FileChecksumExtensions#getCheckSumAdler32Parallel(File, int, Executor)} with ranges
+	 * that are smaller than the file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetCheckSumParallel() throws IOException
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			assertEquals(197057321L,
+				FileChecksumExtensions.getCheckSumCRC32Parallel(testFile, 7, executor));
+			assertEquals(783589796L,
+				FileChecksumExtensions.getCheckSumCRC32CParallel(testFile, 7, executor));
+			assertEquals(3296728756L,
+				FileChecksumExtensions.getCheckSumAdler32Parallel(testFile, 7, executor));
+
+			final File file = File.createTempFile("parallel", ".bin");
+			file.deleteOnExit();
+			final byte[] bytes = new byte[1_000_003];
+			new Random(42).nextBytes(bytes);
+			Files.write(file.toPath(), bytes);
+			for (int chunkSize : new int[] { 4096, 65537, 333_334, 2_000_000 })
+			{
+				assertEquals(FileChecksumExtensions.getCheckSumCRC32(file, 4096),
+					FileChecksumExtensions.getCheckSumCRC32Parallel(file, chunkSize, executor));
+				assertEquals(FileChecksumExtensions.getCheckSumCRC32C(file, 4096),
+					FileChecksumExtensions.getCheckSumCRC32CParallel(file, chunkSize, executor));
+				assertEquals(FileChecksumExtensions.getCheckSumAdler32(file, 4096),
+					FileChecksumExtensions.getCheckSumAdler32Parallel(file, chunkSize, executor));
+			}
+			assertEquals(FileChecksumExtensions.getCheckSumCRC32(file, 4096),
+				FileChecksumExtensions.getCheckSumCRC32Parallel(file));
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getCheckSumCRC32Parallel(File, int, Executor)}
+	 * that checks that the number of pending ranges is bounded
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetCheckSumParallelWithBoundedRanges() throws IOException
+	{
+		final int maxRanges = 2 * Runtime.getRuntime().availableProcessors();
+		final AtomicInteger pending = new AtomicInteger();
+		final AtomicInteger maxPending = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		final Executor countingExecutor = command -> {
+			maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max);
+			executor.execute(() -> {
+				try
+				{
+					command.run();
+				}
+				finally
+				{
+					pending.decrementAndGet();
+				}
+			});
+		};
+		try
+		{
+			final File file = File.createTempFile("bounded", ".bin");
+			file.deleteOnExit();
+			final byte[] bytes = new byte[100_000];
+			new Random(42).nextBytes(bytes);
+			Files.write(file.toPath(), bytes);
+			assertEquals(FileChecksumExtensions.getCheckSumCRC32(file, 4096),
+				FileChecksumExtensions.getCheckSumCRC32Parallel(file, 100, countingExecutor));
+			// each of the 4 workers may have released its permit but not yet decremented
+			assertTrue(maxPending.get() <= maxRanges + 4);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		try
+		{
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		assertEquals(0, pending.get());
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#getCheckSumCRC32Parallel(File, int, Executor)}
+	 * with an invalid chunk size
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testGetCheckSumParallelWithInvalidChunkSize() throws IOException
+	{
+		FileChecksumExtensions.getCheckSumCRC32Parallel(testFile, 0, Runnable::run);
+	}
+
+	/**
+	 * Test method for {@link FileChecksumExtensions#verify(File, String)} and
+	 * {@link FileChecksumExtensions#verify(File, byte[], String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerify() throws NoSuchAlgorithmException, IOException
+	{
+		String checksum;
+
+		checksum = FileChecksumExtensions.getChecksum(testFile, ChecksumAlgorithm.SHA_256);
+		assertTrue(FileChecksumExtensions.verify(testFile, checksum));
+		assertTrue(FileChecksumExtensions.verify(testFile, checksum.toUpperCase(),
+			ChecksumAlgorithm.SHA_256));
+		assertTrue(FileChecksumExtensions.verify(testFile, HexExtensions.decodeHex(checksum),
+			"SHA-256"));
+		assertFalse(FileChecksumExtensions.verify(testFile, checksum, ChecksumAlgorithm.SHA_512));
+		assertFalse(FileChecksumExtensions.verify(testFile, new byte[32], "SHA-256"));
+		// a digest with another length does not match
+		assertFalse(FileChecksumExtensions.verify(testFile, new byte[4], "SHA-256"));
+
+		checksum = FileChecksumExtensions.getChecksum(checksumDir, ChecksumAlgorithm.MD5);
+		assertTrue(FileChecksumExtensions.verify(checksumDir, checksum));
+	}
+
 	/**
 	 * Test method for {@link FileChecksumExtensions}
 	 */
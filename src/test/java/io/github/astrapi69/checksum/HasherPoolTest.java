@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link HasherPool}
+ */
+public class HasherPoolTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link HasherPool#getHasher(String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetHasher() throws NoSuchAlgorithmException
+	{
+		final Hasher hasher = HasherPool.getHasher(ChecksumAlgorithm.SHA_256);
+		hasher.update("abc".getBytes(StandardCharsets.US_ASCII));
+		// the hasher of the current thread is reused and reset
+		final Hasher pooled = HasherPool.getHasher("SHA-256");
+		assertSame(hasher, pooled);
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			pooled.finishHexString());
+		assertNotSame(hasher, HasherPool.getHasher("CRC32"));
+		// another thread gets its own hasher
+		final Hasher other = CompletableFuture.supplyAsync(() -> {
+			try
+			{
+				return HasherPool.getHasher("SHA-256");
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}).join();
+		assertNotSame(hasher, other);
+	}
+
+	/**
+	 * Test method for {@link HasherPool#getHasher(String)} with an unknown algorithm
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = NoSuchAlgorithmException.class)
+	public void testGetHasherWithUnknownAlgorithm() throws NoSuchAlgorithmException
+	{
+		HasherPool.getHasher("FOO");
+	}
+
+	/**
+	 * Test method for {@link HasherPool}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(HasherPool.class);
+	}
+
+}
@@ -0,0 +1,226 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link Hasher}
+ */
+public class HasherTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link Hasher#update(byte[], int, int)} and {@link Hasher#finish()}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testFinish() throws NoSuchAlgorithmException
+	{
+		final byte[] abc = "abc".getBytes(StandardCharsets.US_ASCII);
+		final byte[] digits = "123456789".getBytes(StandardCharsets.US_ASCII);
+		Hasher hasher;
+
+		hasher = new Hasher(ChecksumAlgorithm.SHA_256);
+		assertEquals("SHA-256", hasher.getAlgorithm());
+		hasher.update(abc, 0, 1).update((byte)'b').update(abc, 2, 1);
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+			hasher.finishHexString());
+		// finish resets the hasher
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			hasher.finishHexString());
+
+		hasher = new Hasher(ZipChecksumAlgorithm.CRC32);
+		assertEquals("cbf43926", hasher.update(digits).finishHexString());
+		assertEquals("00000000", hasher.finishHexString());
+		assertEquals("091e01de", new Hasher("adler32").update(digits).finishHexString());
+		assertEquals("e3069283", new Hasher("CRC32C").update(digits).finishHexString());
+		assertEquals("6437b3ac38465133ffb63b75273a8db548c558465d79db03fd359c6cd5bd9d85",
+			new Hasher(Blake3.ALGORITHM).update(abc).finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#reset()}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testReset() throws NoSuchAlgorithmException
+	{
+		final byte[] digits = "123456789".getBytes(StandardCharsets.US_ASCII);
+		assertEquals("cbf43926",
+			new Hasher("CRC32").update(new byte[] { 1, 2 }).reset().update(digits)
+				.finishHexString());
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(digits, "MD5"),
+			new Hasher("MD5").update(new byte[] { 1, 2 }).reset().update(digits)
+				.finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#update(ByteBuffer)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testUpdateByteBuffer() throws NoSuchAlgorithmException
+	{
+		final byte[] bytes = new byte[10000];
+		new Random(42).nextBytes(bytes);
+		final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, "SHA-512"),
+			new Hasher("SHA-512").update(direct).finishHexString());
+		assertEquals(0, direct.remaining());
+		assertEquals(ByteArrayChecksumExtensions.getCheckSumCRC32HexString(bytes),
+			new Hasher("CRC32").update(ByteBuffer.wrap(bytes)).finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#update(CharSequence)} and
+	 * {@link Hasher#update(CharSequence, java.nio.charset.Charset)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testUpdateCharSequence() throws NoSuchAlgorithmException
+	{
+		final StringBuilder stringBuilder = new StringBuilder();
+		while (stringBuilder.length() < 20000)
+		{
+			stringBuilder.append("secret Message \u00e4\u00f6\u00fc \u20ac \ud83d\ude00 ");
+		}
+		// a lone surrogate is replaced like in String.getBytes
+		stringBuilder.append('\ud83d');
+		final String text = stringBuilder.toString();
+		assertEquals(
+			ByteArrayChecksumExtensions.getChecksum(text.getBytes(StandardCharsets.UTF_8),
+				"SHA-256"),
+			new Hasher("SHA-256").update(stringBuilder).finishHexString());
+		assertEquals(
+			ByteArrayChecksumExtensions.getChecksum(text.getBytes(StandardCharsets.UTF_16LE),
+				"SHA-256"),
+			new Hasher("SHA-256").update(text, StandardCharsets.UTF_16LE).finishHexString());
+		assertEquals(
+			ByteArrayChecksumExtensions
+				.getCheckSumAdler32HexString(text.getBytes(StandardCharsets.ISO_8859_1)),
+			new Hasher("Adler32").update(text, StandardCharsets.ISO_8859_1).finishHexString());
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			new Hasher("SHA-256").update("").finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#update(Reader, Charset)} with random characters that are read
+	 * in blocks of random size, so surrogate pairs are split between the blocks
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testUpdateReader() throws NoSuchAlgorithmException, IOException
+	{
+		final Random random = new Random(11);
+		final char[] alphabet = { 'a', '?', '\u007f', '\u0080', '\u00ff', '\u0100', '\u07ff',
+				'\u0800', '\u20ac', '\uffff', '\ud83d', '\ude00' };
+		final char[] chars = new char[30000];
+		for (int i = 0; i < chars.length; i++)
+		{
+			chars[i] = alphabet[random.nextInt(alphabet.length)];
+		}
+		final String text = new String(chars);
+		for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+				StandardCharsets.US_ASCII, StandardCharsets.UTF_16BE })
+		{
+			final String expected = ByteArrayChecksumExtensions.getChecksum(text.getBytes(charset),
+				"SHA-256");
+			assertEquals(expected,
+				new Hasher("SHA-256").update(new StringBuilder(text), charset).finishHexString());
+			final Reader reader = new StringReader(text)
+			{
+				@Override
+				public int read(final char[] buffer, final int offset, final int length)
+					throws IOException
+				{
+					return super.read(buffer, offset, Math.min(length, 1 + random.nextInt(7)));
+				}
+			};
+			assertEquals(expected,
+				new Hasher("SHA-256").update(reader, charset).finishHexString());
+			assertEquals(expected, new Hasher("SHA-256")
+				.update(new StringReader(text), charset).finishHexString());
+		}
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			new Hasher("SHA-256").update(new StringReader("")).finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#update(java.io.InputStream)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testUpdateInputStream() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = new byte[100000];
+		new Random(7).nextBytes(bytes);
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, "SHA-1"),
+			new Hasher("SHA-1").update(new ByteArrayInputStream(bytes)).finishHexString());
+		assertEquals(ByteArrayChecksumExtensions.getCheckSumCRC32CHexString(bytes),
+			new Hasher("CRC32C").update(new ByteArrayInputStream(bytes)).finishHexString());
+	}
+
+	/**
+	 * Test method for {@link Hasher#Hasher(String)} with an unknown algorithm
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = NoSuchAlgorithmException.class)
+	public void testNewWithUnknownAlgorithm() throws NoSuchAlgorithmException
+	{
+		new Hasher("FOO");
+	}
+
+}
@@ -0,0 +1,264 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link HexExtensions}
+ */
+public class HexExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHex(byte[])}
+	 */
+	@Test
+	public void testEncodeHex()
+	{
+		String expected;
+		String actual;
+
+		expected = "00017f80ff0a";
+		actual = HexExtensions.encodeHex(new byte[] { 0, 1, 127, -128, -1, 10 });
+		assertEquals(expected, actual);
+
+		expected = "";
+		actual = HexExtensions.encodeHex(new byte[0]);
+		assertEquals(expected, actual);
+
+		for (int i = 0; i < 256; i++)
+		{
+			expected = String.format("%02x", i);
+			actual = HexExtensions.encodeHex(new byte[] { (byte)i });
+			assertEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHex(byte[], int, int)}
+	 */
+	@Test
+	public void testEncodeHexRange()
+	{
+		String expected;
+		String actual;
+		final byte[] bytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+
+		expected = "4d657373616765";
+		actual = HexExtensions.encodeHex(bytes, 7, 7);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHex(byte[], int, int, char[], int)} and
+	 * {@link HexExtensions#encodeHex(byte[], int, int, byte[], int)}
+	 */
+	@Test
+	public void testEncodeHexToArray()
+	{
+		String expected;
+		String actual;
+		int written;
+		final byte[] bytes = { (byte)0xca, (byte)0xfe, (byte)0xba, (byte)0xbe };
+
+		final char[] chars = { '[', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ']' };
+		written = HexExtensions.encodeHex(bytes, 0, bytes.length, chars, 1);
+		assertEquals(8, written);
+		expected = "[cafebabe]";
+		actual = new String(chars);
+		assertEquals(expected, actual);
+
+		final byte[] target = new byte[4];
+		written = HexExtensions.encodeHex(bytes, 1, 2, target, 0);
+		assertEquals(4, written);
+		expected = "feba";
+		actual = new String(target, StandardCharsets.US_ASCII);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHex(byte[], Appendable)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testEncodeHexToAppendable() throws IOException
+	{
+		String expected;
+		String actual;
+
+		expected = "sha:cafe";
+		actual = HexExtensions
+			.encodeHex(new byte[] { (byte)0xca, (byte)0xfe }, new StringBuilder("sha:"))
+			.toString();
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHexInt(int)}
+	 */
+	@Test
+	public void testEncodeHexInt()
+	{
+		String expected;
+		String actual;
+
+		expected = "00000000";
+		actual = HexExtensions.encodeHexInt(0);
+		assertEquals(expected, actual);
+
+		expected = "0bbedb29";
+		actual = HexExtensions.encodeHexInt((int)197057321L);
+		assertEquals(expected, actual);
+
+		expected = "c48016b4";
+		actual = HexExtensions.encodeHexInt((int)3296728756L);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#encodeHexLong(long)}
+	 */
+	@Test
+	public void testEncodeHexLong()
+	{
+		String expected;
+		String actual;
+
+		expected = "000000000000002a";
+		actual = HexExtensions.encodeHexLong(42L);
+		assertEquals(expected, actual);
+
+		expected = "ef46db3751d8e999";
+		actual = HexExtensions.encodeHexLong(0xef46db3751d8e999L);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#decodeHex(CharSequence)} and
+	 * {@link HexExtensions#decodeHex(CharSequence, byte[], int)}
+	 */
+	@Test
+	public void testDecodeHex()
+	{
+		byte[] expected;
+		byte[] actual;
+
+		expected = new byte[] { 0, 1, 127, -128, -1, 10 };
+		actual = HexExtensions.decodeHex("00017f80ff0a");
+		assertTrue(Arrays.equals(expected, actual));
+		actual = HexExtensions.decodeHex(new StringBuilder("00017F80FF0A"));
+		assertTrue(Arrays.equals(expected, actual));
+		assertEquals(0, HexExtensions.decodeHex("").length);
+
+		expected = new byte[1000];
+		new Random(3).nextBytes(expected);
+		actual = HexExtensions.decodeHex(HexExtensions.encodeHex(expected));
+		assertTrue(Arrays.equals(expected, actual));
+
+		actual = new byte[4];
+		assertEquals(2, HexExtensions.decodeHex("abCD", actual, 1));
+		assertTrue(Arrays.equals(new byte[] { 0, (byte)0xab, (byte)0xcd, 0 }, actual));
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#decodeHex(CharSequence)} with an odd number of
+	 * characters
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testDecodeHexWithOddLength()
+	{
+		HexExtensions.decodeHex("abc");
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#decodeHex(CharSequence)} with an invalid character
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testDecodeHexWithInvalidCharacter()
+	{
+		HexExtensions.decodeHex("ab\u0130d");
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#decodeHex(CharSequence, byte[], int)} with an invalid
+	 * character that leaves the target byte array unchanged
+	 */
+	@Test
+	public void testDecodeHexIntoTargetWithInvalidCharacter()
+	{
+		final byte[] target = { 1, 2, 3, 4 };
+		try
+		{
+			HexExtensions.decodeHex("abcdefgh", target, 0);
+			fail("An IllegalArgumentException was expected");
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals("Given value has no hexadecimal character at index 6: 'g'",
+				e.getMessage());
+		}
+		assertTrue(Arrays.equals(new byte[] { 1, 2, 3, 4 }, target));
+	}
+
+	/**
+	 * Test method for {@link HexExtensions#isHex(CharSequence)}
+	 */
+	@Test
+	public void testIsHex()
+	{
+		assertTrue(HexExtensions.isHex(""));
+		assertTrue(HexExtensions.isHex("0123456789abcdefABCDEF"));
+		assertFalse(HexExtensions.isHex("0123456789abcdefg"));
+		for (int c = 0; c <= Character.MAX_VALUE; c++)
+		{
+			final boolean expected = c >= '0' && c <= '9' || c >= 'a' && c <= 'f'
+				|| c >= 'A' && c <= 'F';
+			assertEquals(expected, HexExtensions.isHex("0a" + (char)c + "F"));
+		}
+	}
+
+	/**
+	 * Test method for {@link HexExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(HexExtensions.class);
+	}
+
+}
@@ -0,0 +1,311 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link IncrementalDirectoryChecksum}
+ */
+public class IncrementalDirectoryChecksumTest extends AbstractTestCase<Long, Long>
+{
+	Path workDir;
+	Path rootDir;
+	Path indexFile;
+
+	private static void write(final Path file, final String content, final long hoursAgo)
+		throws IOException
+	{
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(
+			System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hoursAgo)));
+	}
+
+	private static byte[] newIndex(final int count, final int pathLength) throws IOException
+	{
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+		final byte[] algorithm = ChecksumAlgorithm.SHA_256.getAlgorithm()
+			.getBytes(StandardCharsets.UTF_8);
+		outputStream.writeInt(ChecksumIndex.MAGIC);
+		outputStream.writeInt(ChecksumIndex.VERSION);
+		outputStream.writeInt(algorithm.length);
+		outputStream.write(algorithm);
+		outputStream.writeLong(System.currentTimeMillis());
+		outputStream.writeInt(count);
+		outputStream.writeInt(pathLength);
+		outputStream.write(new byte[64]);
+		final CRC32 crc32 = new CRC32();
+		crc32.update(byteArrayOutputStream.toByteArray());
+		outputStream.writeInt((int)crc32.getValue());
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	/**
+	 * Creates the directory tree before every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@BeforeMethod
+	public void createDirectoryTree() throws IOException
+	{
+		workDir = Files.createTempDirectory("incremental");
+		rootDir = workDir.resolve("root");
+		Files.createDirectories(rootDir.resolve("sub"));
+		indexFile = workDir.resolve("checksum.idx");
+		write(rootDir.resolve("a.txt"), "secret Message", 2);
+		write(rootDir.resolve("b.txt"), "foo", 2);
+		write(rootDir.resolve("sub/c.txt"), "bar", 2);
+	}
+
+	/**
+	 * Deletes the directory tree after every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@AfterMethod
+	public void deleteDirectoryTree() throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(workDir))
+		{
+			for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator)
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link IncrementalDirectoryChecksum#getChecksumTree(Path)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTree() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		IncrementalDirectoryChecksum incrementalDirectoryChecksum;
+
+		expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(rootDir);
+		incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(ChecksumAlgorithm.SHA_256,
+			indexFile);
+
+		// the first run hashes all files and writes the index
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		assertEquals(3, incrementalDirectoryChecksum.getHashedCount());
+		assertEquals(0, incrementalDirectoryChecksum.getReusedCount());
+
+		// the second run takes all digests from the index
+		actual = new IncrementalDirectoryChecksum(ChecksumAlgorithm.SHA_256, indexFile)
+			.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		assertEquals(0, incrementalDirectoryChecksum.getHashedCount());
+		assertEquals(3, incrementalDirectoryChecksum.getReusedCount());
+
+		// only the changed file is hashed again
+		write(rootDir.resolve("sub/c.txt"), "baz", 1);
+		expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(rootDir);
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		assertEquals(1, incrementalDirectoryChecksum.getHashedCount());
+		assertEquals(2, incrementalDirectoryChecksum.getReusedCount());
+	}
+
+	/**
+	 * Test method for {@link IncrementalDirectoryChecksum#getChecksumTree(Path)} with a corrupt
+	 * index and an index of another algorithm
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTreeWithInvalidIndex() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		IncrementalDirectoryChecksum incrementalDirectoryChecksum;
+
+		incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(ChecksumAlgorithm.SHA_256,
+			indexFile);
+		expected = incrementalDirectoryChecksum.getChecksum(rootDir);
+
+		// a torn index is ignored
+		final byte[] index = Files.readAllBytes(indexFile);
+		index[index.length / 2] ^= 0x01;
+		Files.write(indexFile, index);
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		assertEquals(3, incrementalDirectoryChecksum.getHashedCount());
+
+		// an index of another algorithm is ignored
+		incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(
+			ChecksumAlgorithm.MD5.getAlgorithm(), indexFile, Runnable::run);
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertFalse(expected.equals(actual));
+		assertEquals(3, incrementalDirectoryChecksum.getHashedCount());
+
+		// an index with a valid checksum but invalid lengths is ignored
+		incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(ChecksumAlgorithm.SHA_256,
+			indexFile);
+		for (byte[] invalidIndex : new byte[][] { newIndex(1, -1), newIndex(1, Integer.MAX_VALUE),
+				newIndex(Integer.MAX_VALUE, 1), newIndex(-1, 1) })
+		{
+			Files.write(indexFile, invalidIndex);
+			actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+			assertEquals(expected, actual);
+			assertEquals(3, incrementalDirectoryChecksum.getHashedCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link IncrementalDirectoryChecksum#getChecksumTree(Path)} with a file that
+	 * has a modification time shortly before the start of the run, like a file that is changed
+	 * during the run on a file system with a modification time granularity of seconds
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTreeWithTruncatedModificationTime()
+		throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		IncrementalDirectoryChecksum incrementalDirectoryChecksum;
+		final Path file = rootDir.resolve("sub/c.txt");
+		final FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - 500);
+
+		incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(ChecksumAlgorithm.SHA_256,
+			indexFile);
+		Files.setLastModifiedTime(file, lastModified);
+		incrementalDirectoryChecksum.getChecksum(rootDir);
+
+		// the file is changed with the same size and the same truncated modification time
+		Files.write(file, "baz".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModified);
+		expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(rootDir);
+		actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+		assertEquals(expected, actual);
+		assertEquals(1, incrementalDirectoryChecksum.getHashedCount());
+	}
+
+	/**
+	 * Test method for {@link IncrementalDirectoryChecksum#getChecksumTree(Path)} after a failed
+	 * run
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTreeAfterFailedRun() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		final AtomicBoolean failing = new AtomicBoolean(true);
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try
+		{
+			final IncrementalDirectoryChecksum incrementalDirectoryChecksum;
+			incrementalDirectoryChecksum = new IncrementalDirectoryChecksum(
+				ChecksumAlgorithm.SHA_256.getAlgorithm(), indexFile, executorService)
+			{
+				@Override
+				protected byte[] digestFile(final Path file, final BasicFileAttributes attributes)
+					throws IOException
+				{
+					if (failing.getAndSet(false))
+					{
+						throw new IOException("Cannot read " + file);
+					}
+					return super.digestFile(file, attributes);
+				}
+			};
+			try
+			{
+				incrementalDirectoryChecksum.getChecksum(rootDir);
+				fail("An IOException was expected");
+			}
+			catch (IOException e)
+			{
+				assertTrue(e.getMessage().startsWith("Cannot read"));
+			}
+			assertFalse(Files.exists(indexFile));
+
+			// the next run is not affected by the tasks of the failed run
+			expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256)
+				.getChecksum(rootDir);
+			actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+			assertEquals(expected, actual);
+			assertEquals(3, incrementalDirectoryChecksum.getHashedCount());
+			actual = incrementalDirectoryChecksum.getChecksum(rootDir);
+			assertEquals(expected, actual);
+			assertEquals(0, incrementalDirectoryChecksum.getHashedCount());
+			assertEquals(3, incrementalDirectoryChecksum.getReusedCount());
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,296 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link ManifestVerifier}
+ */
+public class ManifestVerifierTest extends AbstractTestCase<Long, Long>
+{
+	Path workDir;
+
+	private String checksum(final String fileName, final ChecksumAlgorithm algorithm)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return FileChecksumExtensions.getChecksum(workDir.resolve(fileName).toFile(), algorithm);
+	}
+
+	private static Map<String, ManifestResult.Status> toStatusMap(
+		final List<ManifestResult> results)
+	{
+		final Map<String, ManifestResult.Status> statusMap = new TreeMap<>();
+		for (ManifestResult result : results)
+		{
+			statusMap.put(result.getFileName(), result.getStatus());
+		}
+		return statusMap;
+	}
+
+	/**
+	 * Creates the files before every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@BeforeMethod
+	public void createFiles() throws IOException
+	{
+		workDir = Files.createTempDirectory("manifest");
+		Files.createDirectories(workDir.resolve("sub"));
+		Files.write(workDir.resolve("a.txt"), "secret Message".getBytes(StandardCharsets.UTF_8));
+		Files.write(workDir.resolve("b.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+		Files.write(workDir.resolve("sub/c d.txt"), "bar".getBytes(StandardCharsets.UTF_8));
+		Files.write(workDir.resolve("back\\slash.txt"), "baz".getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Deletes the files after every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@AfterMethod
+	public void deleteFiles() throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(workDir))
+		{
+			for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator)
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link ManifestVerifier#verify(Path, java.util.function.Consumer)} with a
+	 * manifest in the GNU format and in the tagged BSD format
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerify() throws NoSuchAlgorithmException, IOException
+	{
+		final Path manifest = workDir.resolve("SHA256SUMS");
+		final List<ManifestResult> results = new ArrayList<>();
+		Files.write(manifest, List.of(checksum("a.txt", ChecksumAlgorithm.SHA_256) + "  a.txt",
+			checksum("b.txt", ChecksumAlgorithm.MD5).toUpperCase() + " *b.txt", "",
+			"SHA1 (sub/c d.txt) = " + checksum("sub/c d.txt", ChecksumAlgorithm.SHA_1),
+			"\\" + checksum("back\\slash.txt", ChecksumAlgorithm.SHA_512) + "  back\\\\slash.txt"),
+			StandardCharsets.UTF_8);
+
+		assertTrue(new ManifestVerifier().verify(manifest, results::add));
+		assertEquals(4, results.size());
+		for (ManifestResult result : results)
+		{
+			assertTrue(result.isOk());
+		}
+		results.sort(Comparator.comparingLong(ManifestResult::getLineNumber));
+		assertEquals(ChecksumAlgorithm.SHA_256, results.get(0).getAlgorithm());
+		assertEquals(ChecksumAlgorithm.MD5, results.get(1).getAlgorithm());
+		assertEquals(4, results.get(2).getLineNumber());
+		assertEquals("sub/c d.txt", results.get(2).getFileName());
+		assertEquals(ChecksumAlgorithm.SHA_1, results.get(2).getAlgorithm());
+		assertEquals("back\\slash.txt", results.get(3).getFileName());
+		assertEquals("a.txt: OK", results.get(0).toString());
+	}
+
+	/**
+	 * Test method for {@link ManifestVerifier#verify(BufferedReader, Path,
+	 * java.util.function.Consumer)} with changed and missing files and malformed lines
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerifyWithFailures() throws NoSuchAlgorithmException, IOException
+	{
+		final String sha256 = checksum("a.txt", ChecksumAlgorithm.SHA_256);
+		final String manifest = String.join("\n", sha256 + "  a.txt", sha256 + "  b.txt",
+			sha256 + "  missing.txt", sha256 + "  sub", "SHA1 (a.txt) = " + sha256,
+			"no checksum", sha256.substring(1) + "  a.txt");
+		final List<ManifestResult> results = new ArrayList<>();
+
+		assertFalse(new ManifestVerifier(Runnable::run, 1)
+			.verify(new BufferedReader(new StringReader(manifest)), workDir, results::add));
+		assertEquals(7, results.size());
+		assertEquals(ManifestResult.Status.OK, results.get(0).getStatus());
+		assertEquals(ManifestResult.Status.FAILED, results.get(1).getStatus());
+		assertEquals("b.txt: FAILED", results.get(1).toString());
+		assertEquals(ManifestResult.Status.MISSING, results.get(2).getStatus());
+		assertEquals("missing.txt: FAILED open or read", results.get(2).toString());
+		assertEquals(ManifestResult.Status.UNREADABLE, results.get(3).getStatus());
+		for (ManifestResult result : results.subList(4, 7))
+		{
+			assertEquals(ManifestResult.Status.MALFORMED, result.getStatus());
+			assertNull(result.getAlgorithm());
+		}
+		assertEquals("line 6: improperly formatted checksum line", results.get(5).toString());
+	}
+
+	/**
+	 * Test method for {@link ManifestVerifier#verify(Path, Path, java.util.function.Consumer)}
+	 * that verifies with a bounded number of concurrent files
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerifyConcurrently() throws NoSuchAlgorithmException, IOException
+	{
+		final Path manifest = workDir.resolve("MD5SUMS");
+		final List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 64; i++)
+		{
+			final String fileName = "file" + i + ".bin";
+			Files.write(workDir.resolve(fileName), new byte[i * 1024]);
+			lines.add(checksum(fileName, ChecksumAlgorithm.MD5) + "  " + fileName);
+		}
+		lines.add(checksum("a.txt", ChecksumAlgorithm.MD5) + "  b.txt");
+		Files.write(manifest, lines, StandardCharsets.UTF_8);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+		final List<ManifestResult> results = new ArrayList<>();
+		try
+		{
+			// a file counts as running from the start of its task until its result is reported
+			final boolean verified = new ManifestVerifier(task -> executorService.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				task.run();
+			}), 3).verify(manifest, workDir, result -> {
+				running.decrementAndGet();
+				results.add(result);
+			});
+			assertFalse(verified);
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+		assertEquals(65, results.size());
+		assertTrue(maxRunning.get() <= 3);
+		final Map<String, ManifestResult.Status> statusMap = toStatusMap(results);
+		assertEquals(ManifestResult.Status.OK, statusMap.get("file63.bin"));
+		assertEquals(ManifestResult.Status.FAILED, statusMap.get("b.txt"));
+	}
+
+	/**
+	 * Test method for {@link ManifestVerifier#verify(BufferedReader, Path,
+	 * java.util.function.Consumer)} that waits for the submitted files if reading the manifest
+	 * fails
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerifyWithFailingManifest() throws NoSuchAlgorithmException, IOException
+	{
+		final String line = checksum("a.txt", ChecksumAlgorithm.MD5) + "  a.txt";
+		final BufferedReader manifest = new BufferedReader(new StringReader(""))
+		{
+			private int count;
+
+			@Override
+			public String readLine() throws IOException
+			{
+				if (count++ == 3)
+				{
+					throw new IOException("Manifest is truncated");
+				}
+				return line;
+			}
+		};
+		final AtomicInteger reported = new AtomicInteger();
+		final ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try
+		{
+			new ManifestVerifier(task -> executorService.execute(() -> {
+				try
+				{
+					Thread.sleep(100);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				task.run();
+			}), 3).verify(manifest, workDir, result -> reported.incrementAndGet());
+			fail("An IOException was expected");
+		}
+		catch (IOException e)
+		{
+			assertEquals(3, reported.get());
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link ManifestVerifier} constructor with invalid arguments
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNewManifestVerifierWithInvalidConcurrency()
+	{
+		new ManifestVerifier(Runnable::run, 0);
+	}
+
+}
@@ -0,0 +1,266 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link MerkleDirectoryChecksum}
+ */
+public class MerkleDirectoryChecksumTest extends AbstractTestCase<Long, Long>
+{
+	Path firstRootDir;
+	Path secondRootDir;
+
+	private static void delete(final Path dir) throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(dir))
+		{
+			for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator)
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	private static byte[] sha256(final byte[]... parts) throws NoSuchAlgorithmException
+	{
+		final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+		for (byte[] part : parts)
+		{
+			messageDigest.update(part);
+		}
+		return messageDigest.digest();
+	}
+
+	private static byte[] entry(final char type, final String name, final byte[] digest)
+	{
+		final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		return ByteBuffer.allocate(1 + 4 + nameBytes.length + digest.length).put((byte)type)
+			.putInt(nameBytes.length).put(nameBytes).put(digest).array();
+	}
+
+	/**
+	 * Creates the directory trees before every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@BeforeMethod
+	public void createDirectoryTrees() throws IOException
+	{
+		firstRootDir = Files.createTempDirectory("merkle-first");
+		Files.createDirectories(firstRootDir.resolve("sub"));
+		Files.write(firstRootDir.resolve("b.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+		Files.write(firstRootDir.resolve("sub/a.txt"),
+			"secret Message".getBytes(StandardCharsets.UTF_8));
+
+		// the same tree created in another order
+		secondRootDir = Files.createTempDirectory("merkle-second");
+		Files.createDirectories(secondRootDir.resolve("sub"));
+		Files.write(secondRootDir.resolve("sub/a.txt"),
+			"secret Message".getBytes(StandardCharsets.UTF_8));
+		Files.write(secondRootDir.resolve("b.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Deletes the directory trees after every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@AfterMethod
+	public void deleteDirectoryTrees() throws IOException
+	{
+		delete(firstRootDir);
+		delete(secondRootDir);
+	}
+
+	/**
+	 * Test method for {@link MerkleDirectoryChecksum#getChecksumTree(Path)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTree() throws NoSuchAlgorithmException, IOException
+	{
+		ChecksumNode root;
+		ChecksumNode sub;
+		byte[] fileA;
+		byte[] fileB;
+		byte[] subDigest;
+		byte[] rootDigest;
+
+		fileA = sha256("secret Message".getBytes(StandardCharsets.UTF_8));
+		fileB = sha256("foo".getBytes(StandardCharsets.UTF_8));
+		subDigest = sha256(entry('f', "a.txt", fileA));
+		rootDigest = sha256(entry('f', "b.txt", fileB), entry('d', "sub", subDigest));
+
+		root = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksumTree(firstRootDir);
+		assertEquals(HexExtensions.encodeHex(rootDigest), root.getHexDigest());
+		assertEquals(ChecksumNode.Type.DIRECTORY, root.getType());
+		assertEquals(2, root.getChildren().size());
+		assertEquals("b.txt", root.getChildren().get(0).getName());
+		assertEquals("sub", root.getChildren().get(1).getName());
+
+		sub = root.find("sub").orElseThrow();
+		assertEquals(HexExtensions.encodeHex(subDigest), sub.getHexDigest());
+		assertEquals("sub/a.txt", root.find("sub/a.txt").orElseThrow().getRelativePath());
+		assertEquals(HexExtensions.encodeHex(fileA),
+			root.find("sub/a.txt").orElseThrow().getHexDigest());
+		assertFalse(root.find("sub/missing.txt").isPresent());
+	}
+
+	/**
+	 * Test method for {@link MerkleDirectoryChecksum#getChecksum(Path)} with trees that are
+	 * created in different order and with different executors
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumIsReproducible() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+
+		expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(firstRootDir);
+		actual = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(),
+			Runnable::run).getChecksum(secondRootDir);
+		assertEquals(expected, actual);
+
+		// a renamed file changes the root and the parent digest but not the sibling subtree
+		Files.move(secondRootDir.resolve("b.txt"), secondRootDir.resolve("c.txt"));
+		final ChecksumNode first = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256)
+			.getChecksumTree(firstRootDir);
+		final ChecksumNode second = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256)
+			.getChecksumTree(secondRootDir);
+		assertFalse(first.digestEquals(second));
+		assertTrue(first.find("sub").orElseThrow().digestEquals(second.find("sub").orElseThrow()));
+	}
+
+	/**
+	 * Test method for {@link MerkleDirectoryChecksum#getChecksumTree(Path)} with a bounded number
+	 * of pending files and a file that can not be hashed
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumTreeWithMaxConcurrency() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		final Path dir = firstRootDir.resolve("many");
+		Files.createDirectories(dir);
+		for (int i = 0; i < 100; i++)
+		{
+			Files.write(dir.resolve("file" + i + ".bin"), new byte[i * 10]);
+		}
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final AtomicInteger hashed = new AtomicInteger();
+		final AtomicInteger failing = new AtomicInteger();
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try
+		{
+			final MerkleDirectoryChecksum merkleDirectoryChecksum = new MerkleDirectoryChecksum(
+				ChecksumAlgorithm.SHA_256.getAlgorithm(), executorService, 2)
+			{
+				@Override
+				protected byte[] digestFile(final Path file, final BasicFileAttributes attributes)
+					throws IOException
+				{
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try
+					{
+						hashed.incrementAndGet();
+						if (failing.getAndDecrement() == 1)
+						{
+							throw new IOException("Cannot read " + file);
+						}
+						return super.digestFile(file, attributes);
+					}
+					finally
+					{
+						running.decrementAndGet();
+					}
+				}
+			};
+			expected = new MerkleDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(),
+				Runnable::run).getChecksum(firstRootDir);
+			actual = merkleDirectoryChecksum.getChecksum(firstRootDir);
+			assertEquals(expected, actual);
+			assertTrue(maxRunning.get() <= 2);
+
+			// the first failed file stops the walk and no task runs after the exception
+			hashed.set(0);
+			failing.set(1);
+			try
+			{
+				merkleDirectoryChecksum.getChecksum(firstRootDir);
+				fail("An IOException was expected");
+			}
+			catch (IOException e)
+			{
+				assertTrue(e.getMessage().startsWith("Cannot read"));
+			}
+			assertEquals(0, running.get());
+			assertTrue(hashed.get() < 100);
+		}
+		finally
+		{
+			executorService.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link MessageDigestPool}
+ */
+public class MessageDigestPoolTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link MessageDigestPool#getMessageDigest(Algorithm)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetMessageDigest() throws NoSuchAlgorithmException
+	{
+		MessageDigest first;
+		MessageDigest second;
+
+		first = MessageDigestPool.getMessageDigest(ChecksumAlgorithm.SHA_256);
+		first.update("dirty state".getBytes(StandardCharsets.UTF_8));
+		second = MessageDigestPool.getMessageDigest(ChecksumAlgorithm.SHA_256);
+		assertSame(first, second);
+		// the returned digest is reset, so no state of the previous usage remains
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+			ByteArrayChecksumExtensions.encodeHex(second.digest()));
+	}
+
+	/**
+	 * Test method for {@link MessageDigestPool#newMessageDigest(String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testNewMessageDigest() throws NoSuchAlgorithmException
+	{
+		MessageDigest first;
+		MessageDigest second;
+
+		first = MessageDigestPool.newMessageDigest(ChecksumAlgorithm.MD5.getAlgorithm());
+		second = MessageDigestPool.newMessageDigest(ChecksumAlgorithm.MD5.getAlgorithm());
+		assertNotSame(first, second);
+		first.update("dirty state".getBytes(StandardCharsets.UTF_8));
+		assertEquals("d41d8cd98f00b204e9800998ecf8427e",
+			ByteArrayChecksumExtensions.encodeHex(second.digest()));
+	}
+
+	/**
+	 * Test method for {@link MessageDigestPool#getMessageDigest(String)} with many threads
+	 *
+	 * @throws InterruptedException
+	 *             is thrown if a thread is interrupted
+	 * @throws ExecutionException
+	 *             is thrown if a task failed
+	 */
+	@Test
+	public void testGetMessageDigestConcurrent() throws InterruptedException, ExecutionException
+	{
+		final String expected = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+		final byte[] secretMessageBytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try
+		{
+			final List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < 1000; i++)
+			{
+				futures.add(executorService.submit(() -> ByteArrayChecksumExtensions
+					.getChecksum(secretMessageBytes, ChecksumAlgorithm.SHA_256)));
+			}
+			for (Future<String> future : futures)
+			{
+				assertEquals(expected, future.get());
+			}
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test method for {@link MessageDigestPool}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(MessageDigestPool.class);
+	}
+
+}
@@ -0,0 +1,196 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.Algorithm;
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link MultiChecksumExtensions}
+ */
+public class MultiChecksumExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	private static void assertChecksums(final byte[] bytes, final ChecksumResult result)
+		throws NoSuchAlgorithmException
+	{
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, ChecksumAlgorithm.MD5),
+			result.getChecksum(ChecksumAlgorithm.MD5));
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, ChecksumAlgorithm.SHA_1),
+			result.getChecksum(ChecksumAlgorithm.SHA_1));
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, ChecksumAlgorithm.SHA_256),
+			result.getChecksum(ChecksumAlgorithm.SHA_256));
+		assertEquals(ByteArrayChecksumExtensions.getCheckSumCRC32HexString(bytes),
+			result.getChecksum(ZipChecksumAlgorithm.CRC32));
+		assertEquals(ByteArrayChecksumExtensions.getCheckSumAdler32HexString(bytes),
+			result.getChecksum(ZipChecksumAlgorithm.ADLER32));
+	}
+
+	/**
+	 * Test method for {@link MultiChecksumExtensions#getChecksums(byte[], Algorithm...)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumsByteArray() throws NoSuchAlgorithmException
+	{
+		final byte[] bytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+		final ChecksumResult result = MultiChecksumExtensions.getChecksums(bytes,
+			ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA_1, ChecksumAlgorithm.SHA_256,
+			ZipChecksumAlgorithm.CRC32, ZipChecksumAlgorithm.ADLER32);
+		assertChecksums(bytes, result);
+		assertEquals(Arrays.asList("MD5", "SHA-1", "SHA-256", "CRC32", "Adler32"),
+			Arrays.asList(result.getAlgorithms().toArray()));
+		assertEquals("28e3056c", result.getChecksum("Adler32"));
+		assertEquals("3baf0182",
+			MultiChecksumExtensions.getChecksums(bytes, ZipChecksumAlgorithm.CRC32C).getChecksum(
+				ZipChecksumAlgorithm.CRC32C));
+	}
+
+	/**
+	 * Test method for {@link MultiChecksumExtensions#getChecksums(InputStream, Algorithm...)} and
+	 * {@link MultiChecksumExtensions#getChecksums(InputStream, Collection, int, Executor)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumsInputStream() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = new byte[100_003];
+		new Random(42).nextBytes(bytes);
+		final ChecksumResult expected = MultiChecksumExtensions.getChecksums(
+			new ByteArrayInputStream(bytes), ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA_1,
+			ChecksumAlgorithm.SHA_256, ZipChecksumAlgorithm.CRC32, ZipChecksumAlgorithm.ADLER32);
+		assertChecksums(bytes, expected);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try
+		{
+			final ChecksumResult actual = MultiChecksumExtensions.getChecksums(
+				new ByteArrayInputStream(bytes),
+				Arrays.asList("MD5", "SHA-1", "SHA-256", "CRC32", "Adler32"), 1000, executor);
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link MultiChecksumExtensions#getChecksums(File, Algorithm...)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumsFile() throws NoSuchAlgorithmException, IOException
+	{
+		final File file = File.createTempFile("multi", ".bin");
+		try
+		{
+			final byte[] bytes = new byte[200_000];
+			new Random(7).nextBytes(bytes);
+			Files.write(file.toPath(), bytes);
+			final ChecksumResult result = MultiChecksumExtensions.getChecksums(file,
+				ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA_1, ChecksumAlgorithm.SHA_256,
+				ZipChecksumAlgorithm.CRC32, ZipChecksumAlgorithm.ADLER32);
+			assertChecksums(bytes, result);
+			assertEquals(FileChecksumExtensions.getCheckSumCRC32HexString(file),
+				result.getChecksum(ZipChecksumAlgorithm.CRC32));
+			assertEquals(result, MultiChecksumExtensions.getChecksums(file,
+				result.getAlgorithms(), Runnable::run));
+			// empty files are supported
+			Files.write(file.toPath(), new byte[0]);
+			assertChecksums(new byte[0],
+				MultiChecksumExtensions.getChecksums(file, result.getAlgorithms()));
+		}
+		finally
+		{
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * Test method for {@link ChecksumResult#getChecksum(String)} with an algorithm that was not
+	 * computed
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testGetChecksumNotComputed() throws NoSuchAlgorithmException
+	{
+		MultiChecksumExtensions.getChecksums(new byte[0], ChecksumAlgorithm.MD5)
+			.getChecksum(ChecksumAlgorithm.SHA_1);
+	}
+
+	/**
+	 * Test method for {@link MultiChecksumExtensions#getChecksums(byte[], Collection)}
+	 * with an unknown algorithm
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = NoSuchAlgorithmException.class)
+	public void testGetChecksumsUnknownAlgorithm() throws NoSuchAlgorithmException
+	{
+		MultiChecksumExtensions.getChecksums(new byte[0], Arrays.asList("MD5", "FOO"));
+	}
+
+	/**
+	 * Test method for {@link MultiChecksumExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(MultiChecksumExtensions.class);
+	}
+
+}
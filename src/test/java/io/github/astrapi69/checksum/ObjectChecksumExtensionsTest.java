@@ -21,10 +21,16 @@
 package io.github.astrapi69.checksum;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
 
 import org.meanbean.test.BeanTester;
 import org.testng.annotations.Test;
@@ -123,6 +129,31 @@ public class ObjectChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ObjectChecksumExtensions#getCheckSumCRC32C(Serializable)} and
+	 * {@link ObjectChecksumExtensions#getCheckSumCRC32CHexString(Serializable)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetCheckSumCRC32C() throws IOException
+	{
+		long expected;
+		long actual;
+		Person person;
+
+		person = Person.builder().gender(Gender.FEMALE).name("Anna").married(false)
+			.about("I'm a beast and beautiful").nickname("beast").build();
+
+		expected = ByteArrayChecksumExtensions
+			.getCheckSumCRC32C(ObjectChecksumExtensions.toByteArray(person));
+		actual = ObjectChecksumExtensions.getCheckSumCRC32C(person);
+		assertEquals(expected, actual);
+		assertEquals(HexExtensions.encodeHexInt((int)expected),
+			ObjectChecksumExtensions.getCheckSumCRC32CHexString(person));
+	}
+
 	/**
 	 * Test method for {@link ObjectChecksumExtensions#getChecksum(Serializable, boolean)}
 	 *
@@ -345,6 +376,78 @@ public class ObjectChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expectedLength, actualLength);
 	}
 
+	/**
+	 * Test method for {@link ObjectChecksumExtensions#update(MessageDigest, Serializable...)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             is thrown if instantiation of the SecretKeyFactory object fails.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testUpdateMessageDigest() throws NoSuchAlgorithmException, IOException
+	{
+		final ArrayList<String> list = new ArrayList<>();
+		for (int i = 0; i < 10000; i++)
+		{
+			list.add("item" + i);
+		}
+		final MessageDigest messageDigest = MessageDigestPool.newMessageDigest("SHA-256");
+		ObjectChecksumExtensions.update(messageDigest, list, "secret Message");
+		assertEquals(
+			ByteArrayChecksumExtensions.getChecksum(
+				ObjectChecksumExtensions.toByteArray(list, "secret Message"), "SHA-256"),
+			HexExtensions.encodeHex(messageDigest.digest()));
+
+		assertEquals("abd4ee831bd8fa2bd896b3417ae1c1dd171652637e9dbeed84de017d278a530c",
+			ObjectChecksumExtensions.getChecksum("SHA-256", "secret Message", 42));
+		assertEquals("39647f99ab18228ef4abdad3e7e51af70e0c19f3d75448895bfbecb9accde559",
+			ObjectChecksumExtensions.getChecksum("secret Message", 42, "SHA-256"));
+	}
+
+	/**
+	 * Test method for {@link ObjectChecksumExtensions#update(Checksum, Serializable...)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testUpdateChecksum() throws IOException
+	{
+		final Checksum checksum = new CRC32();
+		ObjectChecksumExtensions.update(checksum, "secret Message");
+		assertEquals(
+			ByteArrayChecksumExtensions
+				.getCheckSumCRC32(ObjectChecksumExtensions.toByteArray("secret Message")),
+			checksum.getValue());
+		assertEquals(3291354544L, checksum.getValue());
+		assertEquals(3515023286L, ObjectChecksumExtensions.getCheckSumCRC32C("secret Message"));
+	}
+
+	/**
+	 * Test method for {@link ObjectChecksumExtensions#verify(Serializable, String)} and
+	 * {@link ObjectChecksumExtensions#verify(Serializable, byte[], String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testVerify() throws NoSuchAlgorithmException, IOException
+	{
+		final String checksum = ObjectChecksumExtensions.getChecksum("secret Message",
+			ChecksumAlgorithm.SHA_256);
+
+		assertTrue(ObjectChecksumExtensions.verify("secret Message", checksum));
+		assertTrue(ObjectChecksumExtensions.verify("secret Message", checksum,
+			ChecksumAlgorithm.SHA_256));
+		assertTrue(ObjectChecksumExtensions.verify("secret Message",
+			HexExtensions.decodeHex(checksum), "SHA-256"));
+		assertFalse(ObjectChecksumExtensions.verify("secret message", checksum));
+		assertFalse(ObjectChecksumExtensions.verify(42, checksum));
+	}
+
 	/**
 	 * Test method for {@link ObjectChecksumExtensions}
 	 */
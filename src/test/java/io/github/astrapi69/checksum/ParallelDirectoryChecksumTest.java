@@ -0,0 +1,243 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link ParallelDirectoryChecksum}
+ */
+public class ParallelDirectoryChecksumTest extends AbstractTestCase<Long, Long>
+{
+	Path rootDir;
+
+	/**
+	 * Creates the directory tree before every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@BeforeMethod
+	public void createDirectoryTree() throws IOException
+	{
+		rootDir = Files.createTempDirectory("parallel-directory-checksum");
+		Files.createDirectories(rootDir.resolve("sub/deep"));
+		Files.write(rootDir.resolve("b.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+		Files.write(rootDir.resolve("a.txt"), "secret Message".getBytes(StandardCharsets.UTF_8));
+		Files.write(rootDir.resolve("sub/deep/c.txt"), new byte[0]);
+	}
+
+	/**
+	 * Deletes the directory tree after every unit test method in this class
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@AfterMethod
+	public void deleteDirectoryTree() throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(rootDir))
+		{
+			for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator)
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link ParallelDirectoryChecksum#getChecksum(Path)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksum() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		MessageDigest messageDigest;
+
+		messageDigest = MessageDigest.getInstance("SHA-256");
+		for (String[] entry : new String[][] { { "a.txt", "secret Message" }, { "b.txt", "foo" },
+				{ "sub/deep/c.txt", "" } })
+		{
+			messageDigest.update(entry[0].getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte)0);
+			messageDigest.update(MessageDigest.getInstance("SHA-256")
+				.digest(entry[1].getBytes(StandardCharsets.UTF_8)));
+		}
+		expected = HexExtensions.encodeHex(messageDigest.digest());
+		actual = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(rootDir);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ParallelDirectoryChecksum#getChecksum(Path)} with different executors
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumIsDeterministic() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+
+		expected = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256, Runnable::run)
+			.getChecksum(rootDir);
+		final ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try
+		{
+			for (int i = 0; i < 20; i++)
+			{
+				actual = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(),
+					executorService, 2).getChecksum(rootDir);
+				assertEquals(expected, actual);
+				actual = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256,
+					ForkJoinPool.commonPool()).getChecksum(rootDir);
+				assertEquals(expected, actual);
+			}
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+		// a renamed file changes the checksum
+		Files.move(rootDir.resolve("b.txt"), rootDir.resolve("d.txt"));
+		actual = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256).getChecksum(rootDir);
+		Files.move(rootDir.resolve("d.txt"), rootDir.resolve("b.txt"));
+		assertFalse(expected.equals(actual));
+	}
+
+	/**
+	 * Test method for {@link ParallelDirectoryChecksum#getChecksum(Path)} with a bounded number
+	 * of files that are hashed ahead of the combining digest
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumWithMaxConcurrency() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+
+		for (int i = 0; i < 50; i++)
+		{
+			Files.write(rootDir.resolve("sub/file" + i + ".bin"), new byte[i * 100]);
+		}
+		expected = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256, Runnable::run)
+			.getChecksum(rootDir);
+		final AtomicInteger submitted = new AtomicInteger();
+		final AtomicInteger maxPending = new AtomicInteger();
+		final ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try
+		{
+			actual = new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(),
+				task -> {
+					final int index = submitted.getAndIncrement();
+					executorService.execute(() -> {
+						// a started task is not yet combined, so it counts as pending
+						maxPending.accumulateAndGet(submitted.get() - index, Math::max);
+						task.run();
+					});
+				}, FileChecksumExtensions.DEFAULT_BUFFER_SIZE, 3).getChecksum(rootDir);
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+		assertEquals(53, submitted.get());
+		assertTrue(maxPending.get() <= 3);
+	}
+
+	/**
+	 * Test method for {@link ParallelDirectoryChecksum#getChecksum(Path)} with a file that is
+	 * deleted while the directory is hashed
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test(expectedExceptions = NoSuchFileException.class)
+	public void testGetChecksumWithDeletedFile() throws NoSuchAlgorithmException, IOException
+	{
+		new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(), task -> {
+			try
+			{
+				Files.deleteIfExists(rootDir.resolve("b.txt"));
+			}
+			catch (IOException e)
+			{
+				throw new IllegalStateException(e);
+			}
+			task.run();
+		}, FileChecksumExtensions.DEFAULT_BUFFER_SIZE, 2).getChecksum(rootDir);
+	}
+
+	/**
+	 * Test method for {@link ParallelDirectoryChecksum} constructor with an invalid max
+	 * concurrency
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNewParallelDirectoryChecksumWithInvalidConcurrency()
+		throws NoSuchAlgorithmException
+	{
+		new ParallelDirectoryChecksum(ChecksumAlgorithm.SHA_256.getAlgorithm(), Runnable::run,
+			FileChecksumExtensions.DEFAULT_BUFFER_SIZE, 0);
+	}
+
+}
@@ -0,0 +1,234 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Random;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link RollingChecksumExtensions}
+ */
+public class RollingChecksumExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	private static byte[] newBytes(final int length, final long seed)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static BlockSignature newBlockSignature(final byte[] bytes, final int blockSize)
+		throws NoSuchAlgorithmException, IOException
+	{
+		return RollingChecksumExtensions.newBlockSignature(new ByteArrayInputStream(bytes),
+			blockSize, ChecksumAlgorithm.SHA_256.getAlgorithm());
+	}
+
+	private static List<BlockMatch> findMatches(final byte[] bytes,
+		final BlockSignature signature) throws IOException
+	{
+		return RollingChecksumExtensions.findMatches(new ByteArrayInputStream(bytes), signature);
+	}
+
+	/**
+	 * Test method for
+	 * {@link RollingChecksumExtensions#newBlockSignature(java.io.InputStream, int, String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testNewBlockSignature() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = newBytes(2500, 1);
+		final BlockSignature signature = newBlockSignature(bytes, 1000);
+		assertEquals(1000, signature.getBlockSize());
+		assertEquals("SHA-256", signature.getAlgorithm());
+		assertEquals(2500L, signature.getLength());
+		assertEquals(3, signature.getBlocks().size());
+		final BlockSignature.Block last = signature.getBlocks().get(2);
+		assertEquals(2, last.getIndex());
+		assertEquals(2000L, last.getOffset());
+		assertEquals(500, last.getLength());
+		assertEquals(RollingChecksum.hash(bytes, 2000, 500), last.getWeakChecksum());
+		assertEquals(ByteArrayChecksumExtensions.getChecksum(bytes, 2000, 500, "SHA-256"),
+			last.getStrongChecksum());
+
+		assertEquals(0, newBlockSignature(new byte[0], 1000).getBlocks().size());
+		assertEquals(0L, newBlockSignature(new byte[0], 1000).getLength());
+	}
+
+	/**
+	 * Test method for
+	 * {@link RollingChecksumExtensions#findMatches(java.io.InputStream, BlockSignature)} with
+	 * unchanged data
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testFindMatchesUnchanged() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] bytes = newBytes(10500, 2);
+		final BlockSignature signature = newBlockSignature(bytes, 1000);
+		final List<BlockMatch> matches = findMatches(bytes, signature);
+		assertEquals(11, matches.size());
+		for (int index = 0; index < matches.size(); index++)
+		{
+			assertEquals(index, matches.get(index).getBlock().getIndex());
+			assertEquals(index * 1000L, matches.get(index).getOffset());
+		}
+		assertEquals(500, matches.get(10).getLength());
+	}
+
+	/**
+	 * Test method for
+	 * {@link RollingChecksumExtensions#findMatches(java.io.InputStream, BlockSignature)} with
+	 * inserted, changed and removed data
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testFindMatchesChanged() throws NoSuchAlgorithmException, IOException
+	{
+		final int blockSize = 4096;
+		final byte[] original = newBytes(40 * blockSize + 123, 3);
+		final BlockSignature signature = newBlockSignature(original, blockSize);
+		// insert 17 bytes into block 5, change one byte of block 20 and remove block 30
+		final byte[] changed = new byte[original.length + 17 - blockSize];
+		int target = 0;
+		System.arraycopy(original, 0, changed, target, 5 * blockSize + 100);
+		target += 5 * blockSize + 100;
+		System.arraycopy(newBytes(17, 4), 0, changed, target, 17);
+		target += 17;
+		System.arraycopy(original, 5 * blockSize + 100, changed, target,
+			25 * blockSize - 100);
+		target += 25 * blockSize - 100;
+		System.arraycopy(original, 31 * blockSize, changed, target,
+			original.length - 31 * blockSize);
+		changed[20 * blockSize + 17 + 5] ^= 0x01;
+
+		final List<BlockMatch> matches = findMatches(changed, signature);
+		// blocks 5, 20 and 30 are missing
+		assertEquals(38, matches.size());
+		long matchedBytes = 0;
+		int expectedIndex = 0;
+		for (BlockMatch match : matches)
+		{
+			if (expectedIndex == 5 || expectedIndex == 20 || expectedIndex == 30)
+			{
+				expectedIndex++;
+			}
+			assertEquals(expectedIndex, match.getBlock().getIndex());
+			final int offset = (int)match.getOffset();
+			assertEquals(
+				ByteArrayChecksumExtensions.getChecksum(changed, offset, match.getLength(),
+					"SHA-256"),
+				match.getBlock().getStrongChecksum());
+			matchedBytes += match.getLength();
+			expectedIndex++;
+		}
+		assertEquals(37L * blockSize + 123, matchedBytes);
+		assertEquals(new BlockMatch(signature.getBlocks().get(40), changed.length - 123),
+			matches.get(matches.size() - 1));
+	}
+
+	/**
+	 * Test method for {@link RollingChecksumExtensions#newBlockSignature(File, int, String)} and
+	 * {@link RollingChecksumExtensions#findMatches(File, BlockSignature)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testFindMatchesFile() throws NoSuchAlgorithmException, IOException
+	{
+		final byte[] original = newBytes(200_000, 5);
+		final byte[] changed = new byte[original.length + 1];
+		changed[0] = 42;
+		System.arraycopy(original, 0, changed, 1, original.length);
+		final File originalFile = File.createTempFile("original", ".bin");
+		originalFile.deleteOnExit();
+		final File changedFile = File.createTempFile("changed", ".bin");
+		changedFile.deleteOnExit();
+		Files.write(originalFile.toPath(), original);
+		Files.write(changedFile.toPath(), changed);
+
+		final BlockSignature signature = RollingChecksumExtensions.newBlockSignature(originalFile,
+			2048, ChecksumAlgorithm.MD5);
+		final List<BlockMatch> matches = RollingChecksumExtensions.findMatches(changedFile,
+			signature);
+		assertEquals(signature.getBlocks().size(), matches.size());
+		assertEquals(1L, matches.get(0).getOffset());
+		assertEquals(1L + 97 * 2048, matches.get(matches.size() - 1).getOffset());
+	}
+
+	/**
+	 * Test method for
+	 * {@link RollingChecksumExtensions#newBlockSignature(java.io.InputStream, int, String)} with
+	 * an invalid block size
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNewBlockSignatureWithInvalidBlockSize()
+		throws NoSuchAlgorithmException, IOException
+	{
+		newBlockSignature(new byte[10], 0);
+	}
+
+	/**
+	 * Test method for {@link RollingChecksumExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(RollingChecksumExtensions.class);
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link RollingChecksum}
+ */
+public class RollingChecksumTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link RollingChecksum#hash(byte[], int, int)}
+	 */
+	@Test
+	public void testHash()
+	{
+		final byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+		// sum1 = 97 + 98 + 99 = 294, sum2 = 97 + 195 + 294 = 586
+		assertEquals((586 << 16) | 294, RollingChecksum.hash(bytes, 0, bytes.length));
+		assertEquals(0, RollingChecksum.hash(bytes, 0, 0));
+	}
+
+	/**
+	 * Test method for {@link RollingChecksum#update(byte[], int, int)} and
+	 * {@link RollingChecksum#update(int)}
+	 */
+	@Test
+	public void testUpdate()
+	{
+		final byte[] bytes = new byte[70000];
+		new Random(42).nextBytes(bytes);
+		final RollingChecksum rollingChecksum = new RollingChecksum();
+		rollingChecksum.update(bytes, 0, 1000);
+		for (int i = 1000; i < bytes.length; i++)
+		{
+			rollingChecksum.update(bytes[i]);
+		}
+		assertEquals(bytes.length, rollingChecksum.getLength());
+		assertEquals(RollingChecksum.hash(bytes, 0, bytes.length),
+			rollingChecksum.getIntValue());
+		assertEquals(RollingChecksum.hash(bytes, 0, bytes.length) & 0xFFFFFFFFL,
+			rollingChecksum.getValue());
+		rollingChecksum.reset();
+		assertEquals(0, rollingChecksum.getLength());
+		assertEquals(0L, rollingChecksum.getValue());
+	}
+
+	/**
+	 * Test method for {@link RollingChecksum#roll(byte, byte)}
+	 */
+	@Test
+	public void testRoll()
+	{
+		final byte[] bytes = new byte[20000];
+		new Random(7).nextBytes(bytes);
+		for (int windowSize : new int[] { 1, 16, 700, 8192 })
+		{
+			final RollingChecksum rollingChecksum = new RollingChecksum();
+			rollingChecksum.update(bytes, 0, windowSize);
+			for (int start = 1; start + windowSize <= bytes.length; start++)
+			{
+				rollingChecksum.roll(bytes[start - 1], bytes[start + windowSize - 1]);
+				assertEquals(RollingChecksum.hash(bytes, start, windowSize),
+					rollingChecksum.getIntValue());
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link RollingChecksum#roll(byte, byte)} with an empty window
+	 */
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testRollWithEmptyWindow()
+	{
+		new RollingChecksum().roll((byte)1, (byte)2);
+	}
+
+}
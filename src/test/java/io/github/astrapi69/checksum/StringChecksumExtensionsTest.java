@@ -21,7 +21,14 @@
 package io.github.astrapi69.checksum;
 
 import static org.testng.AssertJUnit.assertEquals;
-
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 
 import org.meanbean.test.BeanTester;
@@ -270,6 +277,26 @@ public class StringChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link StringChecksumExtensions#verify(String, String)} and
+	 * {@link StringChecksumExtensions#verify(String, String, String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testVerify() throws NoSuchAlgorithmException
+	{
+		final String sha256 = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+
+		assertTrue(StringChecksumExtensions.verify("secret Message", sha256));
+		assertTrue(StringChecksumExtensions.verify("secret Message", sha256,
+			ChecksumAlgorithm.SHA_256));
+		assertTrue(StringChecksumExtensions.verify("secret Message", "3BAF0182", "CRC32C"));
+		assertFalse(StringChecksumExtensions.verify("secret message", sha256));
+		assertFalse(StringChecksumExtensions.verify("secret Message", sha256, "SHA-512"));
+	}
+
 	/**
 	 * Test method for {@link ObjectChecksumExtensions}
 	 */
@@ -280,4 +307,104 @@ public class StringChecksumExtensionsTest extends AbstractTestCase<Long, Long>
 		beanTester.testBean(StringChecksumExtensions.class);
 	}
 
+	/**
+	 * Test method for {@link StringChecksumExtensions#getCheckSumCRC32C(String)} and
+	 * {@link StringChecksumExtensions#getCheckSumCRC32CHexString(String)}
+	 */
+	@Test
+	public void testGetCheckSumCRC32C()
+	{
+		long expected;
+		long actual;
+
+		expected = 1001324930L;
+		actual = StringChecksumExtensions.getCheckSumCRC32C("secret Message");
+		assertEquals(expected, actual);
+		assertEquals("3baf0182",
+			StringChecksumExtensions.getCheckSumCRC32CHexString("secret Message"));
+	}
+
+	/**
+	 * Test method for {@link StringChecksumExtensions#getChecksum(CharSequence, Charset, String)}
+	 * and {@link StringChecksumExtensions#getChecksum(java.io.Reader, Charset, String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumWithCharset() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		String text;
+
+		text = "secret Message";
+		expected = "8a3b3c92a8b0eb00da917c23201a9407ef7963373464076aec4c54c066e8b7aa";
+		actual = StringChecksumExtensions.getChecksum(text, StandardCharsets.UTF_8,
+			ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		actual = StringChecksumExtensions.getChecksum(new StringReader(text),
+			StandardCharsets.US_ASCII, ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		actual = StringChecksumExtensions.getChecksum(new StringBuilder(text),
+			StandardCharsets.ISO_8859_1, "SHA-256");
+		assertEquals(expected, actual);
+		actual = StringChecksumExtensions.getChecksum(text, StandardCharsets.UTF_8, "CRC32C");
+		assertEquals("3baf0182", actual);
+
+		text = "gr\u00fc\u00dfe \u20ac";
+		for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+				StandardCharsets.UTF_16 })
+		{
+			expected = ByteArrayChecksumExtensions.getChecksum(text.getBytes(charset), "SHA-1");
+			actual = StringChecksumExtensions.getChecksum(text, charset, "SHA-1");
+			assertEquals(expected, actual);
+			actual = StringChecksumExtensions.getChecksum(new StringReader(text), charset,
+				ZipChecksumAlgorithm.CRC32);
+			assertEquals(ByteArrayChecksumExtensions
+				.getCheckSumCRC32HexString(text.getBytes(charset)), actual);
+		}
+	}
+
+	/**
+	 * Test method for {@link StringChecksumExtensions#getChecksum(java.io.Reader, Charset, String)}
+	 * with a reader that computes checksums with the same algorithm on the same thread
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetChecksumWithReentrantReader() throws NoSuchAlgorithmException, IOException
+	{
+		String expected;
+		String actual;
+		final String text = "b".repeat(5000);
+
+		expected = StringChecksumExtensions.getChecksum(text, StandardCharsets.UTF_8, "SHA-256");
+		actual = StringChecksumExtensions
+			.getChecksum(new FilterReader(new StringReader(text))
+			{
+				@Override
+				public int read(final char[] buffer, final int offset, final int length)
+					throws IOException
+				{
+					final int read = super.read(buffer, offset, length);
+					try
+					{
+						StringChecksumExtensions.getChecksum("foo", "SHA-256");
+					}
+					catch (NoSuchAlgorithmException e)
+					{
+						throw new IllegalStateException(e);
+					}
+					return read;
+				}
+			}, StandardCharsets.UTF_8, "SHA-256");
+		assertEquals(expected, actual);
+	}
+
 }
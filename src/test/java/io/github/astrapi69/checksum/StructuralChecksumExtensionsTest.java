@@ -0,0 +1,455 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.crypt.api.algorithm.ChecksumAlgorithm;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link StructuralChecksumExtensions}
+ */
+public class StructuralChecksumExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * A class that does not implement {@link java.io.Serializable}
+	 */
+	static class Customer
+	{
+		String name;
+		int age;
+		double[] ratings;
+		transient String session;
+
+		Customer(final String name, final int age, final double... ratings)
+		{
+			this.name = name;
+			this.age = age;
+			this.ratings = ratings;
+		}
+	}
+
+	/**
+	 * A subclass with an additional field
+	 */
+	static class PremiumCustomer extends Customer
+	{
+		long points;
+
+		PremiumCustomer(final String name, final int age, final long points)
+		{
+			super(name, age);
+			this.points = points;
+		}
+	}
+
+	/**
+	 * A node of a graph that can contain cycles
+	 */
+	static class Node
+	{
+		String name;
+		List<Node> children = new ArrayList<>();
+
+		Node(final String name)
+		{
+			this.name = name;
+		}
+	}
+
+	/**
+	 * A record with primitive, array and collection components
+	 */
+	record Order(long id, char[] code, List<String> items, Optional<Customer> customer)
+	{
+	}
+
+	/**
+	 * A record with an accessor that computes a checksum with the same algorithm
+	 */
+	record Derived(String w, String v)
+	{
+		@Override
+		public String v()
+		{
+			try
+			{
+				return StringChecksumExtensions.getChecksum(v, "SHA-256");
+			}
+			catch (NoSuchAlgorithmException e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private static void assertDistinct(final Object object, final Object other)
+		throws NoSuchAlgorithmException
+	{
+		assertFalse(StructuralChecksumExtensions.getChecksum(object, "SHA-256")
+			.equals(StructuralChecksumExtensions.getChecksum(other, "SHA-256")));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksum() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		// a null reference is a single zero byte
+		expected = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+		actual = StructuralChecksumExtensions.getChecksum(null, ChecksumAlgorithm.SHA_256);
+		assertEquals(expected, actual);
+		// a boxed int is its marker and its four big endian bytes
+		expected = "358befafd9861f49a09e711910c7daefa268732c05ea97819062dbc1d873efbe";
+		actual = StructuralChecksumExtensions.getChecksum(42, "SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(42, ZipChecksumAlgorithm.CRC32);
+		assertEquals(8, actual.length());
+		// equal values of different types are different
+		assertFalse(StructuralChecksumExtensions.getChecksum(42L, "SHA-256").equals(expected));
+		assertFalse(StructuralChecksumExtensions.getChecksum("42", "SHA-256").equals(expected));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with objects
+	 * that do not implement {@link java.io.Serializable}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumFromFields() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		Customer customer;
+
+		customer = new Customer("Alice", 42, 1.5, 2.5);
+		expected = StructuralChecksumExtensions.getChecksum(customer, "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new Customer("Alice", 42, 1.5, 2.5),
+			"SHA-256");
+		assertEquals(expected, actual);
+		// transient fields are not hashed
+		customer.session = "session";
+		actual = StructuralChecksumExtensions.getChecksum(customer, "SHA-256");
+		assertEquals(expected, actual);
+		// every field is hashed
+		customer.age = 43;
+		actual = StructuralChecksumExtensions.getChecksum(customer, "SHA-256");
+		assertFalse(expected.equals(actual));
+		customer.age = 42;
+		customer.ratings[1] = 3.5;
+		actual = StructuralChecksumExtensions.getChecksum(customer, "SHA-256");
+		assertFalse(expected.equals(actual));
+		// the fields of the super class and the class itself are hashed
+		expected = StructuralChecksumExtensions.getChecksum(new PremiumCustomer("Bob", 7, 100L),
+			"SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new PremiumCustomer("Bob", 7, 100L),
+			"SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(new PremiumCustomer("Bob", 7, 101L),
+			"SHA-256");
+		assertFalse(expected.equals(actual));
+		actual = StructuralChecksumExtensions.getChecksum(new PremiumCustomer("Bob", 8, 100L),
+			"SHA-256");
+		assertFalse(expected.equals(actual));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with
+	 * records, arrays and values of the JDK
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumFromRecord() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+
+		expected = StructuralChecksumExtensions.getChecksum(new Order(1L, "abc".toCharArray(),
+			List.of("foo", "bar"), Optional.of(new Customer("Alice", 42))), "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new Order(1L, "abc".toCharArray(),
+			Arrays.asList("foo", "bar"), Optional.of(new Customer("Alice", 42))), "SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(new Order(1L, "abd".toCharArray(),
+			List.of("foo", "bar"), Optional.of(new Customer("Alice", 42))), "SHA-256");
+		assertFalse(expected.equals(actual));
+		// lists are hashed in order
+		actual = StructuralChecksumExtensions.getChecksum(new Order(1L, "abc".toCharArray(),
+			List.of("bar", "foo"), Optional.of(new Customer("Alice", 42))), "SHA-256");
+		assertFalse(expected.equals(actual));
+		actual = StructuralChecksumExtensions.getChecksum(
+			new Order(1L, "abc".toCharArray(), List.of("foo", "bar"), Optional.empty()),
+			"SHA-256");
+		assertFalse(expected.equals(actual));
+		// the content of arrays is hashed and not the identity
+		expected = StructuralChecksumExtensions.getChecksum(new int[][] { { 1, 2 }, { 3 } },
+			"SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new int[][] { { 1, 2 }, { 3 } },
+			"SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(new int[][] { { 1 }, { 2, 3 } },
+			"SHA-256");
+		assertFalse(expected.equals(actual));
+		// value classes of the JDK are hashed by explicit encoders
+		expected = StructuralChecksumExtensions.getChecksum(new BigDecimal("1.5"), "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new BigDecimal("1.5"), "SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(new BigDecimal("2.5"), "SHA-256");
+		assertFalse(expected.equals(actual));
+		expected = StructuralChecksumExtensions.getChecksum(LocalDate.of(2020, 1, 1), "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(LocalDate.of(2020, 1, 2), "SHA-256");
+		assertFalse(expected.equals(actual));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with value
+	 * classes of the JDK whose fields can not be accessed
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumFromValueClasses() throws NoSuchAlgorithmException
+	{
+		assertDistinct(ByteBuffer.wrap(new byte[] { 1, 2, 3 }),
+			ByteBuffer.wrap(new byte[] { 9, 9, 9 }));
+		assertDistinct(new Date(1000), new Date(1999));
+		assertDistinct(new BigDecimal("1.5"), new BigDecimal("1.50"));
+		assertDistinct(new BigInteger("123456789012345678901234567890"),
+			new BigInteger("123456789012345678901234567891"));
+		assertDistinct(new UUID(1, 2), new UUID(1, 3));
+		assertDistinct(Instant.ofEpochSecond(1, 1), Instant.ofEpochSecond(1, 2));
+		assertDistinct(Duration.ofMillis(1), Duration.ofNanos(1));
+		assertDistinct(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 2));
+		// only the remaining bytes of a buffer are hashed and its position is not changed
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[] { 0, 1, 2, 3 });
+		byteBuffer.position(1);
+		assertEquals(
+			StructuralChecksumExtensions.getChecksum(ByteBuffer.wrap(new byte[] { 1, 2, 3 }),
+				"SHA-256"),
+			StructuralChecksumExtensions.getChecksum(byteBuffer, "SHA-256"));
+		assertEquals(1, byteBuffer.position());
+		assertEquals(StructuralChecksumExtensions.getChecksum(new Date(1000), "SHA-256"),
+			StructuralChecksumExtensions.getChecksum(new Date(1000), "SHA-256"));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with a class
+	 * of the JDK that is not open to this library and has no explicit encoder
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testGetChecksumFromClassThatCanNotBeAccessed() throws NoSuchAlgorithmException
+	{
+		StructuralChecksumExtensions.getChecksum(new StringBuilder("foo"), "SHA-256");
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with sets
+	 * and maps
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumFromSetsAndMaps() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		final Set<String> set = new LinkedHashSet<>(List.of("foo", "bar", "baz"));
+		final Set<String> reversed = new LinkedHashSet<>(List.of("baz", "bar", "foo"));
+		final Map<String, Integer> map = new LinkedHashMap<>();
+		final Map<String, Integer> other = new HashMap<>();
+
+		// sets and maps are hashed independent of the iteration order
+		expected = StructuralChecksumExtensions.getChecksum(set, "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(reversed, "SHA-256");
+		assertEquals(expected, actual);
+		actual = StructuralChecksumExtensions.getChecksum(new HashSet<>(set), "SHA-256");
+		assertEquals(expected, actual);
+		reversed.remove("foo");
+		actual = StructuralChecksumExtensions.getChecksum(reversed, "SHA-256");
+		assertFalse(expected.equals(actual));
+
+		map.put("one", 1);
+		map.put("two", 2);
+		other.put("two", 2);
+		other.put("one", 1);
+		expected = StructuralChecksumExtensions.getChecksum(map, "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(other, "SHA-256");
+		assertEquals(expected, actual);
+		other.put("one", 3);
+		actual = StructuralChecksumExtensions.getChecksum(other, "SHA-256");
+		assertFalse(expected.equals(actual));
+		// keys and values are hashed as pairs
+		other.put("one", 2);
+		other.put("two", 1);
+		actual = StructuralChecksumExtensions.getChecksum(other, "SHA-256");
+		assertFalse(expected.equals(actual));
+		// sorted maps are hashed in their order
+		expected = StructuralChecksumExtensions.getChecksum(new TreeMap<>(map), "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new TreeMap<>(map), "SHA-256");
+		assertEquals(expected, actual);
+		// sorted sets are hashed in their order, but not like lists with the same elements
+		expected = StructuralChecksumExtensions.getChecksum(new TreeSet<>(set), "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(new TreeSet<>(reversed), "SHA-256");
+		assertFalse(expected.equals(actual));
+		actual = StructuralChecksumExtensions.getChecksum(new ArrayList<>(new TreeSet<>(set)),
+			"SHA-256");
+		assertFalse(expected.equals(actual));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with cyclic
+	 * object graphs
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumWithCycles() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		Node root;
+		Node child;
+
+		root = new Node("root");
+		child = new Node("child");
+		root.children.add(child);
+		child.children.add(root);
+		child.children.add(child);
+		expected = StructuralChecksumExtensions.getChecksum(root, "SHA-256");
+
+		root = new Node("root");
+		child = new Node("child");
+		root.children.add(child);
+		child.children.add(root);
+		child.children.add(child);
+		actual = StructuralChecksumExtensions.getChecksum(root, "SHA-256");
+		assertEquals(expected, actual);
+		// the target of a cycle is hashed
+		child.children.set(1, root);
+		actual = StructuralChecksumExtensions.getChecksum(root, "SHA-256");
+		assertFalse(expected.equals(actual));
+		// a cycle through a set
+		final Set<Object> set = new HashSet<>();
+		set.add("foo");
+		set.add(List.of(set));
+		expected = StructuralChecksumExtensions.getChecksum(set, "SHA-256");
+		actual = StructuralChecksumExtensions.getChecksum(set, "SHA-256");
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#update(Hasher, Object)}
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testUpdate() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		final Hasher hasher = new Hasher(ChecksumAlgorithm.SHA_256);
+
+		expected = StructuralChecksumExtensions.getChecksum(new Customer("Alice", 42), "SHA-256");
+		actual = StructuralChecksumExtensions.update(hasher, new Customer("Alice", 42))
+			.finishHexString();
+		assertEquals(expected, actual);
+		// several objects are hashed one after another
+		expected = StructuralChecksumExtensions.update(hasher, "foo").finishHexString();
+		actual = StructuralChecksumExtensions
+			.update(StructuralChecksumExtensions.update(hasher, "foo"), "bar").finishHexString();
+		assertFalse(expected.equals(actual));
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions#getChecksum(Object, String)} with an
+	 * accessor that computes a checksum with the same algorithm on the same thread
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             Is thrown if the algorithm is not supported or does not exists
+	 */
+	@Test
+	public void testGetChecksumWithReentrantAccessor() throws NoSuchAlgorithmException
+	{
+		String expected;
+		String actual;
+		final Derived derived = new Derived("b".repeat(2000), "foo");
+
+		expected = StructuralChecksumExtensions.update(new Hasher("SHA-256"), derived)
+			.finishHexString();
+		actual = StructuralChecksumExtensions.getChecksum(derived, "SHA-256");
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link StructuralChecksumExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(StructuralChecksumExtensions.class);
+	}
+
+}
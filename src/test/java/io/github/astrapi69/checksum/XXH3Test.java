@@ -0,0 +1,124 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link XXH3}. The expected values are computed with the
+ * reference implementation of xxHash and cover all length classes of the algorithm
+ */
+public class XXH3Test extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * The lengths, seeds and expected 64 and 128 bit hashes of the data 0, 1, 2, ...
+	 */
+	private static final Object[][] VECTORS = {
+			{ 0, 0L, "2d06800538d394c2", "99aa06d3014798d86001c324468d497f" },
+			{ 0, 42L, "b029411ff43d84d2", "16c20acd33f7af2f3c1d09e9fe249164" },
+			{ 3, 0L, "5f4299fc161c9cbb", "e3b55f57945a17cf5f4299fc161c9cbb" },
+			{ 3, 42L, "75881294bdbaf34c", "bfa7eeaf8785c32275881294bdbaf34c" },
+			{ 8, 0L, "3a1c2d7c85af88f8", "e1e4432a62217fe4cfd50c61c8bb98c1" },
+			{ 8, 42L, "533b2c25fa397f0b", "724208a039d6b33311d820aa80c49954" },
+			{ 16, 0L, "8355e3a6f61770db", "72950631827607e2842812cc870dcae2" },
+			{ 16, 42L, "74891a34d3fff0a9", "6a60d699e874c2188397ff66a715007f" },
+			{ 100, 0L, "004e4f921a64bd1c", "da95ef16fd9566f329b20ba5f03ec01e" },
+			{ 100, 42L, "a5cd98c344a5633a", "676d42f72934e741001ca09d280b5622" },
+			{ 200, 0L, "f42a8864feaf0703", "cb0395310643ba0edd97e9af3609d9f5" },
+			{ 200, 42L, "c335a2de8a09a90e", "925d43a3b9e488f24329506fd5cc97ea" },
+			{ 1000, 0L, "d33dd80b46f60e50", "076f7e02b7120d2ad33dd80b46f60e50" },
+			{ 1000, 42L, "1ba5b309df6f67d3", "5d3b33aa27371b3d1ba5b309df6f67d3" },
+			{ 5000, 0L, "1b74bda2c82a8c7a", "7a681524919c28221b74bda2c82a8c7a" },
+			{ 5000, 42L, "6472f73a4e896c52", "85ba25c880cec3b96472f73a4e896c52" } };
+
+	private static byte[] newBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++)
+		{
+			bytes[i] = (byte)i;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Test method for {@link XXH3#hash64(byte[], int, int, long)} and
+	 * {@link XXH3#hash128(byte[], int, int, long)}
+	 */
+	@Test
+	public void testHash()
+	{
+		for (Object[] vector : VECTORS)
+		{
+			final int length = (Integer)vector[0];
+			final long seed = (Long)vector[1];
+			final byte[] bytes = newBytes(length);
+			assertEquals(vector[2],
+				HexExtensions.encodeHexLong(XXH3.hash64(bytes, 0, length, seed)));
+			assertEquals(vector[3],
+				HexExtensions.encodeHex(XXH3.hash128(bytes, 0, length, seed)));
+		}
+	}
+
+	/**
+	 * Test method for {@link XXH3#update(byte[], int, int)}, {@link XXH3#getValue()} and
+	 * {@link XXH3#getValue128()} with the data in several parts
+	 */
+	@Test
+	public void testUpdate()
+	{
+		for (int partSize : new int[] { 1, 63, 64, 65, 256, 257, 1024, 4096 })
+		{
+			for (Object[] vector : VECTORS)
+			{
+				final int length = (Integer)vector[0];
+				final byte[] bytes = newBytes(length);
+				final XXH3 hash = new XXH3((Long)vector[1]);
+				for (int offset = 0; offset < length; offset += partSize)
+				{
+					hash.update(bytes, offset, Math.min(partSize, length - offset));
+				}
+				assertEquals(vector[2], HexExtensions.encodeHexLong(hash.getValue()));
+				assertEquals(vector[3], HexExtensions.encodeHex(hash.getValue128()));
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link XXH3#reset()}
+	 */
+	@Test
+	public void testReset()
+	{
+		final XXH3 hash = new XXH3();
+		hash.update(newBytes(5000), 0, 5000);
+		hash.reset();
+		assertEquals("2d06800538d394c2", HexExtensions.encodeHexLong(hash.getValue()));
+		hash.update(newBytes(3), 0, 3);
+		assertEquals("5f4299fc161c9cbb", HexExtensions.encodeHexLong(hash.getValue()));
+	}
+
+}
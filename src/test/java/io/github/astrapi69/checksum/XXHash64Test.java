@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link XXHash64}. The expected values are computed with the
+ * reference implementation of xxHash
+ */
+public class XXHash64Test extends AbstractTestCase<Long, Long>
+{
+
+	private static byte[] newBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++)
+		{
+			bytes[i] = (byte)i;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Test method for {@link XXHash64#hash(byte[], int, int, long)}
+	 */
+	@Test
+	public void testHash()
+	{
+		assertEquals(0xef46db3751d8e999L, XXHash64.hash(newBytes(0), 0, 0, 0));
+		assertEquals(0x98b1582b0977e704L, XXHash64.hash(newBytes(0), 0, 0, 42));
+		assertEquals(0xe5c7bb4533bc65ddL, XXHash64.hash(newBytes(3), 0, 3, 0));
+		assertEquals(0x884a173614b81b8dL, XXHash64.hash(newBytes(8), 0, 8, 0));
+		assertEquals(0x59bddd550740a760L, XXHash64.hash(newBytes(16), 0, 16, 42));
+		assertEquals(0x6ac1e58032166597L, XXHash64.hash(newBytes(100), 0, 100, 0));
+		assertEquals(0x4e0da20a99a1e783L, XXHash64.hash(newBytes(1000), 0, 1000, 42));
+		assertEquals(0xf52078f00f25fc9aL, XXHash64.hash(newBytes(5000), 0, 5000, 0));
+		// a range of a larger array
+		final byte[] bytes = new byte[1010];
+		System.arraycopy(newBytes(1000), 0, bytes, 10, 1000);
+		assertEquals(0x4e0da20a99a1e783L, XXHash64.hash(bytes, 10, 1000, 42));
+	}
+
+	/**
+	 * Test method for {@link XXHash64#update(byte[], int, int)} and {@link XXHash64#getValue()}
+	 * with the data in several parts
+	 */
+	@Test
+	public void testUpdate()
+	{
+		final byte[] bytes = newBytes(5000);
+		for (int partSize : new int[] { 1, 7, 31, 32, 33, 1000 })
+		{
+			final XXHash64 hash = new XXHash64(42);
+			for (int offset = 0; offset < bytes.length; offset += partSize)
+			{
+				hash.update(bytes, offset, Math.min(partSize, bytes.length - offset));
+			}
+			assertEquals(0x40c2e635e179d24fL, hash.getValue());
+			hash.reset();
+			hash.update(bytes, 0, 200);
+			assertEquals(0xc22d00b9fd05a710L, hash.getValue());
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.checksum;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.meanbean.test.BeanTester;
+import org.testng.annotations.Test;
+
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapi69.test.base.AbstractTestCase;
+
+/**
+ * The unit test class for the class {@link XXHashExtensions}. The expected values are computed with
+ * the reference implementation of xxHash
+ */
+public class XXHashExtensionsTest extends AbstractTestCase<Long, Long>
+{
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXHash64(String)} and
+	 * {@link XXHashExtensions#getXXHash64HexString(String)}
+	 */
+	@Test
+	public void testGetXXHash64String()
+	{
+		assertEquals(0xef46db3751d8e999L, XXHashExtensions.getXXHash64(""));
+		assertEquals("ef46db3751d8e999", XXHashExtensions.getXXHash64HexString(""));
+		assertEquals(0x44bc2cf5ad770999L, XXHashExtensions.getXXHash64("abc"));
+		assertEquals("44bc2cf5ad770999", XXHashExtensions.getXXHash64HexString("abc"));
+		assertEquals("8fa02446a9a09a9e", XXHashExtensions.getXXHash64HexString("secret Message"));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXH3(String)} and
+	 * {@link XXHashExtensions#getXXH3HexString(String)}
+	 */
+	@Test
+	public void testGetXXH3String()
+	{
+		assertEquals(0x2d06800538d394c2L, XXHashExtensions.getXXH3(""));
+		assertEquals("2d06800538d394c2", XXHashExtensions.getXXH3HexString(""));
+		assertEquals(0x78af5f94892f3950L, XXHashExtensions.getXXH3("abc"));
+		assertEquals("78af5f94892f3950", XXHashExtensions.getXXH3HexString("abc"));
+		assertEquals("35e7dbbe14db33f0", XXHashExtensions.getXXH3HexString("secret Message"));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXH128HexString(String)}
+	 */
+	@Test
+	public void testGetXXH128String()
+	{
+		assertEquals("99aa06d3014798d86001c324468d497f", XXHashExtensions.getXXH128HexString(""));
+		assertEquals("06b05ab6733a618578af5f94892f3950",
+			XXHashExtensions.getXXH128HexString("abc"));
+		assertEquals("e9fbe945363aac4a91fc2d11de8c435b",
+			XXHashExtensions.getXXH128HexString("secret Message"));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXHash64(byte[], long)},
+	 * {@link XXHashExtensions#getXXH3(byte[], long)} and
+	 * {@link XXHashExtensions#getXXH128(byte[], long)}
+	 */
+	@Test
+	public void testGetWithSeed()
+	{
+		final byte[] bytes = "abc".getBytes(StandardCharsets.UTF_8);
+		assertEquals(XXHashExtensions.getXXHash64(bytes), XXHashExtensions.getXXHash64(bytes, 0));
+		assertEquals(0x98b1582b0977e704L, XXHashExtensions.getXXHash64(new byte[0], 42));
+		assertEquals(0xb029411ff43d84d2L, XXHashExtensions.getXXH3(new byte[0], 42));
+		assertEquals("16c20acd33f7af2f3c1d09e9fe249164",
+			HexExtensions.encodeHex(XXHashExtensions.getXXH128(new byte[0], 42)));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXHash64HexString(ByteBuffer)},
+	 * {@link XXHashExtensions#getXXH3HexString(ByteBuffer)} and
+	 * {@link XXHashExtensions#getXXH128HexString(ByteBuffer)}
+	 */
+	@Test
+	public void testGetByteBuffer()
+	{
+		final byte[] bytes = "secret Message".getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+		assertEquals("8fa02446a9a09a9e", XXHashExtensions.getXXHash64HexString(direct));
+		assertEquals("35e7dbbe14db33f0", XXHashExtensions.getXXH3HexString(direct));
+		assertEquals("e9fbe945363aac4a91fc2d11de8c435b",
+			XXHashExtensions.getXXH128HexString(direct));
+		assertEquals(0, direct.position());
+		assertEquals("8fa02446a9a09a9e",
+			XXHashExtensions.getXXHash64HexString(ByteBuffer.wrap(bytes)));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions#getXXHash64HexString(File)},
+	 * {@link XXHashExtensions#getXXH3HexString(File)} and
+	 * {@link XXHashExtensions#getXXH128HexString(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetFile() throws IOException
+	{
+		final File testFile = new File(PathFinder.getProjectDirectory(),
+			"src/test/resources/checksum/testReadFileInput.txt");
+		assertEquals("ae741a46cc4eaf89", XXHashExtensions.getXXHash64HexString(testFile));
+		assertEquals("4c4a1ceb61d0a298", XXHashExtensions.getXXH3HexString(testFile));
+		assertEquals("5ff1d8ce44fe2ee510bdc5d475214f1a",
+			XXHashExtensions.getXXH128HexString(testFile));
+	}
+
+	/**
+	 * Test method for {@link XXHashExtensions}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(XXHashExtensions.class);
+	}
+
+}